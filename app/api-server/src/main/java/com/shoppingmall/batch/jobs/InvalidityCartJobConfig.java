@@ -1,7 +1,9 @@
 package com.shoppingmall.batch.jobs;
 
 import com.shoppingmall.batch.jobs.listener.InvalidityJobListener;
-import com.shoppingmall.domain.cart.Cart;
+import com.shoppingmall.batch.jobs.partition.CartIdRangePartitioner;
+import com.shoppingmall.batch.jobs.partition.InvalidityCartTasklet;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
@@ -9,88 +11,78 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 
-import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * 유효기간(7일)이 지난 장바구니 비활성화
+ *
+ * 장바구니 id 범위를 GRID_SIZE 개로 나눠 스레드마다 하나씩 맡고(partition),
+ * 각 스레드는 엔티티를 읽지 않고 id 구간별 update 쿼리로 비활성화함 (InvalidityCartTasklet)
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
 public class InvalidityCartJobConfig {
 
+    private static final int GRID_SIZE = 4;
+    // update 한 번에 처리하는 id 구간 크기
+    private static final int ID_RANGE_SIZE = 10000;
+    private static final int EXPIRE_DAYS = 7;
+
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
-    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
     private final InvalidityJobListener invalidityJobListener;
 
-    private int chunkSize = 10;
-
     @Bean
-    public Job jpaPagingItemReaderJob() {
+    public Job invalidityCartJob(@Qualifier("cartInvalidationExecutor") TaskExecutor cartInvalidationExecutor) {
         return jobBuilderFactory.get("invalidityCartJob")
                 .preventRestart()
                 .listener(invalidityJobListener)
-                .start(jpaPagingItemReaderStep())
+                .start(invalidityCartPartitionStep(cartInvalidationExecutor))
                 .build();
     }
 
     @Bean
-    public Step jpaPagingItemReaderStep() {
-        return stepBuilderFactory.get("jpaPagingItemReaderStep")
-                .<Cart, Cart>chunk(chunkSize)
-                .reader(jpaPagingItemReader())
-                .processor(invalidityCartProcessor())
-                .writer(invalidityCartWriter())
+    public Step invalidityCartPartitionStep(@Qualifier("cartInvalidationExecutor") TaskExecutor cartInvalidationExecutor) {
+        return stepBuilderFactory.get("invalidityCartPartitionStep")
+                .partitioner("invalidityCartStep", cartIdRangePartitioner())
+                .step(invalidityCartStep())
+                .gridSize(GRID_SIZE)
+                .taskExecutor(cartInvalidationExecutor)
                 .build();
     }
 
     @Bean
-    @StepScope
-    public JpaPagingItemReader<Cart> jpaPagingItemReader() {
-
-        JpaPagingItemReader<Cart> jpaPagingItemReader = new JpaPagingItemReader() {
-            @Override
-            public int getPage() {
-                return 0;
-            }
-        };
-
-        // jpaPagingItemReader를 사용하려면 쿼리를 직접 짜야함
-        jpaPagingItemReader.setQueryString("select c from Cart as c where c.createdDate < :createdDate and c.useYn = :useYn");
-
-        Map<String, Object> map = new HashMap<>();
-        LocalDateTime now = LocalDateTime.now();
-        map.put("createdDate", now.minusDays(7));
-        map.put("useYn", 'Y');
-
-        jpaPagingItemReader.setParameterValues(map);
-        jpaPagingItemReader.setEntityManagerFactory(entityManagerFactory);
-        jpaPagingItemReader.setPageSize(chunkSize);       // 한번에 10개씩 읽어옴
-
-        return jpaPagingItemReader;
+    public Step invalidityCartStep() {
+        return stepBuilderFactory.get("invalidityCartStep")
+                .tasklet(invalidityCartTasklet(null, null, null))
+                .build();
     }
 
-
-    public ItemProcessor<Cart, Cart> invalidityCartProcessor() {
-        return Cart::setInvalidity;
-        /*return new ItemProcessor<Cart, Cart>() {
-        @Override
-        public Cart process(Cart item) throws Exception {
-            return item.setInvalidity();
-        }*/
+    @Bean
+    public CartIdRangePartitioner cartIdRangePartitioner() {
+        return new CartIdRangePartitioner(jdbcTemplate);
     }
 
-    private JpaItemWriter<Cart> invalidityCartWriter() {
-        JpaItemWriter<Cart> jpaItemWriter = new JpaItemWriter<>();
-        jpaItemWriter.setEntityManagerFactory(entityManagerFactory);
+    // 파티션마다 별도 인스턴스 (id 구간은 파티션의 execution context에서 받음)
+    @Bean
+    @StepScope
+    public InvalidityCartTasklet invalidityCartTasklet(@Value("#{stepExecutionContext['minId']}") Long minId,
+                                                       @Value("#{stepExecutionContext['maxId']}") Long maxId,
+                                                       @Value("#{jobParameters['nowDate']}") Date nowDate) {
+        LocalDateTime expireDate = LocalDateTime.ofInstant(nowDate.toInstant(), ZoneId.systemDefault()).minusDays(EXPIRE_DAYS);
 
-        return jpaItemWriter;
+        return new InvalidityCartTasklet(jdbcTemplate, minId, maxId, expireDate, ID_RANGE_SIZE, meterRegistry);
     }
 }
@@ -1,14 +1,22 @@
 package com.shoppingmall.batch.jobs.listener;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
+@RequiredArgsConstructor
 @Component
 public class InvalidityJobListener implements JobExecutionListener {
 
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void beforeJob(JobExecution jobExecution) {
         log.info("Before Batch Job");
@@ -19,5 +27,17 @@ public class InvalidityJobListener implements JobExecutionListener {
     public void afterJob(JobExecution jobExecution) {
         log.info("After Batch Job");
         log.info("Job 종료시간 : {}", jobExecution.getEndTime());
+
+        // 파티션(워커 스텝)별 처리 건수 합계로 처리량 기록
+        long invalidatedCount = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().contains(":partition"))
+                .mapToLong(StepExecution::getWriteCount)
+                .sum();
+        long elapsedMillis = Math.max(System.currentTimeMillis() - jobExecution.getStartTime().getTime(), 1);
+
+        meterRegistry.timer("batch.cart.invalidation.duration").record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        log.info("비활성화 장바구니 : {}, 소요시간(ms) : {}, 처리량(rows/s) : {}",
+                invalidatedCount, elapsedMillis, invalidatedCount * 1000 / elapsedMillis);
     }
 }
@@ -0,0 +1,62 @@
+package com.shoppingmall.batch.jobs.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 장바구니 id 범위(최소 ~ 최대)를 gridSize 개의 구간으로 나눔
+ * 최소, 최대 id는 PK 인덱스만 읽으므로 테이블 크기와 관계없이 바로 조회됨
+ */
+public class CartIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID_KEY = "minId";
+    public static final String MAX_ID_KEY = "maxId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CartIdRangePartitioner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Object> idRange = jdbcTemplate.queryForMap("select min(id) as min_id, max(id) as max_id from cart");
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        // 장바구니가 없으면 빈 구간 하나
+        if (isNull(idRange.get("min_id"))) {
+            partitions.put("partition0", getExecutionContext(1L, 0L));
+            return partitions;
+        }
+
+        long minId = ((Number) idRange.get("min_id")).longValue();
+        long maxId = ((Number) idRange.get("max_id")).longValue();
+        long partitionSize = (maxId - minId) / gridSize + 1;
+
+        for (int i = 0; i < gridSize; i++) {
+            long fromId = minId + partitionSize * i;
+
+            if (fromId > maxId) {
+                break;
+            }
+
+            partitions.put("partition" + i, getExecutionContext(fromId, Math.min(fromId + partitionSize - 1, maxId)));
+        }
+
+        return partitions;
+    }
+
+    private ExecutionContext getExecutionContext(long minId, long maxId) {
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(MIN_ID_KEY, minId);
+        executionContext.putLong(MAX_ID_KEY, maxId);
+
+        return executionContext;
+    }
+}
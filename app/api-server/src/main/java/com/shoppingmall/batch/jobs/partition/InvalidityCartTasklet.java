@@ -0,0 +1,64 @@
+package com.shoppingmall.batch.jobs.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 파티션(장바구니 id 구간)의 유효기간이 지난 장바구니를 update 한 번으로 비활성화
+ *
+ * 엔티티를 읽지 않고 id 구간 조건으로만 update 하며, 한 번 호출에 rangeSize 만큼의 id 구간을 처리하고
+ * CONTINUABLE을 반환하므로 구간마다 트랜잭션이 나뉘어 행 잠금을 오래 잡지 않음.
+ */
+@Slf4j
+public class InvalidityCartTasklet implements Tasklet {
+
+    public static final String INVALIDATED_ROWS_METRIC = "batch.cart.invalidation.rows";
+
+    private static final String INVALIDATE_SQL = "update cart set use_yn = 'N' " +
+            "where id between ? and ? and created_date < ? and use_yn = 'Y'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxId;
+    private final Timestamp expireDate;
+    private final int rangeSize;
+    private final Counter invalidatedRows;
+
+    private long nextId;
+
+    public InvalidityCartTasklet(JdbcTemplate jdbcTemplate, long minId, long maxId, LocalDateTime expireDate,
+                                 int rangeSize, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextId = minId;
+        this.maxId = maxId;
+        this.expireDate = Timestamp.valueOf(expireDate);
+        this.rangeSize = rangeSize;
+        this.invalidatedRows = meterRegistry.counter(INVALIDATED_ROWS_METRIC);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (nextId > maxId) {
+            return RepeatStatus.FINISHED;
+        }
+
+        long toId = Math.min(nextId + rangeSize - 1, maxId);
+        int updated = jdbcTemplate.update(INVALIDATE_SQL, nextId, toId, expireDate);
+
+        // 스텝 실행 기록(write count)과 지표에 처리 건수 반영
+        contribution.incrementWriteCount(updated);
+        invalidatedRows.increment(updated);
+
+        nextId = toId + 1;
+
+        return nextId > maxId ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
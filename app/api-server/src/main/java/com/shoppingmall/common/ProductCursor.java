@@ -0,0 +1,70 @@
+package com.shoppingmall.common;
+
+import com.shoppingmall.exception.NoValidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 상품 커서 페이징의 기준 위치 (정렬 컬럼 값, 생성일, id)
+ * 클라이언트에는 Base64로 인코딩한 문자열로만 전달
+ */
+@Getter
+@AllArgsConstructor
+public class ProductCursor {
+
+    public static final String NEXT = "next";
+    public static final String PREV = "prev";
+
+    private static final String DELIMITER = ",";
+    private static final String NULL_VALUE = "-";
+
+    private final String sortCd;
+    private final String direction;
+    private final Integer sortValue;
+    private final LocalDateTime createdDate;
+    private final Long id;
+
+    public boolean isPrev() {
+        return PREV.equals(direction);
+    }
+
+    public String encode() {
+        String cursor = sortCd + DELIMITER + direction + DELIMITER
+                + (isNull(sortValue) ? NULL_VALUE : sortValue) + DELIMITER
+                + createdDate + DELIMITER + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 빈 커서는 첫 페이지 요청이므로 null 반환
+     */
+    public static ProductCursor decode(String cursor, String sortCd) {
+        if (isNull(cursor) || cursor.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(DELIMITER);
+
+            if (values.length != 5 || !values[0].equals(sortCd)
+                    || !(NEXT.equals(values[1]) || PREV.equals(values[1]))) {
+                throw new NoValidCursorException("유효하지 않은 커서 입니다.");
+            }
+
+            return new ProductCursor(values[0], values[1],
+                    NULL_VALUE.equals(values[2]) ? null : Integer.valueOf(values[2]),
+                    LocalDateTime.parse(values[3]),
+                    Long.valueOf(values[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NoValidCursorException("유효하지 않은 커서 입니다.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.shoppingmall.config;
+
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.shoppingmall.config.redis.RedisCodecConfigurer;
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.domain.productCat.ProductCat;
+import com.shoppingmall.dto.ProductResponseDto;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_LIST_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_KEY_PREFIX;
+import static com.shoppingmall.common.RedisKeyUtils.NEW8_PRODUCT_LIST_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_DETAIL_KEY_PREFIX;
+
+/**
+ * 타입이 정해진 캐시 키는 클래스 이름을 포함한 JSON 대신 바이너리(Smile)로 저장
+ * 같은 키를 쓰는 batch-server에도 같은 타입으로 등록되어 있어야 함
+ */
+@Configuration
+public class RedisCodecConfig implements RedisCodecConfigurer {
+
+    @Override
+    public void configure(RedisCodecRegistry registry) {
+        TypeFactory typeFactory = TypeFactory.defaultInstance();
+
+        registry.register(NEW8_PRODUCT_LIST_KEY, ProductResponseDto.MainProductResponseDto.class);
+        registry.register(PRODUCT_DETAIL_KEY_PREFIX, ProductResponseDto.class);
+        registry.register(CATEGORY_RANKING_KEY_PREFIX, ProductResponseDto.class);
+        registry.register(CATEGORY_LIST_KEY, typeFactory.constructMapType(HashMap.class,
+                typeFactory.constructType(String.class), typeFactory.constructCollectionType(List.class, ProductCat.class)));
+    }
+}
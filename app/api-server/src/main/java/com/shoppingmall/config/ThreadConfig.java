@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
  *
@@ -17,6 +18,43 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @Configuration
 public class ThreadConfig {
 
+    // @Scheduled 작업과 할인 시작/종료 시각 예약 작업에서 함께 사용하는 스케줄러
+    // 결제 완료 outbox 릴레이가 0.5초마다 실행되므로 다른 예약 작업이 밀리지 않도록 하나 더 둠
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+
+        threadPoolTaskScheduler.setPoolSize(3);
+        threadPoolTaskScheduler.setThreadNamePrefix("Scheduler-thread-");
+
+        return threadPoolTaskScheduler;
+    }
+
+    // 상품 일괄 등록용, 등록 작업끼리 DB 부하가 겹치지 않도록 한 번에 하나씩 처리
+    @Bean
+    public TaskExecutor productImportExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+
+        threadPoolTaskExecutor.setCorePoolSize(1);
+        threadPoolTaskExecutor.setMaxPoolSize(1);
+        threadPoolTaskExecutor.setQueueCapacity(10);
+        threadPoolTaskExecutor.setThreadNamePrefix("ProductImport-thread-");
+
+        return threadPoolTaskExecutor;
+    }
+
+    // 장바구니 비활성화 배치용, 파티션(장바구니 id 범위)마다 스레드 하나
+    @Bean
+    public TaskExecutor cartInvalidationExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+
+        threadPoolTaskExecutor.setCorePoolSize(4);
+        threadPoolTaskExecutor.setMaxPoolSize(4);
+        threadPoolTaskExecutor.setThreadNamePrefix("CartInvalidation-thread-");
+
+        return threadPoolTaskExecutor;
+    }
+
     // 스레드 관리자
 //    @Bean
 //    public TaskExecutor taskExecutor() {
@@ -1,7 +1,6 @@
 package com.shoppingmall.controller;
 
-import com.shoppingmall.service.CategoryService;
-import com.shoppingmall.service.ProductService;
+import com.shoppingmall.service.HomePageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -13,16 +12,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class MainController {
 
-    private final ProductService productService;
-    private final CategoryService categoryService;
+    private final HomePageService homePageService;
 
     @GetMapping("/")
     public String initMain(ModelMap model) {
 
         model.addAttribute("pageName", "main");
-        model.addAttribute("catMapList", categoryService.getCategoryList());
-        model.addAttribute("bestProductList", productService.getBestProductList());
-        model.addAttribute("newProductList", productService.getNewProductList());
+        model.addAllAttributes(homePageService.getHomePageData());
 
         return "main/main";
     }
@@ -1,5 +1,6 @@
 package com.shoppingmall.handler;
 
+import com.shoppingmall.exception.ProductImportBusyException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -14,6 +15,13 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class ExceptionRestControllerHandler {
 
+    // 일시적으로 처리할 수 없는 요청, 잠시 후 다시 시도
+    @ExceptionHandler(ProductImportBusyException.class)
+    public ResponseEntity<?> serviceUnavailableExceptionHandler(Exception exception) {
+
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> defaultExceptionHandler(Exception exception) {
 
@@ -0,0 +1,369 @@
+package com.shoppingmall.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.shoppingmall.common.ProductCursor;
+import com.shoppingmall.dto.ProductResponseDto;
+import com.shoppingmall.exception.NoValidCursorException;
+import com.shoppingmall.exception.NoValidProductSortException;
+import com.shoppingmall.search.ProductDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.domain.product.QProduct.product;
+import static com.shoppingmall.domain.productDisPrc.QProductDisPrc.productDisPrc;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Querydsl 상품 조회
+ * 엔티티 대신 목록에 필요한 컬럼만 조회하고, 현재 할인률은 상관 서브쿼리로 함께 가져와 페이지당 쿼리 한 번으로 처리
+ */
+@RequiredArgsConstructor
+@Repository
+public class ProductQueryRepository {
+
+    private static final NumberPath<Integer> DIS_PRICE = Expressions.numberPath(Integer.class, "disPrice");
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * 카테고리, 정렬 조건으로 상품 조회
+     */
+    public Page<ProductResponseDto> findProductPage(String largeCatCd, String smallCatCd, String sortCd,
+                                                    Pageable pageable) {
+        BooleanExpression[] conditions = {eqLargeCatCd(largeCatCd), eqSmallCatCd(smallCatCd)};
+
+        List<ProductResponseDto> content = selectProductColumns(LocalDateTime.now())
+                .where(conditions)
+                .orderBy(getOrderSpecifiers(getSortColumn(sortCd), isDesc(sortCd)))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch().stream().map(this::toProductResponseDto).collect(Collectors.toList());
+
+        // 첫 페이지나 마지막 페이지처럼 전체 개수를 알 수 있으면 count 쿼리 생략
+        return PageableExecutionUtils.getPage(content, pageable, () -> countProducts(conditions));
+    }
+
+    /**
+     * 할인 상품 카드 조회, 할인률은 할인 상품 집합에서 가져온 값을 사용하고 결과는 전달받은 상품 순서를 유지
+     */
+    public List<ProductResponseDto.SaleProductResponseDto> findSaleProductList(Map<Long, Integer> disPriceMap) {
+        if (disPriceMap.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Tuple> productMap = jpaQueryFactory
+                .select(product.id, product.productNm, product.titleImg, product.price, product.rateAvg)
+                .from(product)
+                .where(product.id.in(disPriceMap.keySet()))
+                .fetch().stream().collect(Collectors.toMap(tuple -> tuple.get(product.id), Function.identity()));
+
+        List<ProductResponseDto.SaleProductResponseDto> saleProductList = new ArrayList<>();
+
+        // 집합 갱신 전에 삭제된 상품은 제외
+        for (Map.Entry<Long, Integer> entry : disPriceMap.entrySet()) {
+            Tuple tuple = productMap.get(entry.getKey());
+
+            if (nonNull(tuple)) {
+                saleProductList.add(toSaleProductResponseDto(tuple, entry.getValue()));
+            }
+        }
+
+        return saleProductList;
+    }
+
+    /**
+     * 상품 id 목록으로 상품 조회, 결과는 전달받은 id 순서를 유지 (검색 결과 페이지 조회용)
+     */
+    public List<ProductResponseDto> findProductListByIds(List<Long> productIdList) {
+        if (productIdList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductResponseDto> productMap = selectProductColumns(LocalDateTime.now())
+                .where(product.id.in(productIdList))
+                .fetch().stream().map(this::toProductResponseDto)
+                .collect(Collectors.toMap(ProductResponseDto::getId, Function.identity()));
+
+        return productIdList.stream()
+                .map(productMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 검색 인덱스 구성용 상품 조회
+     */
+    public List<ProductDocument> findProductDocuments() {
+        return selectProductDocument().fetch();
+    }
+
+    /**
+     * 관리자 상품 리스트 조회 (최신순)
+     */
+    public Page<ProductResponseDto.AdminProductResponseDto> findAdminProductPage(String largeCatCd, String smallCatCd,
+                                                                                Pageable pageable) {
+        BooleanExpression[] conditions = {eqLargeCatCd(largeCatCd), eqSmallCatCd(smallCatCd)};
+
+        List<ProductResponseDto.AdminProductResponseDto> content = selectProductColumns(LocalDateTime.now())
+                .where(conditions)
+                .orderBy(getOrderSpecifiers(null, true))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch().stream().map(this::toAdminProductResponseDto).collect(Collectors.toList());
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countProducts(conditions));
+    }
+
+    /**
+     * 메인 화면용 상품 조회 (정렬 기준 상위 limit개)
+     */
+    public List<ProductResponseDto.MainProductResponseDto> findMainProductList(String sortCd, int limit) {
+        return selectProductColumns(LocalDateTime.now())
+                .orderBy(getOrderSpecifiers(getSortColumn(sortCd), isDesc(sortCd)))
+                .limit(limit)
+                .fetch().stream().map(this::toMainProductResponseDto).collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 id 목록으로 메인 화면 상품 조회, 결과는 전달받은 id 순서를 유지 (인기 상품 순위 조회용)
+     */
+    public List<ProductResponseDto.MainProductResponseDto> findMainProductListByIds(List<Long> productIdList) {
+        if (productIdList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductResponseDto.MainProductResponseDto> productMap = selectProductColumns(LocalDateTime.now())
+                .where(product.id.in(productIdList))
+                .fetch().stream().map(this::toMainProductResponseDto)
+                .collect(Collectors.toMap(ProductResponseDto.MainProductResponseDto::getId, Function.identity()));
+
+        return productIdList.stream()
+                .map(productMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 커서 기반 상품 조회 (count 쿼리, offset 없이 (정렬 컬럼, 생성일, id) 기준으로 seek)
+     * 이전 페이지 요청이면 정렬을 뒤집어서 조회하므로 호출하는 쪽에서 결과를 다시 뒤집어야 함
+     */
+    public List<ProductResponseDto> findProductsByCursor(String largeCatCd, String smallCatCd, String sortCd,
+                                                         ProductCursor cursor, int limit) {
+        NumberPath<Integer> sortColumn = getSortColumn(sortCd);
+        boolean desc = isDesc(sortCd) != (nonNull(cursor) && cursor.isPrev());
+
+        return selectProductColumns(LocalDateTime.now())
+                .where(eqLargeCatCd(largeCatCd),
+                        eqSmallCatCd(smallCatCd),
+                        seek(sortColumn, cursor, desc))
+                .orderBy(getOrderSpecifiers(sortColumn, desc))
+                .limit(limit)
+                .fetch().stream().map(this::toProductResponseDto).collect(Collectors.toList());
+    }
+
+    /**
+     * 커서에 저장할 정렬 컬럼 값
+     */
+    public Integer getSortValue(String sortCd, ProductResponseDto target) {
+        NumberPath<Integer> sortColumn = getSortColumn(sortCd);
+
+        if (isNull(sortColumn)) {
+            return null;
+        }
+
+        return sortColumn == product.price ? target.getPrice() : target.getPurchaseCount();
+    }
+
+    private JPAQuery<ProductDocument> selectProductDocument() {
+        return jpaQueryFactory
+                .select(Projections.constructor(ProductDocument.class,
+                        product.id, product.productNm, product.largeCatCd, product.smallCatCd, product.purchaseCount))
+                .from(product);
+    }
+
+    private JPAQuery<Tuple> selectProductColumns(LocalDateTime now) {
+        return jpaQueryFactory
+                .select(product.id, product.productNm, product.titleImg, product.largeCatCd, product.smallCatCd,
+                        product.price, product.purchaseCount, product.limitCount, product.totalCount,
+                        product.productStatus, product.rateAvg, product.createdDate,
+                        ExpressionUtils.as(selectAppliedDisPrice(now), DIS_PRICE))
+                .from(product);
+    }
+
+    // 현재 적용중인 할인 중 가장 높은 할인률 (할인 인덱스와 같이 시작, 종료 시각은 미포함)
+    private JPQLQuery<Integer> selectAppliedDisPrice(LocalDateTime now) {
+        return JPAExpressions.select(productDisPrc.disPrc.max())
+                .from(productDisPrc)
+                .where(isApplied(now));
+    }
+
+    private BooleanExpression isApplied(LocalDateTime now) {
+        return productDisPrc.product.id.eq(product.id)
+                .and(productDisPrc.startDt.lt(now))
+                .and(productDisPrc.endDt.gt(now));
+    }
+
+    private long countProducts(BooleanExpression[] conditions) {
+        return jpaQueryFactory.selectFrom(product).where(conditions).fetchCount();
+    }
+
+    private NumberPath<Integer> getSortColumn(String sortCd) {
+        switch (sortCd) {
+            case "new":
+            case "past":
+                return null;
+            case "highPrice":
+            case "lowPrice":
+                return product.price;
+            case "highSell":
+            case "lowSell":
+                return product.purchaseCount;
+            default:
+                throw new NoValidProductSortException("유효하지 않은 상품 정렬입니다.");
+        }
+    }
+
+    private boolean isDesc(String sortCd) {
+        return sortCd.equals("new") || sortCd.equals("highPrice") || sortCd.equals("highSell");
+    }
+
+    private BooleanExpression eqLargeCatCd(String largeCatCd) {
+        return isNull(largeCatCd) ? null : product.largeCatCd.eq(largeCatCd);
+    }
+
+    private BooleanExpression eqSmallCatCd(String smallCatCd) {
+        return isNull(smallCatCd) ? null : product.smallCatCd.eq(smallCatCd);
+    }
+
+    // (sortColumn, createdDate, id) 튜플 비교를 OR 조건으로 풀어서 작성
+    private BooleanExpression seek(NumberPath<Integer> sortColumn, ProductCursor cursor, boolean desc) {
+        if (isNull(cursor)) {
+            return null;
+        }
+
+        BooleanExpression afterId = desc ? product.id.lt(cursor.getId()) : product.id.gt(cursor.getId());
+        BooleanExpression afterCreatedDate = (desc ? product.createdDate.lt(cursor.getCreatedDate())
+                : product.createdDate.gt(cursor.getCreatedDate()))
+                .or(product.createdDate.eq(cursor.getCreatedDate()).and(afterId));
+
+        if (isNull(sortColumn)) {
+            return afterCreatedDate;
+        }
+
+        Integer sortValue = cursor.getSortValue();
+
+        if (isNull(sortValue)) {
+            throw new NoValidCursorException("유효하지 않은 커서 입니다.");
+        }
+
+        return (desc ? sortColumn.lt(sortValue) : sortColumn.gt(sortValue))
+                .or(sortColumn.eq(sortValue).and(afterCreatedDate));
+    }
+
+    private OrderSpecifier<?>[] getOrderSpecifiers(NumberPath<Integer> sortColumn, boolean desc) {
+        List<OrderSpecifier<?>> orderSpecifiers = new ArrayList<>();
+
+        if (nonNull(sortColumn)) {
+            orderSpecifiers.add(desc ? sortColumn.desc() : sortColumn.asc());
+        }
+        orderSpecifiers.add(desc ? product.createdDate.desc() : product.createdDate.asc());
+        orderSpecifiers.add(desc ? product.id.desc() : product.id.asc());
+
+        return orderSpecifiers.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    private int getDisPrice(Tuple tuple) {
+        Integer disPrice = tuple.get(DIS_PRICE);
+
+        return isNull(disPrice) ? 0 : disPrice;
+    }
+
+    private int getSalePrice(int disPrice, Integer price) {
+        return (int)((((float) 100 - (float) disPrice) / (float)100) * price);
+    }
+
+    private ProductResponseDto toProductResponseDto(Tuple tuple) {
+        return ProductResponseDto.builder()
+                .id(tuple.get(product.id))
+                .productNm(tuple.get(product.productNm))
+                .largeCatCd(tuple.get(product.largeCatCd))
+                .smallCatCd(tuple.get(product.smallCatCd))
+                .price(tuple.get(product.price))
+                .disPrice(getDisPrice(tuple))
+                .purchaseCount(tuple.get(product.purchaseCount))
+                .limitCount(tuple.get(product.limitCount))
+                .totalCount(tuple.get(product.totalCount))
+                .productStatus(tuple.get(product.productStatus))
+                .rateAvg(tuple.get(product.rateAvg))
+                .titleImg(tuple.get(product.titleImg))
+                .createdDate(tuple.get(product.createdDate))
+                .build();
+    }
+
+    private ProductResponseDto.SaleProductResponseDto toSaleProductResponseDto(Tuple tuple, int disPrice) {
+        Integer price = tuple.get(product.price);
+
+        return ProductResponseDto.SaleProductResponseDto.builder()
+                .productId(tuple.get(product.id))
+                .productNm(tuple.get(product.productNm))
+                .titleImg(tuple.get(product.titleImg))
+                .price(price)
+                .rateAvg(tuple.get(product.rateAvg))
+                .disPrice(disPrice)
+                .salePrice(getSalePrice(disPrice, price))
+                .build();
+    }
+
+    private ProductResponseDto.AdminProductResponseDto toAdminProductResponseDto(Tuple tuple) {
+        return ProductResponseDto.AdminProductResponseDto.builder()
+                .id(tuple.get(product.id))
+                .productNm(tuple.get(product.productNm))
+                .titleImg(tuple.get(product.titleImg))
+                .price(tuple.get(product.price))
+                .disPrice(getDisPrice(tuple))
+                .purchaseCount(tuple.get(product.purchaseCount))
+                .totalCount(tuple.get(product.totalCount))
+                .rateAvg(tuple.get(product.rateAvg))
+                .build();
+    }
+
+    private ProductResponseDto.MainProductResponseDto toMainProductResponseDto(Tuple tuple) {
+        int disPrice = getDisPrice(tuple);
+        Integer price = tuple.get(product.price);
+
+        return ProductResponseDto.MainProductResponseDto.builder()
+                .id(tuple.get(product.id))
+                .productNm(tuple.get(product.productNm))
+                .titleImg(tuple.get(product.titleImg))
+                .price(price)
+                .disPrice(disPrice)
+                .salePrice(getSalePrice(disPrice, price))
+                .rateAvg(tuple.get(product.rateAvg))
+                .timestamp(Timestamp.valueOf(tuple.get(product.createdDate)).getTime())
+                .purchaseCnt(tuple.get(product.purchaseCount))
+                .build();
+    }
+}
@@ -1,8 +1,9 @@
 package com.shoppingmall.restcontroller;
 
 import com.shoppingmall.dto.PaymentRequestDto;
-import com.shoppingmall.publisher.MessagePublisher;
 import com.shoppingmall.channel.PaymentSuccessOutputChannel;
+import com.shoppingmall.service.CartService;
+import com.shoppingmall.service.PaymentOutboxService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +23,8 @@ import javax.validation.Valid;
 @RestController
 public class PaymentRestController {
 
-    private final MessagePublisher messagePublisher;
+    private final PaymentOutboxService paymentOutboxService;
+    private final CartService cartService;
 
     @ApiOperation(value = "결제 성공")
     @PostMapping("/payment/success")
@@ -34,7 +36,11 @@ public class PaymentRestController {
             return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
         }
 
-        messagePublisher.publishPaymentSuccessMessage(requestDto);
+        // 장바구니 예약이 만료돼 해제됐고 남은 재고도 없으면 결제 거부
+        cartService.reserveInventoryForPayment(requestDto.getCartIdList());
+
+        // outbox에 저장하고 바로 응답, 카프카 전송은 PaymentOutboxRelayService가 처리
+        paymentOutboxService.savePaymentSuccessMessage(requestDto);
 
         return ResponseEntity.ok("결제가 완료되었습니다.");
     }
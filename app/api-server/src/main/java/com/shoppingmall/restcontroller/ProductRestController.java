@@ -1,6 +1,7 @@
 package com.shoppingmall.restcontroller;
 
 import com.shoppingmall.dto.ProductRequestDto;
+import com.shoppingmall.service.ProductImportService;
 import com.shoppingmall.service.ProductService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -17,6 +18,7 @@ import javax.validation.Valid;
 import java.io.IOException;
 
 import static com.shoppingmall.common.UploadFileUtils.PRODUCT_UPLOAD_IMAGE;
+import static java.util.Objects.nonNull;
 
 @Api(tags = "product", description = "상품")
 @Slf4j
@@ -25,17 +27,33 @@ import static com.shoppingmall.common.UploadFileUtils.PRODUCT_UPLOAD_IMAGE;
 public class ProductRestController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @ApiOperation(value = "상품 조회")
     @GetMapping("/products")
     public ResponseEntity<?> getProductList(@RequestParam(value = "catCd", required = false) String catCd,
-                                            @RequestParam(value = "page", required = false) int page,
+                                            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
                                             @RequestParam(value = "sortCd", required = false) String sortCd,
-                                            @RequestParam(value = "saleCd", required = false) String saleCd) throws Exception {
+                                            @RequestParam(value = "saleCd", required = false) String saleCd,
+                                            @RequestParam(value = "cursor", required = false) String cursor) throws Exception {
+
+        // cursor 파라미터가 있으면 커서 기반 페이징 (첫 페이지는 빈 값)
+        if (nonNull(cursor)) {
+            return ResponseEntity.ok().body(productService.getProductListByCursor(catCd, sortCd, saleCd, cursor));
+        }
 
         return ResponseEntity.ok().body(productService.getProductList(catCd, sortCd, saleCd, page));
     }
 
+    @ApiOperation(value = "상품 검색")
+    @GetMapping("/products/search")
+    public ResponseEntity<?> searchProductList(@RequestParam("keyword") String keyword,
+                                               @RequestParam(value = "catCd", required = false) String catCd,
+                                               @RequestParam(value = "page", required = false, defaultValue = "0") int page) {
+
+        return ResponseEntity.ok().body(productService.searchProductList(keyword, catCd, page));
+    }
+
     @ApiOperation(value = "상품 상세")
     @GetMapping("/products/{id}")
     public ResponseEntity<?> getProductDetails(@PathVariable Long id) {
@@ -69,6 +87,26 @@ public class ProductRestController {
         return ResponseEntity.ok().body(productService.getProductListByCatCd(page, firstCatCd, secondCatCd));
     }
 
+    // 상품 일괄 등록 (관리자 권한), CSV 또는 JSON lines 파일
+    @ApiOperation(value = "상품 일괄 등록 (관리자 권한)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/products/import")
+    public ResponseEntity<?> importProducts(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(value = "format", required = false) String format,
+                                            @RequestParam(value = "batchSize", required = false) Integer batchSize) throws IOException {
+
+        return ResponseEntity.ok().body(productImportService.startImport(file, format, batchSize));
+    }
+
+    // 상품 일괄 등록 진행 상황 조회 (관리자 권한)
+    @ApiOperation(value = "상품 일괄 등록 진행 상황 조회 (관리자 권한)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/products/import/{importId}")
+    public ResponseEntity<?> getImportProgress(@PathVariable String importId) {
+
+        return ResponseEntity.ok().body(productImportService.getImportProgress(importId));
+    }
+
     // 상품 타이틀 이미지 업로드 (관리자 권한)
     @ApiOperation(value = "상품 타이틀 이미지 업로드 (관리자 권한)")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
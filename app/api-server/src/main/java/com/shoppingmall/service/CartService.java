@@ -1,10 +1,11 @@
 package com.shoppingmall.service;
 
+import com.shoppingmall.config.redis.InventoryReservationStore;
+import com.shoppingmall.config.redis.PurchaseOwnershipStore;
 import com.shoppingmall.domain.cart.Cart;
 import com.shoppingmall.domain.cart.CartRepository;
 import com.shoppingmall.domain.product.Product;
 import com.shoppingmall.domain.product.ProductRepository;
-import com.shoppingmall.domain.productDisPrc.ProductDisPrc;
 import com.shoppingmall.domain.user.User;
 import com.shoppingmall.domain.user.UserRepository;
 import com.shoppingmall.dto.CartRequestDto;
@@ -17,25 +18,35 @@ import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @AllArgsConstructor
 @Service
 public class CartService {
+    // 장바구니에 담은 뒤 결제하지 않으면 배치가 예약을 해제하는 시간
+    private static final Duration RESERVATION_TTL = Duration.ofMinutes(30);
+    // 결제 후 order-server가 주문을 만들고 예약을 확정할 때까지 예약을 유지하는 시간
+    private static final Duration PAYMENT_RESERVATION_TTL = Duration.ofHours(1);
+
     private UserRepository userRepository;
     private ProductRepository productRepository;
     private CartRepository cartRepository;
+    private ProductDiscountIndexService productDiscountIndexService;
+    private InventoryReservationStore inventoryReservationStore;
+    private PurchaseOwnershipStore purchaseOwnershipStore;
     private JobLauncher jobLauncher;
     private Job job;
 
@@ -54,55 +65,124 @@ public class CartService {
         if (product.getLimitCount() < cartRequestDto.getProductCount())
             throw new ProductLimitCountException("재고가 없습니다.");
 
-        cartRepository.save(Cart.builder()
+        Cart cart = cartRepository.save(Cart.builder()
                 .user(user)
                 .product(product)
                 .productCount(cartRequestDto.getProductCount())
                 .useYn('Y')
                 .build());
+
+        // 예약에 실패하면 예외로 장바구니 저장도 롤백됨
+        reserveInventory(product, cart, RESERVATION_TTL);
+
+        // 예약 후 커밋에 실패하면 예약을 바로 해제 (만료 배치까지 재고가 묶이지 않도록)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                    releaseInventory(product.getId(), cart.getId());
+                }
+            }
+        });
     }
 
-    @Transactional
+    /**
+     * 결제 직전 재고 예약 확인 (outbox 저장 전)
+     * 예약이 남아 있으면 만료 시각만 늘리고, 만료돼 해제된 예약은 남은 재고에서 다시 예약
+     * 다시 예약할 재고가 없으면 결제를 거부함
+     */
+    @Transactional(readOnly = true)
+    public void reserveInventoryForPayment(List<Long> cartIdList) {
+        List<Cart> cartList = cartRepository.findAllWithProductByIdIn(cartIdList);
+
+        if (cartList.size() != new HashSet<>(cartIdList).size())
+            throw new NotExistCartException("존재하지 않는 장바구니입니다.");
+
+        for (Cart cart : cartList) {
+            if (cart.getProductOrder() != null)
+                throw new NotExistCartException("이미 주문된 장바구니입니다.");
+
+            reserveInventory(cart.getProduct(), cart, PAYMENT_RESERVATION_TTL);
+        }
+    }
+
+    // 재고 예약, 장바구니 id를 예약 id로 사용 (결제 완료 시 order-server가 확정)
+    private void reserveInventory(Product product, Cart cart, Duration ttl) {
+        InventoryReservationStore.ReserveResult result = inventoryReservationStore.reserve(product.getId(), cart.getId(),
+                cart.getProductCount(), ttl);
+
+        // 레디스에 재고 카운터가 없으면 DB 남은 재고로 만들고 한 번 더 시도
+        if (result == InventoryReservationStore.ReserveResult.NOT_INITIALIZED) {
+            inventoryReservationStore.initStock(product.getId(), product.getLimitCount());
+            result = inventoryReservationStore.reserve(product.getId(), cart.getId(), cart.getProductCount(), ttl);
+        }
+
+        if (result != InventoryReservationStore.ReserveResult.RESERVED)
+            throw new ProductLimitCountException("재고가 없습니다.");
+    }
+
+    /**
+     * 장바구니 목록, 결제 금액, 장바구니 id 목록을 장바구니 크기와 관계없이 쿼리 2번으로 조회
+     * 1. 활성 장바구니 전체의 (id, 상품 id, 가격, 수량) : 전체 건수, 결제 금액, id 목록
+     * 2. 현재 페이지 장바구니 id로 상품, 주문을 함께 조회
+     * 할인률은 할인 인덱스(메모리)에서 가져오므로 할인 목록을 조회하지 않음
+     */
+    @Transactional(readOnly = true)
     public HashMap<String, Object> getCartList(UUID userId, int page, Pageable pageable) {
         int realPage = page - 1;
         pageable = PageRequest.of(realPage, 5);
 
-        Page<Cart> cartList = cartRepository.findAllByUserIdAndUseYnOrderByCreatedDateDesc(userId, 'Y', pageable);
+        List<Object[]> cartSummaryList = cartRepository.findCartSummaryByUserId(userId, 'Y');
 
-        if (cartList.getTotalElements() > 0) {
-            List<CartResponseDto> cartResponseDtoList = new ArrayList<>();
+        if (cartSummaryList.isEmpty()) {
+            return null;
+        }
 
-            for (Cart cart : cartList) {
+        int checkoutPrice = 0;
+        List<Long> cartIdList = new ArrayList<>();
 
-                cartResponseDtoList.add(cart.toResponseDto(getDisPrice(cart)));
-            }
+        for (Object[] cartSummary : cartSummaryList) {
+            Long productId = (Long) cartSummary[1];
+            int salePrice = Cart.getSalePrice((Integer) cartSummary[2], productDiscountIndexService.getDisPrice(productId));
 
-            PageImpl<CartResponseDto> cartLists = new PageImpl<>(cartResponseDtoList, pageable, cartList.getTotalElements());
+            cartIdList.add((Long) cartSummary[0]);
+            checkoutPrice += salePrice * (Integer) cartSummary[3];
+        }
 
-            PagingDto cartPagingDto = new PagingDto();
-            cartPagingDto.setPagingInfo(cartLists);
+        int fromIndex = (int) Math.min(pageable.getOffset(), cartIdList.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), cartIdList.size());
+        List<Long> pageIdList = cartIdList.subList(fromIndex, toIndex);
+        List<CartResponseDto> cartResponseDtoList = new ArrayList<>();
 
-            List<Cart> carts = cartRepository.findAllByUserIdAndUseYnOrderByCreatedDateDesc(userId, 'Y');
-            int checkoutPrice = 0;
-            List<Long> cartIdList = new ArrayList<>();
+        if (!pageIdList.isEmpty()) {
+            Map<Long, Cart> cartMap = new HashMap<>();
 
-            for (Cart cart : carts) {
-                cartIdList.add(cart.getId());
+            for (Cart cart : cartRepository.findAllWithProductByIdIn(pageIdList)) {
+                cartMap.put(cart.getId(), cart);
+            }
 
-                int salePrice = (int)((((float) 100 - (float) getDisPrice(cart)) / (float)100) * cart.getProduct().getPrice());
+            // in 조회는 순서를 보장하지 않으므로 1번 쿼리의 정렬 순서로 구성
+            for (Long cartId : pageIdList) {
+                Cart cart = cartMap.get(cartId);
 
-                checkoutPrice += salePrice * cart.getProductCount();
+                if (cart != null) {
+                    cartResponseDtoList.add(cart.toResponseDto(getDisPrice(cart)));
+                }
             }
+        }
 
-            HashMap<String, Object> resultMap = new HashMap<>();
-            resultMap.put("cartList", cartLists);
-            resultMap.put("cartPagingDto", cartPagingDto);
-            resultMap.put("checkoutPrice", checkoutPrice);
-            resultMap.put("cartIdList", cartIdList);
+        PageImpl<CartResponseDto> cartLists = new PageImpl<>(cartResponseDtoList, pageable, cartIdList.size());
 
-            return resultMap;
-        }
-        return null;
+        PagingDto cartPagingDto = new PagingDto();
+        cartPagingDto.setPagingInfo(cartLists);
+
+        HashMap<String, Object> resultMap = new HashMap<>();
+        resultMap.put("cartList", cartLists);
+        resultMap.put("cartPagingDto", cartPagingDto);
+        resultMap.put("checkoutPrice", checkoutPrice);
+        resultMap.put("cartIdList", cartIdList);
+
+        return resultMap;
     }
 
     @Transactional
@@ -113,43 +193,68 @@ public class CartService {
             throw new NotExistCartException("존재하지 않는 장바구니 입니다.");
         }
 
-        cartRepository.delete(cartOpt.get());
+        Cart cart = cartOpt.get();
+
+        cartRepository.delete(cart);
+
+        // 결제 전인 장바구니만 삭제가 커밋된 뒤 예약 해제
+        if (cart.getProductOrder() == null) {
+            Long productId = cart.getProduct().getId();
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    releaseInventory(productId, id);
+                }
+            });
+        }
     }
 
-    @Transactional
+    // 해제에 실패해도 예약은 만료 후 배치가 해제함
+    private void releaseInventory(Long productId, Long cartId) {
+        try {
+            inventoryReservationStore.release(productId, cartId);
+        } catch (DataAccessException e) {
+            log.warn("[CartService.releaseInventory] 재고 예약 해제 실패, cartId : {}, {}", cartId, e.toString());
+        }
+    }
+
+    /**
+     * 구매 상품 집합에서 확인하고, 집합을 채우기 전이거나 레디스 장애 시에만 DB 조회
+     */
     public int checkReviewAuthority(HashMap<String, Object> paramMap) {
         UUID userId = UUID.fromString(paramMap.get("userId").toString());
         Long productId = Long.parseLong(paramMap.get("productId").toString());
 
-        List<Cart> cartList = cartRepository.findAllByUserIdAndProductId(userId, productId);
-
-        if (cartList.size() > 0) {
-            for (Cart cart : cartList) {
-                if (cart.getProductOrder() != null) {
-                    return 1;
-                }
-            }
+        if (isPurchased(userId, productId)) {
+            return 1;
         }
 
         throw new CheckReviewAuthorityException("해당상품 결제를 완료한 회원만 리뷰를 작성할 수 있습니다.");
     }
 
-    @Transactional
-    public int getDisPrice(Cart cart) {
+    private boolean isPurchased(UUID userId, Long productId) {
+        try {
+            Boolean purchased = purchaseOwnershipStore.contains(userId, productId);
 
-        int disPrice = 0;
+            if (purchased != null) {
+                return purchased;
+            }
+
+            List<Long> productIds = cartRepository.findPurchasedProductIdsByUserId(userId);
+            purchaseOwnershipStore.fill(userId, productIds);
 
-        if (cart.getProduct().getProductDisPrcList().size() > 0) {
-            List<ProductDisPrc> disprcList
-                    = cart.getProduct().getProductDisPrcList().stream().filter(productDisPrc -> LocalDateTime.now().isAfter(productDisPrc.getStartDt())
-                    && LocalDateTime.now().isBefore(productDisPrc.getEndDt())).sorted().limit(1).collect(Collectors.toList());
+            return productIds.contains(productId);
+        } catch (DataAccessException e) {
+            log.warn("[CartService.isPurchased] 구매 상품 집합 조회 실패, DB 조회, {}", e.toString());
 
-            // getProductDisPrcList의 크기가 0보다 크다 하더라도 할인 기간에 적용되지 않는 리스트는 disprcList에 포함되지 않기 때문에 아래의 if조건을 걸어줘야 함
-            if (disprcList.size() > 0)
-                disPrice = disprcList.get(0).getDisPrc();
+            return cartRepository.findPurchasedProductIdsByUserId(userId).contains(productId);
         }
+    }
+
+    public int getDisPrice(Cart cart) {
 
-        return disPrice;
+        return productDiscountIndexService.getDisPrice(cart.getProduct().getId());
     }
 
     // 매일 자정 배치를 작동시켜 7일이 지난 장바구니 데이터를 자동으로 비활성화
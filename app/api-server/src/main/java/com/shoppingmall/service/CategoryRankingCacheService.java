@@ -0,0 +1,98 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisValues;
+import com.shoppingmall.dto.ProductResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_PRODUCT_COUNT_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_ALL;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_HIGH_SELL;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_LOW_SELL;
+import static com.shoppingmall.common.RedisKeyUtils.getCategoryRankingKey;
+import static java.util.Objects.isNull;
+
+/**
+ * batch-server가 저장한 카테고리별 판매순(highSell), 판매 역순(lowSell) 상품 목록 조회
+ * 캐시된 페이지 범위를 벗어나거나 캐시가 없으면 null을 반환하므로 호출하는 쪽에서 DB로 조회
+ * 배치가 주기적으로 다시 만드는 목록이므로 레플리카 우선으로 읽음
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CategoryRankingCacheService {
+
+    private final RedisCodecRegistry redisCodecRegistry;
+    private final ProductDiscountIndexService productDiscountIndexService;
+
+    public boolean isCachedSort(String sortCd) {
+        return CATEGORY_RANKING_HIGH_SELL.equals(sortCd) || CATEGORY_RANKING_LOW_SELL.equals(sortCd);
+    }
+
+    /**
+     * 상품 일괄 등록 후 호출, 카테고리별 상품 수를 지워 다음 배치가 다시 만들 때까지 DB로 조회하게 함
+     */
+    public void evict() {
+        try {
+            redisCodecRegistry.getTemplate(CATEGORY_PRODUCT_COUNT_KEY).delete(CATEGORY_PRODUCT_COUNT_KEY);
+        } catch (DataAccessException e) {
+            log.warn("[CategoryRankingCacheService.evict] 카테고리별 상품 캐시 삭제 실패 : {}", e.toString());
+        }
+    }
+
+    /**
+     * 카테고리 코드가 없으면 전체 상품 기준
+     */
+    @SuppressWarnings("unchecked")
+    public Page<ProductResponseDto> findProductPage(String catCd, String sortCd, Pageable pageable) {
+        String category = isNull(catCd) ? CATEGORY_RANKING_ALL : catCd;
+
+        Map<String, Object> productCountMap = (Map<String, Object>) redisCodecRegistry
+                .getReadValueOperations(CATEGORY_PRODUCT_COUNT_KEY).get(CATEGORY_PRODUCT_COUNT_KEY);
+        Object productCount = isNull(productCountMap) ? null : productCountMap.get(category);
+
+        if (isNull(productCount)) {
+            return null;
+        }
+
+        long totalCount = RedisValues.toLong(productCount);
+
+        if (pageable.getOffset() >= totalCount) {
+            return new PageImpl<>(Collections.emptyList(), pageable, totalCount);
+        }
+
+        String key = getCategoryRankingKey(sortCd, category);
+        Set<Object> members = redisCodecRegistry.getReadZSetOperations(key)
+                .range(key, pageable.getOffset(), pageable.getOffset() + pageable.getPageSize() - 1);
+
+        List<ProductResponseDto> products = isNull(members) ? null : members.stream()
+                .filter(Objects::nonNull)
+                .map(member -> (ProductResponseDto) member)
+                .collect(Collectors.toList());
+
+        // 캐시된 범위를 벗어난 페이지 (마지막 페이지가 아닌데 한 페이지를 다 채우지 못함)
+        long expectedCount = Math.min(pageable.getPageSize(), totalCount - pageable.getOffset());
+
+        if (isNull(products) || products.size() < expectedCount) {
+            return null;
+        }
+
+        // 할인률은 시간에 따라 바뀌므로 할인 인덱스에서 채움
+        return new PageImpl<>(products.stream()
+                .map(dto -> dto.toBuilder().disPrice(productDiscountIndexService.getDisPrice(dto.getId())).build())
+                .collect(Collectors.toList()), pageable, totalCount);
+    }
+}
@@ -9,7 +9,6 @@ import com.shoppingmall.exception.CatCdException;
 import com.shoppingmall.exception.NotExistCategoryException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,23 +21,20 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_LIST_KEY;
-
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final ValueOperations<String, Object> valueOperations;
+    private final CategorySnapshotService categorySnapshotService;
 
     /**
-     * 모든 카테고리 조회, 캐싱된 데이터 조회 (memory I/O)
+     * 모든 카테고리 조회, 서버 메모리의 카테고리 스냅샷 조회 (네트워크 I/O 없음)
      */
-    @SuppressWarnings("unchecked")
     public HashMap<String, Object> getCategoryList() {
 
-        return (HashMap<String, Object>) valueOperations.get(CATEGORY_LIST_KEY);
+        return categorySnapshotService.getCategoryMap();
     }
 
     /**
@@ -224,10 +220,8 @@ public class CategoryService {
      * 카테고리 추가 시 캐시 업데이트
      */
     private void setCategoryCaching() {
-        HashMap<String, Object> resultMap = new HashMap<>();
-        resultMap.put("mainCatList", categoryRepository.findAllByUseYn('Y'));
-
-        valueOperations.set(CATEGORY_LIST_KEY, resultMap);
+        // 레디스 캐시 갱신 후 모든 서버 인스턴스의 카테고리 스냅샷 갱신
+        categorySnapshotService.publish(categoryRepository.findAllByUseYn('Y'));
     }
 
 }
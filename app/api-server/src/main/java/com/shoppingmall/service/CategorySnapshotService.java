@@ -0,0 +1,197 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.config.redis.RedisCacheLoader;
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisSnapshotPublisher;
+import com.shoppingmall.config.redis.RedisValues;
+import com.shoppingmall.config.redis.SnapshotOptions;
+import com.shoppingmall.domain.productCat.CategoryRepository;
+import com.shoppingmall.domain.productCat.ProductCat;
+import com.shoppingmall.dto.CategoryResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_LIST_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_VERSION_CHANNEL;
+import static java.util.Objects.isNull;
+
+/**
+ * 서버 메모리의 카테고리 스냅샷 관리
+ *
+ * 화면 렌더링마다 레디스를 조회하지 않도록 변경 불가능한 스냅샷을 메모리에 두고,
+ * 카테고리가 변경되면 캐시와 버전을 함께 갱신해 pub/sub으로 알린 뒤 각 서버 인스턴스가 레디스에서 한 번만 다시 읽음.
+ */
+@Slf4j
+@Service
+public class CategorySnapshotService implements MessageListener {
+
+    private static final long VERSION_CHECK_INTERVAL = 60 * 1000L;
+    // 레디스 캐시가 비어 있을 때 DB에서 읽은 목록을 다시 계산 없이 사용하는 시간
+    private static final Duration SOFT_TTL = Duration.ofSeconds(30);
+
+    private final CategoryRepository categoryRepository;
+    private final ValueOperations<String, Object> valueOperations;
+    private final RedisSnapshotPublisher redisSnapshotPublisher;
+    private final RedisCodecRegistry redisCodecRegistry;
+    private final RedisCacheLoader redisCacheLoader;
+
+    private volatile CategorySnapshot snapshot = new CategorySnapshot(-1L, Collections.emptyList());
+
+    public CategorySnapshotService(CategoryRepository categoryRepository,
+                                   ValueOperations<String, Object> valueOperations,
+                                   RedisSnapshotPublisher redisSnapshotPublisher,
+                                   RedisCodecRegistry redisCodecRegistry,
+                                   RedisCacheLoader redisCacheLoader,
+                                   RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.categoryRepository = categoryRepository;
+        this.valueOperations = valueOperations;
+        this.redisSnapshotPublisher = redisSnapshotPublisher;
+        this.redisCodecRegistry = redisCodecRegistry;
+        this.redisCacheLoader = redisCacheLoader;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CATEGORY_VERSION_CHANNEL));
+    }
+
+    @PostConstruct
+    public void init() {
+        load(getCurrentVersion());
+    }
+
+    /**
+     * 메인 화면 카테고리 조회 (네트워크 I/O 없음)
+     * 스냅샷은 공유되므로 바깥 맵만 복사해서 반환 (카테고리 목록은 변경 불가능한 리스트를 그대로 공유)
+     */
+    public HashMap<String, Object> getCategoryMap() {
+        return new HashMap<>(snapshot.getCategoryMap());
+    }
+
+    /**
+     * 카테고리 변경 후 호출, 레디스 카테고리 캐시 저장과 버전 증가를 한 번에 처리하고 모든 서버 인스턴스에 알림
+     */
+    public void publish(List<ProductCat> categoryList) {
+        Long version = redisSnapshotPublisher.publishValue(CATEGORY_LIST_KEY, getCategoryCacheMap(categoryList),
+                SnapshotOptions.builder().versioned(true).build());
+
+        load(version);
+        valueOperations.getOperations().convertAndSend(CATEGORY_VERSION_CHANNEL, version);
+    }
+
+    // 다른 서버 인스턴스(자신 포함)에서 발행한 버전 변경 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object version = valueOperations.getOperations().getValueSerializer().deserialize(message.getBody());
+
+        if (isNull(version)) {
+            return;
+        }
+
+        loadIfNewer(RedisValues.toLong(version));
+    }
+
+    /**
+     * pub/sub 메시지를 놓친 경우를 대비해 주기적으로 버전만 비교
+     */
+    @Scheduled(initialDelay = VERSION_CHECK_INTERVAL, fixedDelay = VERSION_CHECK_INTERVAL)
+    public void checkVersion() {
+        loadIfNewer(getCurrentVersion());
+    }
+
+    private void loadIfNewer(long version) {
+        if (version > snapshot.getVersion()) {
+            load(version);
+        }
+    }
+
+    // 레디스 캐시를 먼저 읽고, 없으면 한 서버만 DB에서 읽어 레디스 캐시를 채움 (나머지 서버는 채워질 때까지 기다림)
+    private synchronized void load(long version) {
+        if (version <= snapshot.getVersion()) {
+            return;
+        }
+
+        List<ProductCat> categoryList = readCategoryList();
+
+        if (isNull(categoryList)) {
+            categoryList = redisCacheLoader.load(CATEGORY_LIST_KEY, SOFT_TTL, this::readCategoryList,
+                    () -> categoryRepository.findAllByUseYn('Y'),
+                    list -> redisSnapshotPublisher.publishValue(CATEGORY_LIST_KEY, getCategoryCacheMap(list), SnapshotOptions.none()));
+        }
+
+        // DB 조회도 실패하면 이전 스냅샷 유지, 다음 버전 확인 때 다시 시도
+        if (isNull(categoryList)) {
+            return;
+        }
+
+        snapshot = new CategorySnapshot(version, categoryList.stream()
+                .map(ProductCat::toMainCategoryDto)
+                .collect(Collectors.toList()));
+
+        log.info("[CategorySnapshotService.load] 카테고리 스냅샷 갱신 완료, 버전 : {}, 카테고리 수 : {}", version, categoryList.size());
+    }
+
+    // 레디스 캐시가 없거나 레디스 장애 시 null
+    @SuppressWarnings("unchecked")
+    private List<ProductCat> readCategoryList() {
+        try {
+            HashMap<String, Object> cached = (HashMap<String, Object>) redisCodecRegistry.getValueOperations(CATEGORY_LIST_KEY)
+                    .get(CATEGORY_LIST_KEY);
+
+            return isNull(cached) ? null : (List<ProductCat>) cached.get("mainCatList");
+        } catch (DataAccessException e) {
+            log.warn("[CategorySnapshotService.readCategoryList] 카테고리 캐시 조회 실패 : {}", e.toString());
+            return null;
+        }
+    }
+
+    // 레디스 장애 시 0을 반환해 첫 기동에도 DB에서 스냅샷을 만들고, 이후 버전 확인 때 실제 버전으로 다시 읽음
+    private long getCurrentVersion() {
+        try {
+            return redisSnapshotPublisher.getVersion(CATEGORY_LIST_KEY);
+        } catch (DataAccessException e) {
+            log.warn("[CategorySnapshotService.getCurrentVersion] 카테고리 버전 조회 실패 : {}", e.toString());
+            return 0L;
+        }
+    }
+
+    private HashMap<String, Object> getCategoryCacheMap(List<ProductCat> categoryList) {
+        HashMap<String, Object> resultMap = new HashMap<>();
+        resultMap.put("mainCatList", categoryList);
+
+        return resultMap;
+    }
+
+    private static class CategorySnapshot {
+
+        private final long version;
+        private final Map<String, Object> categoryMap;
+
+        private CategorySnapshot(long version, List<CategoryResponseDto.MainCategory> mainCatList) {
+            Map<String, Object> categoryMap = new HashMap<>();
+            categoryMap.put("mainCatList", Collections.unmodifiableList(mainCatList));
+
+            this.version = version;
+            this.categoryMap = Collections.unmodifiableMap(categoryMap);
+        }
+
+        private long getVersion() {
+            return version;
+        }
+
+        private Map<String, Object> getCategoryMap() {
+            return categoryMap;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.config.redis.RedisCacheLoader;
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisValues;
+import com.shoppingmall.dto.ProductResponseDto;
+import com.shoppingmall.repository.ProductQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.common.RedisKeyUtils.NEW8_PRODUCT_LIST_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_RANKING_KEY;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 메인 화면 데이터 조회
+ *
+ * 카테고리는 서버 메모리 스냅샷에서 읽고, 인기 상품 순위와 최신 상품은 한 번의 파이프라인(레디스 왕복 1회)으로 읽음.
+ * 인기 상품 카드는 서버 메모리 캐시(ProductDetailCacheService)에서 채우므로 요청마다 DB를 조회하지 않음.
+ * 두 키는 직렬화 방식이 다르므로 바이트로 받은 뒤 키에 맞는 직렬화로 변환.
+ * 목록이 비어 있으면(레디스 flush, failover, 첫 기동) RedisCacheLoader로 한 번만 DB에서 다시 계산하고,
+ * 계산하는 동안에는 이전 목록을 보여줌.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class HomePageService {
+
+    private static final int BEST_PRODUCT_COUNT = 10;
+    private static final int NEW_PRODUCT_COUNT = 8;
+    // 파이프라인 응답 시간 지표의 prefix
+    private static final String HOME_PAGE_METRIC_KEY = "homePage";
+    // 캐시가 비어 있을 때 이전 목록, DB 조회 결과를 다시 계산 없이 사용하는 시간
+    private static final Duration SOFT_TTL = Duration.ofSeconds(30);
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+    private final ProductQueryRepository productQueryRepository;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final ProductDiscountIndexService productDiscountIndexService;
+    private final RedisCodecRegistry redisCodecRegistry;
+    private final RedisCacheLoader redisCacheLoader;
+
+    public HashMap<String, Object> getHomePageData() {
+        List<Object> results = readHomePageFragments();
+
+        HashMap<String, Object> resultMap = new HashMap<>();
+        resultMap.put("catMapList", categoryService.getCategoryList());
+        resultMap.put("bestProductList", getBestProductList(isNull(results) ? null : (Set<?>) results.get(0)));
+        resultMap.put("newProductList", getNewProductList(isNull(results) ? null : (Set<?>) results.get(1)));
+
+        return resultMap;
+    }
+
+    /**
+     * 상품 일괄 등록 후 호출, 레디스 캐시가 비어 있을 때 보여주던 이전 인기, 최신 상품 목록을 버림
+     */
+    public void refreshProductLists() {
+        redisCacheLoader.forget(PRODUCT_RANKING_KEY);
+        redisCacheLoader.forget(NEW8_PRODUCT_LIST_KEY);
+    }
+
+    // 레디스 장애 시 null, 두 목록 모두 캐시가 없는 것으로 보고 다시 계산
+    private List<Object> readHomePageFragments() {
+        try {
+            return readPipelined(HOME_PAGE_METRIC_KEY, connection -> {
+                connection.zRevRangeWithScores(rawKey(PRODUCT_RANKING_KEY), 0, BEST_PRODUCT_COUNT - 1);
+                connection.zRevRange(rawKey(NEW8_PRODUCT_LIST_KEY), 0, NEW_PRODUCT_COUNT - 1);
+
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("[HomePageService.readHomePageFragments] 메인 화면 캐시 조회 실패 : {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 인기 상위 10개의 상품
+     * 순위는 결제 완료 메시지와 보정 배치(batch-server)가 채우므로, 비어 있으면 DB 구매수 순으로 보여주기만 하고 저장하지 않음
+     */
+    private List<ProductResponseDto.MainProductResponseDto> getBestProductList(Set<?> ranking) {
+        List<ProductResponseDto.MainProductResponseDto> bestProductList = isNull(ranking) ? null : toBestProductList(ranking);
+        recordLookup(PRODUCT_RANKING_KEY, bestProductList);
+
+        if (nonNull(bestProductList) && !bestProductList.isEmpty()) {
+            return redisCacheLoader.remember(PRODUCT_RANKING_KEY, bestProductList);
+        }
+
+        return orEmpty(redisCacheLoader.load(PRODUCT_RANKING_KEY, SOFT_TTL,
+                () -> toBestProductList((Set<?>) readPipelined(PRODUCT_RANKING_KEY, connection -> {
+                    connection.zRevRangeWithScores(rawKey(PRODUCT_RANKING_KEY), 0, BEST_PRODUCT_COUNT - 1);
+
+                    return null;
+                }).get(0)),
+                () -> productQueryRepository.findMainProductList("highSell", BEST_PRODUCT_COUNT),
+                null));
+    }
+
+    /**
+     * 최신 상위 8개의 상품, 비어 있으면 한 서버만 DB에서 다시 계산해 저장
+     */
+    private List<ProductResponseDto.MainProductResponseDto> getNewProductList(Set<?> members) {
+        List<ProductResponseDto.MainProductResponseDto> newProductList = isNull(members) ? null : toNewProductList(members);
+        recordLookup(NEW8_PRODUCT_LIST_KEY, newProductList);
+
+        if (nonNull(newProductList) && !newProductList.isEmpty()) {
+            return redisCacheLoader.remember(NEW8_PRODUCT_LIST_KEY, newProductList);
+        }
+
+        return orEmpty(redisCacheLoader.load(NEW8_PRODUCT_LIST_KEY, SOFT_TTL,
+                () -> toNewProductList((Set<?>) readPipelined(NEW8_PRODUCT_LIST_KEY, connection -> {
+                    connection.zRevRange(rawKey(NEW8_PRODUCT_LIST_KEY), 0, NEW_PRODUCT_COUNT - 1);
+
+                    return null;
+                }).get(0)),
+                () -> productQueryRepository.findMainProductList("new", NEW_PRODUCT_COUNT),
+                productService::setNewProductCache));
+    }
+
+    // 목록 모두 복제 지연을 허용하므로 레플리카 우선으로 읽음
+    private List<Object> readPipelined(String metricKey, RedisCallback<Object> callback) {
+        long start = System.nanoTime();
+        List<Object> results = redisCodecRegistry.getReadTemplate(PRODUCT_RANKING_KEY)
+                .executePipelined(callback, RedisSerializer.byteArray());
+
+        redisCodecRegistry.getRedisMetrics().recordCommand(metricKey, "pipeline", System.nanoTime() - start);
+
+        return results;
+    }
+
+    // 파이프라인 조회는 연산 래퍼(MeteredOperations)를 거치지 않으므로 hit/miss를 직접 기록, 레디스 장애는 기록하지 않음
+    private void recordLookup(String key, List<?> products) {
+        if (nonNull(products)) {
+            redisCodecRegistry.getRedisMetrics().recordLookup(key, !products.isEmpty());
+        }
+    }
+
+    /**
+     * 결제 완료 메시지로 실시간 갱신되는 순위의 상품 id, 구매수로 구성
+     */
+    private List<ProductResponseDto.MainProductResponseDto> toBestProductList(Set<?> ranking) {
+        RedisSerializer<?> serializer = redisCodecRegistry.getTemplate(PRODUCT_RANKING_KEY).getValueSerializer();
+
+        LinkedHashMap<Long, Integer> purchaseCounts = new LinkedHashMap<>();
+
+        for (Object element : ranking) {
+            ZSetOperations.TypedTuple<?> tuple = (ZSetOperations.TypedTuple<?>) element;
+            Object productId = serializer.deserialize((byte[]) tuple.getValue());
+
+            if (nonNull(productId) && nonNull(tuple.getScore())) {
+                purchaseCounts.put(RedisValues.toLong(productId), tuple.getScore().intValue());
+            }
+        }
+
+        // 상품 카드는 메모리 캐시에 없는 상품만 기본키로 한 번에 조회
+        // 구매수는 DB보다 최신인 순위 점수, 할인률은 시간에 따라 바뀌므로 할인 인덱스에서 채움
+        return productDetailCacheService.getMainProductCards(new ArrayList<>(purchaseCounts.keySet()),
+                productQueryRepository::findMainProductListByIds).stream()
+                .map(card -> toBestProduct(card, purchaseCounts.get(card.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private ProductResponseDto.MainProductResponseDto toBestProduct(ProductResponseDto.MainProductResponseDto card,
+                                                                    Integer purchaseCount) {
+        int disPrice = productDiscountIndexService.getDisPrice(card.getId());
+
+        return card.toBuilder()
+                .disPrice(disPrice)
+                .salePrice((int)((((float) 100 - (float) disPrice) / (float)100) * card.getPrice()))
+                .purchaseCnt(purchaseCount)
+                .build();
+    }
+
+    /**
+     * batch-server가 저장한 목록을 그대로 사용
+     */
+    private List<ProductResponseDto.MainProductResponseDto> toNewProductList(Set<?> members) {
+        RedisSerializer<?> serializer = redisCodecRegistry.getTemplate(NEW8_PRODUCT_LIST_KEY).getValueSerializer();
+        List<ProductResponseDto.MainProductResponseDto> newProductList = new ArrayList<>();
+
+        for (Object member : members) {
+            Object product = serializer.deserialize((byte[]) member);
+
+            if (nonNull(product)) {
+                newProductList.add((ProductResponseDto.MainProductResponseDto) product);
+            }
+        }
+
+        return newProductList;
+    }
+
+    private List<ProductResponseDto.MainProductResponseDto> orEmpty(List<ProductResponseDto.MainProductResponseDto> products) {
+        return isNull(products) ? Collections.emptyList() : products;
+    }
+
+    private static byte[] rawKey(String key) {
+        return RedisSerializer.string().serialize(key);
+    }
+}
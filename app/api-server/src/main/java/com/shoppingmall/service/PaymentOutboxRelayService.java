@@ -0,0 +1,296 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.domain.paymentOutbox.PaymentOutbox;
+import com.shoppingmall.domain.paymentOutbox.PaymentOutboxRepository;
+import com.shoppingmall.publisher.MessagePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+/**
+ * outbox 테이블의 결제 완료 메시지를 카프카로 전송 (릴레이)
+ *
+ * - 여러 api-server 중 레디스 락을 가진 인스턴스 하나만 전송 (같은 메시지를 여러 인스턴스가 동시에 보내지 않도록)
+ * - 전송 대기 메시지를 id 순서로 BATCH_SIZE 만큼 읽고, 회원 id로 워커 스레드를 골라 같은 회원의 메시지는 한 스레드가 순서대로 전송
+ * - 회원마다 이전 메시지의 응답(ack)을 받은 뒤 다음 메시지를 보내므로, 실패한 메시지 뒤의 메시지가 먼저 도착하지 않음
+ * - 전송에 성공한 메시지만 한 번에 전송 완료로 표시하고, 실패한 메시지와 그 회원의 이후 메시지는 다음 주기에 다시 전송
+ * - 전송하는 동안 별도 스레드가 락을 주기적으로 연장하고, 연장에 실패하면(락을 잃으면) 남은 메시지를 보내지 않음
+ * 전송 완료 표시 전에 서버가 죽으면 다시 전송될 수 있으므로(at-least-once) 컨슈머는 같은 메시지를 여러 번 받을 수 있음,
+ * 메시지 id 헤더(outbox id)로 이미 처리한 메시지를 걸러냄
+ */
+@Slf4j
+@Service
+public class PaymentOutboxRelayService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int WORKER_COUNT = 4;
+    private static final String LOCK_KEY = "paymentOutboxRelay:lock";
+    // 릴레이 인스턴스가 죽으면 이 시간 후 다른 인스턴스가 이어받음
+    private static final long LOCK_EXPIRE_MILLIS = 10_000L;
+    // 전송 중 락 연장 주기, 연장이 한두 번 늦어도 만료되지 않도록 만료 시간보다 짧게
+    private static final long LOCK_RENEW_INTERVAL_MILLIS = LOCK_EXPIRE_MILLIS / 3;
+    // 전송 완료 메시지 보관 기간
+    private static final int SENT_RETENTION_DAYS = 3;
+
+    // KEYS : 락 키 / ARGV : 토큰, 만료 시간, 자신이 가진 락만 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return 0", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final MessagePublisher messagePublisher;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String lockToken = UUID.randomUUID().toString();
+    private final List<ExecutorService> workers = new ArrayList<>();
+    // 응답을 받은 뒤 같은 회원의 다음 메시지를 보내는 스레드
+    private final ExecutorService publishExecutor;
+    // 전송하는 동안 락을 연장하는 스레드
+    private final ScheduledExecutorService lockRenewer;
+    // 락 연장 스레드가 갱신, 락을 잃으면 false가 되어 남은 메시지를 보내지 않음
+    private volatile boolean lockHeld;
+
+    public PaymentOutboxRelayService(PaymentOutboxRepository paymentOutboxRepository, MessagePublisher messagePublisher,
+                                     @Qualifier("redisCustomTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.messagePublisher = messagePublisher;
+        this.redisTemplate = redisTemplate;
+
+        for (int i = 0; i < WORKER_COUNT; i++) {
+            int workerNo = i;
+
+            workers.add(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "PaymentOutboxRelay-thread-" + workerNo);
+                thread.setDaemon(true);
+
+                return thread;
+            }));
+        }
+
+        publishExecutor = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "PaymentOutboxPublish-thread");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        lockRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PaymentOutboxLockRenew-thread");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // 이전 전송이 끝난 뒤 0.5초 후 다시 실행
+    @Scheduled(fixedDelay = 500)
+    public void relay() {
+        ScheduledFuture<?> renewal = null;
+
+        try {
+            if (!acquireLock()) {
+                return;
+            }
+
+            lockHeld = true;
+            renewal = lockRenewer.scheduleWithFixedDelay(this::renewLockInBackground,
+                    LOCK_RENEW_INTERVAL_MILLIS, LOCK_RENEW_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+            // 한 번에 BATCH_SIZE 만큼 보내고, 모두 보냈으면 남은 메시지가 있을 수 있으므로 바로 이어서 전송
+            while (relayBatch() == BATCH_SIZE && lockHeld) {
+                log.debug("[PaymentOutboxRelayService.relay] 전송 대기 메시지가 남아 이어서 전송");
+            }
+        } catch (Exception e) {
+            log.error("[PaymentOutboxRelayService.relay] 결제 완료 메시지 전송 실패, {}", e.toString());
+        } finally {
+            if (!isNull(renewal)) {
+                renewal.cancel(false);
+            }
+        }
+    }
+
+    // 매일 새벽 4시 보관 기간이 지난 전송 완료 메시지 삭제
+    @Scheduled(cron = "0 0 4 * * *")
+    public void deleteSentMessages() {
+        int deleted = paymentOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(SENT_RETENTION_DAYS));
+
+        log.info("[PaymentOutboxRelayService.deleteSentMessages] 전송 완료 메시지 삭제 : {}", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(ExecutorService::shutdown);
+        publishExecutor.shutdown();
+        lockRenewer.shutdown();
+    }
+
+    // 전송에 성공한 메시지 수 반환
+    private int relayBatch() throws Exception {
+        List<PaymentOutbox> pendingList = paymentOutboxRepository.findPending(PageRequest.of(0, BATCH_SIZE));
+
+        if (pendingList.isEmpty()) {
+            return 0;
+        }
+
+        // 워커별로 나눔, 같은 회원은 항상 같은 워커 (id 순서 유지)
+        Map<Integer, List<PaymentOutbox>> workerMessages = new LinkedHashMap<>();
+
+        for (PaymentOutbox outbox : pendingList) {
+            workerMessages.computeIfAbsent(Math.floorMod(outbox.getUserId().hashCode(), WORKER_COUNT), key -> new ArrayList<>())
+                    .add(outbox);
+        }
+
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (Map.Entry<Integer, List<PaymentOutbox>> entry : workerMessages.entrySet()) {
+            futures.add(workers.get(entry.getKey()).submit(() -> send(entry.getValue())));
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+
+        for (Future<List<Long>> future : futures) {
+            sentIds.addAll(future.get());
+        }
+
+        if (!sentIds.isEmpty()) {
+            paymentOutboxRepository.markSent(sentIds, LocalDateTime.now());
+        }
+
+        log.info("[PaymentOutboxRelayService.relayBatch] 결제 완료 메시지 전송 : {} / {}", sentIds.size(), pendingList.size());
+
+        return sentIds.size();
+    }
+
+    // 전송에 성공한 id 반환
+    // 회원마다 이전 메시지의 응답(ack)을 받은 뒤 다음 메시지를 보내고, 실패하면 그 회원의 이후 메시지는 보내지 않고 남겨 둠
+    // 다른 회원의 메시지는 응답을 기다리지 않고 함께 보내므로 비동기 모드에서는 배치로 묶여 전송됨
+    private List<Long> send(List<PaymentOutbox> outboxList) {
+        Map<UUID, List<PaymentOutbox>> userMessages = new LinkedHashMap<>();
+
+        for (PaymentOutbox outbox : outboxList) {
+            userMessages.computeIfAbsent(outbox.getUserId(), key -> new ArrayList<>()).add(outbox);
+        }
+
+        // 응답 콜백(프로듀서 스레드)에서 채워지므로 동기화된 컬렉션 사용
+        List<Long> sentIds = Collections.synchronizedList(new ArrayList<>());
+        Map<PaymentOutbox, Throwable> failures = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> chains = new ArrayList<>();
+
+        for (List<PaymentOutbox> messages : userMessages.values()) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+
+            for (PaymentOutbox outbox : messages) {
+                // 다음 메시지는 프로듀서 스레드가 아닌 별도 스레드에서 보냄 (전송 창이 가득 차면 기다리므로)
+                // 이전 메시지가 실패하면 실행되지 않으므로 실제로 보낸 메시지만 결과가 기록됨
+                chain = chain.thenComposeAsync(ignored -> publishIfLockHeld(outbox).whenComplete((result, e) -> {
+                    if (isNull(e)) {
+                        sentIds.add(outbox.getId());
+                    } else {
+                        failures.put(outbox, e);
+                    }
+                }), publishExecutor);
+            }
+
+            chains.add(chain.handle((result, e) -> null));
+        }
+
+        CompletableFuture.allOf(chains.toArray(new CompletableFuture[0])).join();
+
+        failures.forEach(this::markFailed);
+
+        return new ArrayList<>(sentIds);
+    }
+
+    // 락을 잃었으면 보내지 않고 실패로 남김 (락을 가져간 인스턴스가 다시 보냄)
+    private CompletableFuture<Void> publishIfLockHeld(PaymentOutbox outbox) {
+        try {
+            if (!lockHeld) {
+                throw new IllegalStateException("릴레이 락을 잃어 전송 중단");
+            }
+
+            return messagePublisher.publishPaymentSuccessPayload(outbox.getUserId(), outbox.getId(), outbox.getPayload());
+        } catch (Exception e) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+
+            return failed;
+        }
+    }
+
+    private void markFailed(PaymentOutbox outbox, Throwable e) {
+        log.warn("[PaymentOutboxRelayService.send] 전송 실패, id : {}, {}", outbox.getId(), e.toString());
+        paymentOutboxRepository.markFailed(outbox.getId(), truncate(e.toString()));
+    }
+
+    private String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    // 이미 가진 락이면 연장
+    private boolean acquireLock() {
+        if (renewLock()) {
+            return true;
+        }
+
+        Boolean locked = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.set(
+                RedisSerializer.string().serialize(LOCK_KEY), RedisSerializer.string().serialize(lockToken),
+                Expiration.milliseconds(LOCK_EXPIRE_MILLIS), RedisStringCommands.SetOption.ifAbsent()));
+
+        return Boolean.TRUE.equals(locked);
+    }
+
+    // 락 연장 스레드, 레디스 오류도 락을 잃은 것으로 봄
+    private void renewLockInBackground() {
+        boolean renewed;
+
+        try {
+            renewed = renewLock();
+        } catch (Exception e) {
+            log.warn("[PaymentOutboxRelayService.renewLockInBackground] 락 연장 실패, {}", e.toString());
+            renewed = false;
+        }
+
+        if (!renewed && lockHeld) {
+            log.warn("[PaymentOutboxRelayService.renewLockInBackground] 릴레이 락을 잃어 전송 중단");
+        }
+
+        lockHeld = lockHeld && renewed;
+    }
+
+    private boolean renewLock() {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER,
+                Collections.singletonList(LOCK_KEY), lockToken, String.valueOf(LOCK_EXPIRE_MILLIS));
+
+        return Long.valueOf(1).equals(renewed);
+    }
+}
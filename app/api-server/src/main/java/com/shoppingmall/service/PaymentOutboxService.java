@@ -0,0 +1,44 @@
+package com.shoppingmall.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingmall.domain.paymentOutbox.PaymentOutbox;
+import com.shoppingmall.domain.paymentOutbox.PaymentOutboxRepository;
+import com.shoppingmall.dto.PaymentRequestDto;
+import com.shoppingmall.exception.PaymentsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 결제 완료 메시지를 outbox 테이블에 저장
+ * 카프카 전송은 PaymentOutboxRelayService가 요청 스레드와 별도로 처리하므로 브로커 지연, 장애가 결제 API 응답에 영향을 주지 않음
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void savePaymentSuccessMessage(PaymentRequestDto.Success message) {
+        paymentOutboxRepository.save(PaymentOutbox.builder()
+                .userId(message.getUserId())
+                .payload(toJson(message))
+                .sentYn('N')
+                .retryCount(0)
+                .build());
+    }
+
+    private String toJson(PaymentRequestDto.Success message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("[PaymentOutboxService.toJson] 결제 완료 메시지 변환 실패, {}", e.toString());
+            throw new PaymentsException("결제 완료 처리 중 오류가 발생했습니다.");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.shoppingmall.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisValues;
+import com.shoppingmall.dto.ProductResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_DETAIL_INVALIDATION_CHANNEL;
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_DETAIL_KEY_PREFIX;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 상품 상세 2단계 캐시 (L1 : 서버 메모리, L2 : 레디스)
+ *
+ * 상품 정보가 바뀌면 레디스 캐시를 지우고 pub/sub으로 무효화 메시지를 보내 모든 서버 인스턴스의 L1 캐시를 함께 지움.
+ * 지울 때 상품별 버전을 올리고, DB에서 읽은 값은 읽기 전의 버전이 그대로일 때만 L2에 저장하므로
+ * 조회와 무효화가 겹쳐도 변경 전 값이 L2에 다시 저장되지 않음.
+ * 레디스 장애 시에는 L2를 건너뛰고 DB에서 조회.
+ * 할인률은 시간에 따라 바뀌므로 캐시하지 않고 조회할 때마다 할인 인덱스에서 채움.
+ * 재고, 구매 수량은 주문마다 바뀌므로 캐시하지 않고 조회할 때마다 DB에서 채움 (ProductService.getProductDetails).
+ * 메인 화면 상품 카드(인기 상품 순위)도 서버 메모리에 두고 같은 무효화 메시지로 지움.
+ */
+@Slf4j
+@Service
+public class ProductDetailCacheService implements MessageListener {
+
+    private static final long L1_MAXIMUM_SIZE = 10_000L;
+    private static final long L1_EXPIRE_MINUTES = 10L;
+    private static final long L2_EXPIRE_MINUTES = 60L;
+    private static final long CARD_MAXIMUM_SIZE = 1_000L;
+    // L2 값보다 오래 유지해 저장 도중 버전 키가 먼저 사라지지 않도록 함
+    private static final long VERSION_EXPIRE_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final String VERSION_KEY_PREFIX = "productDetailVersion:";
+
+    // KEYS : 값 키, 버전 키 / ARGV : 읽기 전 버전, 값, 만료 시간(ms), 버전이 그대로일 때만 저장
+    private static final RedisScript<Long> SET_IF_VERSION_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('GET', KEYS[2]) or '0' " +
+            "if version ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    // KEYS : 값 키, 버전 키 / ARGV : 버전 만료 시간(ms)
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return version", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final ValueOperations<String, Object> valueOperations;
+    // 상품 상세 키 전용 직렬화(바이너리)를 사용하는 연산
+    private final ValueOperations<String, Object> productDetailOperations;
+    private final RedisTemplate<String, Object> productDetailTemplate;
+    // 크기 제한을 넘으면 W-TinyLFU 정책으로 제거, 무효화 메시지를 놓쳐도 만료 시간이 지나면 다시 조회
+    private final Cache<Long, ProductResponseDto> localCache = Caffeine.newBuilder()
+            .maximumSize(L1_MAXIMUM_SIZE)
+            .expireAfterWrite(L1_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+    // 메인 화면 상품 카드, 순위에 드는 상품만 담기므로 작게 유지
+    private final Cache<Long, ProductResponseDto.MainProductResponseDto> cardCache = Caffeine.newBuilder()
+            .maximumSize(CARD_MAXIMUM_SIZE)
+            .expireAfterWrite(L1_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    public ProductDetailCacheService(ValueOperations<String, Object> valueOperations,
+                                     RedisCodecRegistry redisCodecRegistry,
+                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.valueOperations = valueOperations;
+        this.productDetailOperations = redisCodecRegistry.getValueOperations(PRODUCT_DETAIL_KEY_PREFIX);
+        this.productDetailTemplate = redisCodecRegistry.getTemplate(PRODUCT_DETAIL_KEY_PREFIX);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(PRODUCT_DETAIL_INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * L1 → L2 → loader 순서로 조회하고, 조회한 값은 상위 캐시에 채움
+     */
+    public ProductResponseDto get(Long productId, Supplier<ProductResponseDto> loader) {
+        return localCache.get(productId, id -> {
+            Object cached;
+            String version;
+
+            // 레디스 조회에 실패했을 때만 DB에서 조회, loader의 예외는 그대로 전달
+            try {
+                cached = productDetailOperations.get(getKey(id));
+                version = isNull(cached) ? getVersion(id) : null;
+            } catch (DataAccessException e) {
+                log.warn("[ProductDetailCacheService.get] 레디스 캐시 조회 실패, productId : {}, {}", id, e.toString());
+                return loader.get();
+            }
+
+            if (nonNull(cached)) {
+                return (ProductResponseDto) cached;
+            }
+
+            ProductResponseDto productResponseDto = loader.get();
+            setIfVersion(id, version, productResponseDto);
+
+            return productResponseDto;
+        });
+    }
+
+    // 버전 키가 없으면 "0"
+    private String getVersion(Long productId) {
+        byte[] version = productDetailTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.get(RedisSerializer.string().serialize(getVersionKey(productId))));
+
+        return isNull(version) ? "0" : RedisSerializer.string().deserialize(version);
+    }
+
+    // 조회하는 동안 무효화되었으면 저장하지 않음, 저장 실패는 조회 결과에 영향을 주지 않음
+    @SuppressWarnings("unchecked")
+    private void setIfVersion(Long productId, String version, ProductResponseDto productResponseDto) {
+        try {
+            byte[] value = ((RedisSerializer<Object>) productDetailTemplate.getValueSerializer()).serialize(productResponseDto);
+
+            productDetailTemplate.execute(SET_IF_VERSION_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                    Arrays.asList(getKey(productId), getVersionKey(productId)),
+                    RedisSerializer.string().serialize(version), value,
+                    RedisSerializer.string().serialize(String.valueOf(TimeUnit.MINUTES.toMillis(L2_EXPIRE_MINUTES))));
+        } catch (DataAccessException e) {
+            log.warn("[ProductDetailCacheService.setIfVersion] 레디스 캐시 저장 실패, productId : {}, {}", productId, e.toString());
+        }
+    }
+
+    /**
+     * 메인 화면 상품 카드 조회, 캐시에 없는 상품만 loader로 한 번에 조회해 채움
+     * 결과는 전달받은 id 순서를 유지하고 존재하지 않는 상품은 빠짐
+     */
+    public List<ProductResponseDto.MainProductResponseDto> getMainProductCards(
+            List<Long> productIds, Function<List<Long>, List<ProductResponseDto.MainProductResponseDto>> loader) {
+        Map<Long, ProductResponseDto.MainProductResponseDto> cards = new HashMap<>(cardCache.getAllPresent(productIds));
+        List<Long> missingIds = productIds.stream()
+                .filter(productId -> !cards.containsKey(productId))
+                .collect(Collectors.toList());
+
+        if (!missingIds.isEmpty()) {
+            for (ProductResponseDto.MainProductResponseDto card : loader.apply(missingIds)) {
+                cardCache.put(card.getId(), card);
+                cards.put(card.getId(), card);
+            }
+        }
+
+        return productIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 정보 변경 시 호출, 레디스 캐시를 지우고 모든 서버 인스턴스에 무효화 메시지 발행
+     * 트랜잭션 안에서 호출되면 커밋 전의 값이 다시 캐시되지 않도록 커밋 이후에 처리
+     */
+    public void evict(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictNow(productId);
+                }
+            });
+            return;
+        }
+
+        evictNow(productId);
+    }
+
+    private void evictNow(Long productId) {
+        productDetailTemplate.execute(EVICT_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER,
+                Arrays.asList(getKey(productId), getVersionKey(productId)), String.valueOf(VERSION_EXPIRE_MILLIS));
+        localCache.invalidate(productId);
+        cardCache.invalidate(productId);
+
+        valueOperations.getOperations().convertAndSend(PRODUCT_DETAIL_INVALIDATION_CHANNEL, productId);
+    }
+
+    // 다른 서버 인스턴스(자신 포함)에서 발행한 무효화 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object productId = valueOperations.getOperations().getValueSerializer().deserialize(message.getBody());
+
+        if (isNull(productId)) {
+            return;
+        }
+
+        localCache.invalidate(RedisValues.toLong(productId));
+        cardCache.invalidate(RedisValues.toLong(productId));
+    }
+
+    // 클러스터에서 값 키와 버전 키가 같은 슬롯에 위치하도록 해시 태그 사용
+    private String getKey(Long productId) {
+        return PRODUCT_DETAIL_KEY_PREFIX + "{" + productId + "}";
+    }
+
+    private String getVersionKey(Long productId) {
+        return VERSION_KEY_PREFIX + "{" + productId + "}";
+    }
+}
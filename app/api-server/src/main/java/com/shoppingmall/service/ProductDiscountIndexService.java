@@ -0,0 +1,98 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.discount.ProductDiscount;
+import com.shoppingmall.discount.ProductDiscountIndex;
+import com.shoppingmall.domain.productDisPrc.ProductDisPrcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 상품 할인 인덱스 관리, 현재 적용중인 할인 조회는 모두 여기서 메모리로 처리
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductDiscountIndexService {
+
+    private static final long RELOAD_INTERVAL = 5 * 60 * 1000L;
+
+    private final ProductDisPrcRepository productDisPrcRepository;
+    private final ProductDiscountIndex productDiscountIndex = new ProductDiscountIndex();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 다른 서버 인스턴스에서 변경된 할인 정보를 반영하기 위해 주기적으로 전체 재적재
+     */
+    @Scheduled(initialDelay = RELOAD_INTERVAL, fixedDelay = RELOAD_INTERVAL)
+    public void reload() {
+        // DB를 읽기 전에 세대 번호를 받아, 읽는 동안 갱신된 상품을 이전 값으로 덮어쓰지 않음
+        long generation = productDiscountIndex.nextGeneration();
+        productDiscountIndex.reload(generation, productDisPrcRepository.findProductDiscountsEndAfter(LocalDateTime.now()));
+
+        log.info("[ProductDiscountIndexService.reload] 할인 인덱스 적재 완료, 할인 상품 수 : {}", productDiscountIndex.size());
+    }
+
+    /**
+     * 할인 추가, 삭제 후 해당 상품만 갱신
+     * 트랜잭션 안에서 호출되면 롤백된 변경이 반영되지 않도록 커밋 이후에 처리
+     */
+    public void refresh(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refreshNow(productId);
+                }
+            });
+            return;
+        }
+
+        refreshNow(productId);
+    }
+
+    private void refreshNow(Long productId) {
+        long generation = productDiscountIndex.nextGeneration();
+        productDiscountIndex.refresh(generation, productId,
+                productDisPrcRepository.findProductDiscountsByProductIdEndAfter(productId, LocalDateTime.now()));
+    }
+
+    /**
+     * 현재 적용중인 할인 조회, 없으면 null
+     */
+    public ProductDiscount getAppliedDiscount(Long productId) {
+        return productDiscountIndex.find(productId, LocalDateTime.now());
+    }
+
+    /**
+     * 해당 시각에 할인이 적용되는 모든 상품의 할인률
+     */
+    public Map<Long, Integer> getDisPrices(LocalDateTime dateTime) {
+        return productDiscountIndex.getDisPrices(dateTime);
+    }
+
+    /**
+     * 해당 시각 이후 가장 먼저 오는 할인 시작/종료 시각, 없으면 null
+     */
+    public LocalDateTime findNextBoundary(LocalDateTime dateTime) {
+        return productDiscountIndex.findNextBoundary(dateTime);
+    }
+
+    /**
+     * 현재 적용중인 할인률 조회, 없으면 0
+     */
+    public int getDisPrice(Long productId) {
+        return productDiscountIndex.getDisPrice(productId, LocalDateTime.now());
+    }
+}
@@ -1,5 +1,6 @@
 package com.shoppingmall.service;
 
+import com.shoppingmall.discount.ProductDiscount;
 import com.shoppingmall.domain.product.Product;
 import com.shoppingmall.domain.product.ProductRepository;
 import com.shoppingmall.domain.productDisPrc.ProductDisPrc;
@@ -13,12 +14,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.nonNull;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
@@ -26,6 +28,9 @@ public class ProductDiscountService {
 
     private final ProductRepository productRepository;
     private final ProductDisPrcRepository productDisPrcRepository;
+    private final ProductDiscountIndexService productDiscountIndexService;
+    private final SaleProductSetService saleProductSetService;
+    private final ProductDetailCacheService productDetailCacheService;
 
     @Transactional
     public HashMap<String, Object> getDiscountList(Long id) {
@@ -46,21 +51,19 @@ public class ProductDiscountService {
 
         if (productDisPrcListSize > 0) {
             // 현재 할인 적용 데이터
-            List<ProductDisPrc> applyDiscountProductList = productDisPrcList.stream()
-                    .filter(productDisPrc -> LocalDateTime.now().isAfter(productDisPrc.getStartDt())
-                            && LocalDateTime.now().isBefore(productDisPrc.getEndDt()))
-                    .sorted().limit(1).collect(Collectors.toList());
+            ProductDiscount appliedDiscount = productDiscountIndexService.getAppliedDiscount(id);
 
             Long applyDiscountProductId = 0L;
 
             // 현재 할인 적용 데이터가 있을 경우
-            if (applyDiscountProductList.size() > 0) {
-                ProductDisPrc applyDiscountProduct = applyDiscountProductList.get(0);
-                ProductDisPrcResponseDto applyDiscountProductResponseDto = applyDiscountProduct.toResponseDto();
-
-                applyDiscountProductId = applyDiscountProductResponseDto.getId();
-
-                resultMap.put("applyDiscountProduct", applyDiscountProductResponseDto);
+            if (nonNull(appliedDiscount)) {
+                applyDiscountProductId = appliedDiscount.getId();
+
+                for (ProductDisPrc productDisPrc : productDisPrcList) {
+                    if (productDisPrc.getId().equals(applyDiscountProductId)) {
+                        resultMap.put("applyDiscountProduct", productDisPrc.toResponseDto());
+                    }
+                }
             }
 
             // 현재 적용된 할인 데이터 외의 다른 할인 데이터가 있을 경우
@@ -80,6 +83,7 @@ public class ProductDiscountService {
     }
 
     // 할인 리스트 추가
+    @Transactional
     public String addProductDiscount(ProductDisPrcRequestDto productDisPrcRequestDto) {
         Optional<Product> productOpt = productRepository.findById(productDisPrcRequestDto.getProductId());
 
@@ -94,17 +98,31 @@ public class ProductDiscountService {
                 .disPrc(productDisPrcRequestDto.getDisPrc())
                 .build());
 
+        // 커밋 후 할인 인덱스, 할인 상품 집합, 상품 상세 캐시 갱신
+        productDiscountIndexService.refresh(productDisPrcRequestDto.getProductId());
+        saleProductSetService.refresh(productDisPrcRequestDto.getProductId());
+        productDetailCacheService.evict(productDisPrcRequestDto.getProductId());
+
         return "할인 리스트가 추가되었습니다.";
     }
 
     // 할인 리스트 삭제
+    @Transactional
     public String deleteProductDiscount(Long id) {
         Optional<ProductDisPrc> productDisPrcOpt = productDisPrcRepository.findById(id);
 
         if (!productDisPrcOpt.isPresent())
             throw new NotExistProductDisPrcException("존재하지 않는 할인 리스트 입니다.");
 
-        productDisPrcRepository.delete(productDisPrcOpt.get());
+        ProductDisPrc productDisPrc = productDisPrcOpt.get();
+        Long productId = productDisPrc.getProduct().getId();
+
+        productDisPrcRepository.delete(productDisPrc);
+
+        // 커밋 후 할인 인덱스, 할인 상품 집합, 상품 상세 캐시 갱신
+        productDiscountIndexService.refresh(productId);
+        saleProductSetService.refresh(productId);
+        productDetailCacheService.evict(productId);
 
         return "할인 리스트가 삭제되었습니다.";
     }
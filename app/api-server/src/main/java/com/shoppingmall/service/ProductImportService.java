@@ -0,0 +1,421 @@
+package com.shoppingmall.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppingmall.domain.enums.ProductStatus;
+import com.shoppingmall.domain.productCat.CategoryRepository;
+import com.shoppingmall.domain.productCat.ProductCat;
+import com.shoppingmall.dto.ProductImportResponseDto;
+import com.shoppingmall.dto.ProductRequestDto;
+import com.shoppingmall.exception.NotExistProductImportException;
+import com.shoppingmall.exception.ProductImportBusyException;
+import com.shoppingmall.exception.ProductImportException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 상품 일괄 등록 (CSV, JSON lines)
+ *
+ * 파일을 한 줄씩 읽어 검증한 뒤 JDBC 배치로 등록하므로 상품 수와 관계없이 메모리 사용량이 일정함.
+ * 등록은 별도 스레드에서 진행하고 진행 상황은 importId로 조회, 메인 화면, 카테고리, 검색 캐시는 마지막에 한 번만 갱신.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public static final String CSV = "csv";
+    public static final String JSON_LINES = "jsonl";
+
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO product "
+            + "(product_nm, price, title_img, large_cat_cd, small_cat_cd, product_status, "
+            + "purchase_count, limit_count, total_count, rate_avg, created_date, modified_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, 0, ?, ?)";
+
+    private static final String[] CSV_COLUMNS = {"productNm", "price", "titleImg", "largeCatCd", "smallCatCd", "totalCount"};
+    private static final int MAX_ERROR_COUNT = 100;
+    private static final int MAX_IMPORT_HISTORY = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final HomePageService homePageService;
+    private final CategorySnapshotService categorySnapshotService;
+    private final CategoryRankingCacheService categoryRankingCacheService;
+    private final Validator validator;
+    private final TaskExecutor productImportExecutor;
+    private final int defaultBatchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // 최근 등록 작업의 진행 상황, 오래된 작업부터 제거
+    private final Map<String, ImportProgress> importProgressMap = Collections.synchronizedMap(
+            new LinkedHashMap<String, ImportProgress>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ImportProgress> eldest) {
+                    return size() > MAX_IMPORT_HISTORY;
+                }
+            });
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                CategoryRepository categoryRepository,
+                                ProductService productService,
+                                ProductSearchService productSearchService,
+                                HomePageService homePageService,
+                                CategorySnapshotService categorySnapshotService,
+                                CategoryRankingCacheService categoryRankingCacheService,
+                                Validator validator,
+                                @Qualifier("productImportExecutor") TaskExecutor productImportExecutor,
+                                @Value("${product.import.batch-size:1000}") int defaultBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.productService = productService;
+        this.productSearchService = productSearchService;
+        this.homePageService = homePageService;
+        this.categorySnapshotService = categorySnapshotService;
+        this.categoryRankingCacheService = categoryRankingCacheService;
+        this.validator = validator;
+        this.productImportExecutor = productImportExecutor;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 옮긴 뒤 등록 작업 시작, 진행 상황 조회용 importId 반환
+     * 등록 작업 대기열이 가득 차면 임시 파일과 진행 상황을 지우고 ProductImportBusyException (503)
+     */
+    public ProductImportResponseDto startImport(MultipartFile file, String format, Integer batchSize) throws IOException {
+        String importFormat = getFormat(file, format);
+        int importBatchSize = isNull(batchSize) ? defaultBatchSize : batchSize;
+
+        if (importBatchSize <= 0) {
+            throw new ProductImportException("배치 크기는 1 이상이어야 합니다.");
+        }
+
+        // 요청이 끝나면 업로드 파일이 지워지므로 임시 파일로 옮겨둠
+        File tempFile = File.createTempFile("product-import-", "." + importFormat);
+        file.transferTo(tempFile);
+
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString());
+        importProgressMap.put(progress.importId, progress);
+
+        try {
+            productImportExecutor.execute(() -> {
+                try {
+                    importProducts(tempFile, importFormat, importBatchSize, progress);
+                } finally {
+                    deleteTempFile(tempFile);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("[ProductImportService.startImport] 등록 작업 대기열이 가득 차 거절, importId : {}", progress.importId);
+
+            importProgressMap.remove(progress.importId);
+            deleteTempFile(tempFile);
+
+            throw new ProductImportBusyException("진행 중인 상품 등록 작업이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        return progress.toResponseDto();
+    }
+
+    /**
+     * 등록 작업 진행 상황 조회
+     */
+    public ProductImportResponseDto getImportProgress(String importId) {
+        ImportProgress progress = importProgressMap.get(importId);
+
+        if (isNull(progress)) {
+            throw new NotExistProductImportException("존재하지 않는 상품 등록 작업입니다.");
+        }
+
+        return progress.toResponseDto();
+    }
+
+    private void deleteTempFile(File tempFile) {
+        if (!tempFile.delete()) {
+            log.warn("[ProductImportService.deleteTempFile] 임시 파일 삭제 실패 : {}", tempFile.getAbsolutePath());
+        }
+    }
+
+    private void importProducts(File file, String format, int batchSize, ImportProgress progress) {
+        CategoryCodes categoryCodes = new CategoryCodes(categoryRepository.findAll());
+        List<Object[]> batchArgs = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, Integer> csvHeader = CSV.equals(format) ? getCsvHeader(reader.readLine()) : null;
+            String line;
+            long lineNumber = CSV.equals(format) ? 1 : 0;
+
+            while (nonNull(line = reader.readLine())) {
+                lineNumber++;
+
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                progress.readCount.incrementAndGet();
+
+                try {
+                    ProductRequestDto productRequestDto = CSV.equals(format)
+                            ? parseCsv(line, csvHeader) : objectMapper.readValue(line, ProductRequestDto.class);
+
+                    validate(productRequestDto, categoryCodes);
+                    batchArgs.add(toInsertArgs(productRequestDto));
+                } catch (ProductImportException | IOException | IllegalArgumentException e) {
+                    progress.fail(lineNumber + "번째 줄 : " + e.getMessage());
+                    continue;
+                }
+
+                if (batchArgs.size() >= batchSize) {
+                    insertBatch(batchArgs, progress);
+                }
+            }
+
+            if (!batchArgs.isEmpty()) {
+                insertBatch(batchArgs, progress);
+            }
+
+            // 상품마다 캐시를 갱신하지 않고 등록이 끝난 뒤 한 번만 갱신
+            productService.refreshNewProductCache();
+            homePageService.refreshProductLists();
+            categorySnapshotService.publish(categoryRepository.findAllByUseYn('Y'));
+            categoryRankingCacheService.evict();
+            productSearchService.reload();
+
+            progress.finish(ImportProgress.COMPLETED);
+        } catch (Exception e) {
+            log.error("[ProductImportService.importProducts] 상품 일괄 등록 실패, importId : {}", progress.importId, e);
+            progress.errorList.add(e.getMessage());
+            progress.finish(ImportProgress.FAILED);
+        }
+
+        log.info("[ProductImportService.importProducts] 상품 일괄 등록 종료 : {}", progress.toResponseDto());
+    }
+
+    private void insertBatch(List<Object[]> batchArgs, ImportProgress progress) {
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, batchArgs);
+
+        progress.insertedCount.addAndGet(batchArgs.size());
+        batchArgs.clear();
+
+        log.info("[ProductImportService.insertBatch] importId : {}, 읽은 행 : {}, 등록 : {}, 실패 : {}",
+                progress.importId, progress.readCount.get(), progress.insertedCount.get(), progress.failedCount.get());
+    }
+
+    private Object[] toInsertArgs(ProductRequestDto productRequestDto) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // productStatus는 별도 매핑이 없어 ordinal로 저장됨
+        return new Object[]{
+                productRequestDto.getProductNm(),
+                productRequestDto.getPrice(),
+                productRequestDto.getTitleImg(),
+                productRequestDto.getLargeCatCd(),
+                productRequestDto.getSmallCatCd(),
+                ProductStatus.SALE.ordinal(),
+                productRequestDto.getTotalCount(),
+                productRequestDto.getTotalCount(),
+                now,
+                now
+        };
+    }
+
+    private void validate(ProductRequestDto productRequestDto, CategoryCodes categoryCodes) {
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(productRequestDto);
+
+        if (!violations.isEmpty()) {
+            throw new ProductImportException(violations.iterator().next().getMessage());
+        }
+
+        if (productRequestDto.getPrice() < 0 || productRequestDto.getTotalCount() < 0) {
+            throw new ProductImportException("상품 가격과 재고는 0 이상이어야 합니다.");
+        }
+
+        if (!categoryCodes.isValid(productRequestDto.getLargeCatCd(), productRequestDto.getSmallCatCd())) {
+            throw new ProductImportException("존재하지 않는 카테고리 입니다. ("
+                    + productRequestDto.getLargeCatCd() + ", " + productRequestDto.getSmallCatCd() + ")");
+        }
+    }
+
+    private String getFormat(MultipartFile file, String format) {
+        String importFormat = format;
+
+        if (isNull(importFormat)) {
+            String fileName = file.getOriginalFilename();
+            importFormat = isNull(fileName) ? "" : fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+
+        importFormat = importFormat.toLowerCase();
+
+        if (!CSV.equals(importFormat) && !JSON_LINES.equals(importFormat)) {
+            throw new ProductImportException("지원하지 않는 파일 형식입니다. (csv, jsonl)");
+        }
+
+        return importFormat;
+    }
+
+    // 첫 줄은 컬럼명, 컬럼 순서는 자유
+    private Map<String, Integer> getCsvHeader(String headerLine) {
+        if (isNull(headerLine)) {
+            throw new ProductImportException("빈 파일입니다.");
+        }
+
+        List<String> columns = parseCsvLine(headerLine);
+        Map<String, Integer> csvHeader = new HashMap<>();
+
+        for (String column : CSV_COLUMNS) {
+            int index = columns.indexOf(column);
+
+            if (index < 0) {
+                throw new ProductImportException("CSV 컬럼이 없습니다. : " + column);
+            }
+            csvHeader.put(column, index);
+        }
+
+        return csvHeader;
+    }
+
+    private ProductRequestDto parseCsv(String line, Map<String, Integer> csvHeader) {
+        List<String> values = parseCsvLine(line);
+
+        if (values.size() < csvHeader.size()) {
+            throw new ProductImportException("컬럼 수가 맞지 않습니다.");
+        }
+
+        ProductRequestDto productRequestDto = new ProductRequestDto();
+        productRequestDto.setProductNm(values.get(csvHeader.get("productNm")));
+        productRequestDto.setPrice(Integer.valueOf(values.get(csvHeader.get("price")).trim()));
+        productRequestDto.setTitleImg(values.get(csvHeader.get("titleImg")));
+        productRequestDto.setLargeCatCd(values.get(csvHeader.get("largeCatCd")).trim());
+        productRequestDto.setSmallCatCd(values.get(csvHeader.get("smallCatCd")).trim());
+        productRequestDto.setTotalCount(Integer.valueOf(values.get(csvHeader.get("totalCount")).trim()));
+
+        return productRequestDto;
+    }
+
+    // 큰따옴표로 감싼 값과 ""(따옴표 이스케이프) 지원, 값 안의 줄바꿈은 지원하지 않음
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+
+    // 1차 카테고리 코드와 (2차 카테고리 코드 → 상위 카테고리 코드)
+    private static class CategoryCodes {
+
+        private final Set<String> firstCatCds = new HashSet<>();
+        private final Map<String, String> secondCatCds = new HashMap<>();
+
+        private CategoryCodes(List<ProductCat> categories) {
+            for (ProductCat category : categories) {
+                if (category.getCatLv() == 1) {
+                    firstCatCds.add(category.getCatCd());
+                } else {
+                    secondCatCds.put(category.getCatCd(), category.getUpprCatCd());
+                }
+            }
+        }
+
+        private boolean isValid(String largeCatCd, String smallCatCd) {
+            return firstCatCds.contains(largeCatCd) && largeCatCd.equals(secondCatCds.get(smallCatCd));
+        }
+    }
+
+    private static class ImportProgress {
+
+        private static final String RUNNING = "RUNNING";
+        private static final String COMPLETED = "COMPLETED";
+        private static final String FAILED = "FAILED";
+
+        private final String importId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong readCount = new AtomicLong();
+        private final AtomicLong insertedCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final List<String> errorList = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = RUNNING;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportProgress(String importId) {
+            this.importId = importId;
+        }
+
+        private void fail(String error) {
+            failedCount.incrementAndGet();
+
+            if (errorList.size() < MAX_ERROR_COUNT) {
+                errorList.add(error);
+            }
+        }
+
+        private void finish(String status) {
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private ProductImportResponseDto toResponseDto() {
+            List<String> errors;
+
+            synchronized (errorList) {
+                errors = new ArrayList<>(errorList);
+            }
+
+            return ProductImportResponseDto.builder()
+                    .importId(importId)
+                    .status(status)
+                    .readCount(readCount.get())
+                    .insertedCount(insertedCount.get())
+                    .failedCount(failedCount.get())
+                    .errorList(errors)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
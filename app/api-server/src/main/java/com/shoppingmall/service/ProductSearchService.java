@@ -0,0 +1,55 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.domain.product.Product;
+import com.shoppingmall.repository.ProductQueryRepository;
+import com.shoppingmall.search.ProductDocument;
+import com.shoppingmall.search.ProductSearchIndex;
+import com.shoppingmall.search.ProductSearchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 상품 검색 인덱스 관리, 검색은 DB 조회 없이 메모리에서 처리
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductSearchService {
+
+    // 구매수(순위)와 다른 서버 인스턴스에서 등록, 수정된 상품을 반영하기 위해 주기적으로 전체 재구성
+    private static final long RELOAD_INTERVAL = 10 * 60 * 1000L;
+
+    private final ProductQueryRepository productQueryRepository;
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(initialDelay = RELOAD_INTERVAL, fixedDelay = RELOAD_INTERVAL)
+    public void reload() {
+        // DB를 읽는 동안 등록, 수정된 상품이 스냅샷으로 덮어써지지 않도록 세대 번호를 먼저 받음
+        long generation = productSearchIndex.nextGeneration();
+
+        productSearchIndex.reload(generation, productQueryRepository.findProductDocuments());
+
+        log.info("[ProductSearchService.reload] 상품 검색 인덱스 구성 완료, 상품 수 : {}", productSearchIndex.size());
+    }
+
+    /**
+     * 상품 등록, 수정 후 해당 상품만 갱신
+     */
+    public void index(Product product) {
+        productSearchIndex.put(new ProductDocument(product.getId(), product.getProductNm(),
+                product.getLargeCatCd(), product.getSmallCatCd(), product.getPurchaseCount()));
+    }
+
+    public ProductSearchResult search(String keyword, String catCd, int offset, int limit) {
+        return productSearchIndex.search(keyword, catCd, offset, limit);
+    }
+}
@@ -2,32 +2,33 @@ package com.shoppingmall.service;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.shoppingmall.common.AWSS3Utils;
+import com.shoppingmall.common.ProductCursor;
 import com.shoppingmall.common.UploadFileUtils;
+import com.shoppingmall.config.redis.RedisSnapshotPublisher;
+import com.shoppingmall.config.redis.SnapshotOptions;
+import com.shoppingmall.discount.ProductDiscount;
 import com.shoppingmall.domain.enums.ProductStatus;
 import com.shoppingmall.domain.product.Product;
 import com.shoppingmall.domain.product.ProductRepository;
-import com.shoppingmall.domain.productDisPrc.ProductDisPrc;
-import com.shoppingmall.domain.productDisPrc.ProductDisPrcRepository;
+import com.shoppingmall.dto.CursorPagingDto;
 import com.shoppingmall.dto.PagingDto;
 import com.shoppingmall.dto.ProductRequestDto;
 import com.shoppingmall.dto.ProductResponseDto;
 import com.shoppingmall.exception.NoValidProductSortException;
 import com.shoppingmall.exception.NotExistProductException;
 import com.shoppingmall.exception.ProductListException;
+import com.shoppingmall.repository.ProductQueryRepository;
+import com.shoppingmall.search.ProductSearchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
-import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
-import static com.shoppingmall.common.RedisKeyUtils.BEST10_PRODUCT_LIST_KEY;
 import static com.shoppingmall.common.RedisKeyUtils.NEW8_PRODUCT_LIST_KEY;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -37,19 +38,28 @@ import static java.util.Objects.nonNull;
 @Service
 public class ProductService {
 
+    private static final int PRODUCT_PAGE_SIZE = 9;
+    private static final int ADMIN_PRODUCT_PAGE_SIZE = 10;
+
     private final AWSS3Utils awss3Utils;
     private final ProductRepository productRepository;
-    private final ProductDisPrcRepository productDisPrcRepository;
-    private final ZSetOperations<String, Object> zSetOperations;
+    private final ProductQueryRepository productQueryRepository;
+    private final ProductDiscountIndexService productDiscountIndexService;
+    private final SaleProductSetService saleProductSetService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final ProductSearchService productSearchService;
+    private final CategoryRankingCacheService categoryRankingCacheService;
+    private final RedisSnapshotPublisher redisSnapshotPublisher;
 
     // 전체 상품 혹은 카테고리로 상품 조회
     public HashMap<String, Object> getProductList(String catCd, String sortCd, String saleCd, int page) throws Exception {
         int realPage = (page == 0) ? 0 : page - 1;
-        Pageable pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.DESC, "createdDate"));
+        Pageable pageable = PageRequest.of(realPage, PRODUCT_PAGE_SIZE);
 
-        // 카테고리로 조회
+        // 카테고리로 조회 (최신순)
         if(isNull(sortCd) && isNull(saleCd)) {
-            return getResult(getProductsByCategory(catCd, pageable), pageable);
+            return getResultMap(productQueryRepository
+                    .findProductPage(null, isAllCategory(catCd) ? null : catCd, "new", pageable));
         }
 
         // 할인 상품 조회
@@ -59,7 +69,36 @@ public class ProductService {
 
         // 정렬 기준으로 조회
         if(nonNull(sortCd) && nonNull(catCd) && isNull(saleCd)) {
-            return getResult(getProductsByCatCdAndSortCd(catCd, sortCd, realPage), pageable);
+            String largeCatCd = isAllCategory(catCd) ? null : catCd;
+
+            // 판매순 앞쪽 페이지는 batch-server가 만든 카테고리별 캐시에서 조회
+            if(categoryRankingCacheService.isCachedSort(sortCd)) {
+                Page<ProductResponseDto> cachedPage = categoryRankingCacheService.findProductPage(largeCatCd, sortCd, pageable);
+
+                if(nonNull(cachedPage)) {
+                    return getResultMap(cachedPage);
+                }
+            }
+
+            return getResultMap(productQueryRepository.findProductPage(largeCatCd, null, sortCd, pageable));
+        }
+
+        throw new NoValidProductSortException("유효하지 않은 상품 조회 요청 파라미터 입니다.");
+    }
+
+    /**
+     * 커서 기반 상품 조회, count 쿼리와 offset 스캔 없이 다음/이전 페이지 조회
+     * 빈 커서는 첫 페이지, 할인 상품 조회는 지원하지 않음
+     */
+    public HashMap<String, Object> getProductListByCursor(String catCd, String sortCd, String saleCd, String cursor) {
+        // 카테고리로 조회 (최신순)
+        if(isNull(sortCd) && isNull(saleCd)) {
+            return getCursorResult(null, isAllCategory(catCd) ? null : catCd, "new", cursor);
+        }
+
+        // 정렬 기준으로 조회
+        if(nonNull(sortCd) && nonNull(catCd) && isNull(saleCd)) {
+            return getCursorResult(isAllCategory(catCd) ? null : catCd, null, sortCd, cursor);
         }
 
         throw new NoValidProductSortException("유효하지 않은 상품 조회 요청 파라미터 입니다.");
@@ -67,59 +106,56 @@ public class ProductService {
 
     // 상품 상세
     public ProductResponseDto getProductDetails(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(()
-                -> new NotExistProductException("존재하지 않는 상품입니다."));
-
-        int disPrice = 0;
-        if (product.getProductDisPrcList().size() > 0) {
-            disPrice = getDisPrice(product);
+        // 할인률은 시간에 따라 바뀌므로 캐시에는 할인률 없이 저장하고 할인 인덱스에서 채움
+        // 재고, 구매 수량은 주문마다 바뀌므로 캐시에서 빼고 매번 DB에서 채움
+        ProductResponseDto productResponseDto = productDetailCacheService.get(id, () ->
+                productRepository.findById(id).orElseThrow(()
+                        -> new NotExistProductException("존재하지 않는 상품입니다.")).toResponseDto(0).toBuilder()
+                        .limitCount(null)
+                        .purchaseCount(null)
+                        .totalCount(null)
+                        .build());
+
+        List<Object[]> stock = productRepository.findStockById(id);
+
+        if (stock.isEmpty()) {
+            throw new NotExistProductException("존재하지 않는 상품입니다.");
         }
 
-        return product.toResponseDto(disPrice);
+        return productResponseDto.toBuilder()
+                .disPrice(productDiscountIndexService.getDisPrice(id))
+                .limitCount((Integer) stock.get(0)[0])
+                .purchaseCount((Integer) stock.get(0)[1])
+                .totalCount((Integer) stock.get(0)[2])
+                .build();
     }
 
     /**
-     * 인기 상위 10개의 상품 조회
+     * 최신 상위 8개 상품 캐시 갱신 (상품 일괄 등록 후)
      */
-    public List<ProductResponseDto.MainProductResponseDto> getBestProductList() {
-        // 레디스 캐시(메모리) I/O
-        Set<Object> result = zSetOperations.reverseRange(BEST10_PRODUCT_LIST_KEY, 0, 9);
-
-        if(isNull(result)) {
-            return null;
-        } else {
-            return result.stream().map(el -> (ProductResponseDto.MainProductResponseDto) el).collect(Collectors.toList());
-        }
+    public void refreshNewProductCache() {
+        setNewProductCache(productQueryRepository.findMainProductList("new", 8));
     }
 
     /**
-     * 최신 상위 8개 상품 조회
+     * 최신 상위 8개 상품 캐시 저장, 배치 서버와 같은 형식 (score : 등록 시각)
      */
-    public List<ProductResponseDto.MainProductResponseDto> getNewProductList() {
-        // 레디스 캐시(메모리) I/O
-        Set<Object> result = zSetOperations.reverseRange(NEW8_PRODUCT_LIST_KEY, 0, 7);
-
-        if(isNull(result)) {
-            return null;
-        } else {
-            return result.stream().map(el -> (ProductResponseDto.MainProductResponseDto) el).collect(Collectors.toList());
-        }
+    public void setNewProductCache(List<ProductResponseDto.MainProductResponseDto> products) {
+        redisSnapshotPublisher.publishSortedSet(NEW8_PRODUCT_LIST_KEY, products,
+                ProductResponseDto.MainProductResponseDto::getTimestamp, SnapshotOptions.none());
     }
 
     // 세일 중인 상품 리스트 얻기
     public HashMap<String, Object> getSaleProductList(int realPage) {
-        Pageable pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.DESC, "createdDate"));
+        Pageable pageable = PageRequest.of(realPage, PRODUCT_PAGE_SIZE);
 
-        Page<Map<String, Object>> productPage = productDisPrcRepository.getSaleProductList(pageable);
-
-        List<ProductResponseDto.SaleProductResponseDto> saleProductResponseDtoList = new ArrayList<>();
-
-        for (Map<String, Object> map : productPage) {
-            saleProductResponseDtoList.add(mapToDto(map));
-        }
+        // 할인 상품 집합에서 해당 페이지의 상품 id, 할인률을 읽고 상품 정보는 한 번에 조회
+        LinkedHashMap<Long, Integer> saleProducts = saleProductSetService
+                .getSaleProducts(pageable.getOffset(), pageable.getOffset() + pageable.getPageSize() - 1);
 
         PageImpl<ProductResponseDto.SaleProductResponseDto> saleProductResponseDtoPage
-                = new PageImpl<>(saleProductResponseDtoList, pageable, productPage.getTotalElements());
+                = new PageImpl<>(productQueryRepository.findSaleProductList(saleProducts), pageable,
+                saleProductSetService.getSaleProductCount());
 
         PagingDto saleProductPagingDto = new PagingDto();
         saleProductPagingDto.setPagingInfo(saleProductResponseDtoPage);
@@ -131,6 +167,21 @@ public class ProductService {
         return resultMap;
     }
 
+    /**
+     * 상품명 검색, 카테고리 코드(1차, 2차)가 있으면 해당 카테고리 안에서 검색
+     * 순위는 검색 인덱스에서 정하고 현재 페이지의 상품 정보만 DB에서 조회
+     */
+    public HashMap<String, Object> searchProductList(String keyword, String catCd, int page) {
+        int realPage = (page == 0) ? 0 : page - 1;
+        Pageable pageable = PageRequest.of(realPage, PRODUCT_PAGE_SIZE);
+
+        ProductSearchResult searchResult = productSearchService
+                .search(keyword, isAllCategory(catCd) ? null : catCd, (int) pageable.getOffset(), pageable.getPageSize());
+
+        return getResultMap(new PageImpl<>(productQueryRepository.findProductListByIds(searchResult.getProductIdList()),
+                pageable, searchResult.getTotalCount()));
+    }
+
     // 관련 상품 4가지를 얻되 구매수가 많은 것부터 얻음
 //    public List<ProductResponseDto.MainProductResponseDto> getRelatedProductList(Long id, String smallCatCd) {
 //
@@ -141,46 +192,35 @@ public class ProductService {
 
     public HashMap<String, Object> getAdminProductList(int page) {
         int realPage = page - 1;
-        PageRequest pageable = PageRequest.of(realPage, 10, new Sort(Sort.Direction.DESC, "createdDate"));
-
-        Page<Product> productPage = productRepository.findAll(pageable);
+        PageRequest pageable = PageRequest.of(realPage, ADMIN_PRODUCT_PAGE_SIZE);
 
-        if (productPage.getTotalElements() > 0) {
-            return getAdminProductListMap(productPage, pageable);
-        }
-
-        return null;
+        return getAdminProductListMap(productQueryRepository.findAdminProductPage(null, null, pageable));
     }
 
     // 1차 카테고리 코드와 2차 카테고리 코드로 상품 리스트 조회하기
-    @Transactional
     public HashMap<String, Object> getProductListByCatCd(int page, String firstCatCd, String secondCatCd) {
         int realPage = page - 1;
-        PageRequest pageable = PageRequest.of(realPage, 10, new Sort(Sort.Direction.DESC, "createdDate"));
+        PageRequest pageable = PageRequest.of(realPage, ADMIN_PRODUCT_PAGE_SIZE);
 
-        Page<Product> productPage = null;
+        Page<ProductResponseDto.AdminProductResponseDto> productPage;
 
         if (firstCatCd.equals("ALL") && secondCatCd.equals("ALL")) {
-            productPage = productRepository.findAll(pageable);
+            productPage = productQueryRepository.findAdminProductPage(null, null, pageable);
         } else if (!firstCatCd.equals("ALL") && secondCatCd.equals("ALL")) {
-            productPage = productRepository.findAllByLargeCatCd(firstCatCd, pageable);
+            productPage = productQueryRepository.findAdminProductPage(firstCatCd, null, pageable);
         } else if (!firstCatCd.equals("ALL")) {
-            productPage = productRepository.findByLargeCatCdAndSmallCatCdOrderByCreatedDateDesc(firstCatCd, secondCatCd, pageable);
+            productPage = productQueryRepository.findAdminProductPage(firstCatCd, secondCatCd, pageable);
         } else {
             throw new ProductListException("상품 리스트를 가져올 수 없습니다.");
         }
 
-        if (productPage.getTotalElements() > 0) {
-            return getAdminProductListMap(productPage, pageable);
-        }
-
-        return null;
+        return getAdminProductListMap(productPage);
     }
 
     // 상품 추가
     public String addProduct(ProductRequestDto productRequestDto) {
 
-        productRepository.save(Product.builder()
+        Product product = productRepository.save(Product.builder()
                 .productNm(productRequestDto.getProductNm())
                 .price(productRequestDto.getPrice())
                 .titleImg(productRequestDto.getTitleImg())
@@ -198,6 +238,8 @@ public class ProductService {
                 .rateAvg(0)
                 .build());
 
+        productSearchService.index(product);
+
         return "상품이 추가되었습니다.";
     }
 
@@ -211,14 +253,6 @@ public class ProductService {
         Product product = productOpt.get();
 
         int disPrice = 0;
-        List<LocalDateTime> disDateList = new ArrayList<>();
-
-        // 할인중인 상품이라면 if문 수행
-        if (product.getProductDisPrcList().size() > 0) {
-            disPrice = getDisPrice(product);
-            disDateList = getDisDateList(product);  // 할인 시작날짜, 종료날짜가 들어있는 리스트
-        }
-
         LocalDateTime disStartDate = null;
         LocalDateTime disEndDate = null;
         String startMonthStr = "";
@@ -226,9 +260,13 @@ public class ProductService {
         String endMonthStr = "";
         String endDayStr = "";
 
-        if (disDateList.size() > 0) {
-            disStartDate = disDateList.get(0);
-            disEndDate = disDateList.get(1);
+        // 할인중인 상품이라면 if문 수행
+        ProductDiscount appliedDiscount = productDiscountIndexService.getAppliedDiscount(product.getId());
+
+        if (nonNull(appliedDiscount)) {
+            disPrice = appliedDiscount.getDisPrc();
+            disStartDate = appliedDiscount.getStartDt();
+            disEndDate = appliedDiscount.getEndDt();
 
             startMonthStr = disStartDate.getMonthValue() < 10 ? "0" + disStartDate.getMonthValue() : "" + disStartDate.getMonthValue();
             startDayStr = disStartDate.getDayOfMonth() < 10 ? "0" + disStartDate.getDayOfMonth() : "" + disStartDate.getDayOfMonth();
@@ -263,83 +301,80 @@ public class ProductService {
         product.setPrice(updateRequestDto.getPrice());
         product.setLargeCatCd(updateRequestDto.getLargeCatCd());
         product.setSmallCatCd(updateRequestDto.getSmallCatCd());
+        int totalCountDelta = updateRequestDto.getTotalCount() - product.getTotalCount();
         product.setTotalCount(updateRequestDto.getTotalCount());
 
         productRepository.save(product);
 
+        // 남은 재고는 엔티티 저장으로 바뀌지 않으므로 전체 재고 변경분만큼 따로 반영 (레디스 재고는 배치가 보정)
+        if (totalCountDelta != 0) {
+            productRepository.addLimitCount(id, totalCountDelta);
+        }
+
+        // 상품 상세 캐시 무효화, 검색 인덱스 갱신
+        productDetailCacheService.evict(id);
+        productSearchService.index(product);
+
         return "상품 정보 수정이 완료되었습니다.";
     }
 
-    private HashMap<String, Object> getResult(Page<Product> products, Pageable pageable) {
-        List<ProductResponseDto> productResponseDtoList = getProductResponseDtoList(products);
+    private HashMap<String, Object> getCursorResult(String largeCatCd, String smallCatCd, String sortCd, String cursorStr) {
+        ProductCursor cursor = ProductCursor.decode(cursorStr, sortCd);
+        boolean isPrev = nonNull(cursor) && cursor.isPrev();
 
-        PageImpl<ProductResponseDto> productResponseDtoPage = new PageImpl<>(productResponseDtoList, pageable, products.getTotalElements());
+        // 다음(이전) 페이지 존재 여부를 알기 위해 한 건 더 조회
+        List<ProductResponseDto> products = new ArrayList<>(productQueryRepository
+                .findProductsByCursor(largeCatCd, smallCatCd, sortCd, cursor, PRODUCT_PAGE_SIZE + 1));
 
-        return getResultMap(productResponseDtoPage);
-    }
+        boolean hasMore = products.size() > PRODUCT_PAGE_SIZE;
+        if (hasMore) {
+            products.remove(PRODUCT_PAGE_SIZE);
+        }
+        if (isPrev) {
+            Collections.reverse(products);
+        }
 
-    private List<ProductResponseDto> getProductResponseDtoList(Page<Product> products) {
-        List<ProductResponseDto> productResponseDtoList = new ArrayList<>();
+        boolean hasPrev = isPrev ? hasMore : nonNull(cursor);
+        boolean hasNext = isPrev || hasMore;
 
-        for (Product product : products) {
-            int disPrice = 0;
-            if (product.getProductDisPrcList().size() > 0) {
-                disPrice = getDisPrice(product);
-            }
-            productResponseDtoList.add(product.toResponseDto(disPrice));
-        }
+        CursorPagingDto productCursorDto = CursorPagingDto.builder()
+                .prevCursor(hasPrev && !products.isEmpty() ? getCursor(sortCd, ProductCursor.PREV, products.get(0)) : null)
+                .nextCursor(hasNext && !products.isEmpty() ? getCursor(sortCd, ProductCursor.NEXT, products.get(products.size() - 1)) : null)
+                .build();
 
-        return productResponseDtoList;
-    }
+        HashMap<String, Object> resultMap = new HashMap<>();
+        resultMap.put("productList", products);
+        resultMap.put("productCursorDto", productCursorDto);
 
-    private Page<Product> getProductsByCategory(String catCd, Pageable pageable) {
-        // 전체 상품 조회
-        if(isNull(catCd) || catCd.equals("ALL")) {
-            return productRepository.findAll(pageable);
-        }
-        // 카테고리로 상품 조회
-        return productRepository.findBySmallCatCd(catCd, pageable);
+        return resultMap;
     }
 
-    private Page<Product> getProductsByCatCdAndSortCd(String catCd, String sortCd, int page) {
-        Pageable pageable = getPageable(page, sortCd);
+    private String getCursor(String sortCd, String direction, ProductResponseDto product) {
+        return new ProductCursor(sortCd, direction, productQueryRepository.getSortValue(sortCd, product),
+                product.getCreatedDate(), product.getId()).encode();
+    }
 
-        // 정렬기준으로 전체상품 조회
-        if(isNull(catCd) || catCd.equals("ALL")) {
-            return productRepository.findAll(pageable);
-        }
-        // 카테고리, 정렬기준으로 상품 조회
-        return productRepository.findAllByLargeCatCd(catCd, pageable);
+    private boolean isAllCategory(String catCd) {
+        return isNull(catCd) || catCd.equals("ALL");
     }
 
     private List<ProductResponseDto.MainProductResponseDto> getMainProductResponseDto(List<Product> products) {
         List<ProductResponseDto.MainProductResponseDto> productResponseDtoList = new ArrayList<>();
 
         for (Product product : products) {
-            int disPrice = 0;
-            if (product.getProductDisPrcList().size() > 0) {
-                disPrice = getDisPrice(product);
-            }
-            productResponseDtoList.add(product.toMainProductResponseDto(disPrice));
+            productResponseDtoList.add(product.toMainProductResponseDto(productDiscountIndexService.getDisPrice(product.getId())));
         }
 
         return productResponseDtoList;
     }
 
-    // adminProductListDto 조회 공통
-    private HashMap<String, Object> getAdminProductListMap(Page<Product> productPage, PageRequest pageable) {
-        List<ProductResponseDto.AdminProductResponseDto> productResponseDtoList = new ArrayList<>();
-
-        for (Product product : productPage) {
-            int disPrice = 0;
-            if (product.getProductDisPrcList().size() > 0) {
-                disPrice = getDisPrice(product);
-            }
-            productResponseDtoList.add(product.toAdminProductResponseDto(disPrice));
+    // adminProductListDto 조회 공통, 조회 결과가 없으면 null
+    private HashMap<String, Object> getAdminProductListMap(Page<ProductResponseDto.AdminProductResponseDto> productPage) {
+        if (productPage.getTotalElements() == 0) {
+            return null;
         }
 
-        PageImpl<ProductResponseDto.AdminProductResponseDto> adminProductResponseDtoPage
-                = new PageImpl<>(productResponseDtoList, pageable, productPage.getTotalElements());
+        PageImpl<ProductResponseDto.AdminProductResponseDto> adminProductResponseDtoPage = toPageImpl(productPage);
 
         PagingDto adminProductPagingDto = new PagingDto();
         adminProductPagingDto.setPagingInfo(adminProductResponseDtoPage);
@@ -351,75 +386,13 @@ public class ProductService {
         return resultMap;
     }
 
-    private Pageable getPageable(int realPage, String sortCd) {
-        Pageable pageable;
-
-        switch (sortCd) {
-            case "new":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.DESC, "createdDate"));
-                break;
-            case "past":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.ASC, "createdDate"));
-                break;
-            case "highPrice":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.DESC, "price", "createdDate"));
-                break;
-            case "lowPrice":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.ASC, "price", "createdDate"));
-                break;
-            case "highSell":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.DESC, "purchaseCount", "createdDate"));
-                break;
-            case "lowSell":
-                pageable = PageRequest.of(realPage, 9, new Sort(Sort.Direction.ASC, "purchaseCount", "createdDate"));
-                break;
-            default:
-                throw new NoValidProductSortException("유효하지 않은 상품 정렬입니다.");
-        }
-        return pageable;
-    }
-
-    private int getDisPrice(Product product) {
-        // 스트림 API를 사용하여 현재 날짜가 할인이 적용되는 날짜 사이에 있는 데이터 중 가장 할인률이 높은 데이터 하나만을 꺼내서 리스트로 저장
-        // 현재 할인이 적용된 리스트 하나를 조회
-        List<ProductDisPrc> disprcList
-                = product.getProductDisPrcList().stream()
-                .filter(productDisPrc -> {
-                    LocalDateTime now = LocalDateTime.now();
-
-                    return now.isAfter(productDisPrc.getStartDt())
-                            && now.isBefore(productDisPrc.getEndDt());
-                })
-                .sorted().limit(1).collect(Collectors.toList());
-
-        // 현재 할인이 적용된 리스트가 없을 수도 있으므로 if문 처리
-        if (disprcList.size() > 0) {
-            return disprcList.get(0).getDisPrc();
-        }
-
-        return 0;
-    }
-
-    private List<LocalDateTime> getDisDateList(Product product) {
-        List<ProductDisPrc> disList
-                = product.getProductDisPrcList().stream()
-                .filter(productDisPrc -> LocalDateTime.now().isAfter(productDisPrc.getStartDt())
-                        && LocalDateTime.now().isBefore(productDisPrc.getEndDt()))
-                .sorted().limit(1).collect(Collectors.toList());
-
-        List<LocalDateTime> disDateList = new ArrayList<>();
-
-        if (disList.size() > 0) {
-            ProductDisPrc productDisPrc = disList.get(0);
-
-            disDateList.add(productDisPrc.getStartDt());
-            disDateList.add(productDisPrc.getEndDt());
-        }
-
-        return disDateList;
+    // PagingDto는 PageImpl만 받으므로 변환
+    private <T> PageImpl<T> toPageImpl(Page<T> page) {
+        return new PageImpl<>(page.getContent(), page.getPageable(), page.getTotalElements());
     }
 
-    private HashMap<String, Object> getResultMap(PageImpl<ProductResponseDto> products) {
+    private HashMap<String, Object> getResultMap(Page<ProductResponseDto> productPage) {
+        PageImpl<ProductResponseDto> products = toPageImpl(productPage);
 
         PagingDto questionPagingDto = new PagingDto();
         questionPagingDto.setPagingInfo(products);
@@ -432,22 +405,6 @@ public class ProductService {
         return resultMap;
     }
 
-    private ProductResponseDto.SaleProductResponseDto mapToDto(Map<String, Object> map) {
-
-        Product saleProduct = (Product) map.get("product");
-        Integer disPrice = (Integer) map.get("disPrc");
-
-        return ProductResponseDto.SaleProductResponseDto.builder()
-                .productId(saleProduct.getId())
-                .productNm(saleProduct.getProductNm())
-                .price(saleProduct.getPrice())
-                .titleImg(saleProduct.getTitleImg())
-                .rateAvg(saleProduct.getRateAvg())
-                .disPrice(disPrice)
-                .salePrice((int)((((float) 100 - (float) disPrice) / (float)100) * saleProduct.getPrice()))
-                .build();
-    }
-
     public String uploadProductImage(MultipartFile file, String dirName) throws IOException {
         // S3와 연결할 client 얻기
         AmazonS3 s3Client = awss3Utils.getS3Client();
@@ -39,6 +39,7 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
+    private final ProductDetailCacheService productDetailCacheService;
 
     public String initReview(Long productId) {
 
@@ -84,6 +85,9 @@ public class ReviewService {
 
         // 상품 평점 업데이트
         productRepository.save(product);
+
+        // 상품 상세 캐시 무효화
+        productDetailCacheService.evict(product.getId());
     }
 
     // 리뷰 리스트 조회
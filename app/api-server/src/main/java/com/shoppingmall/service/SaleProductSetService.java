@@ -0,0 +1,257 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisValues;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+import static com.shoppingmall.common.RedisKeyUtils.SALE_PRODUCT_LIST_KEY;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 현재 할인중인 상품 집합 관리 (레디스 sorted set, member : 상품 id, score : 적용중인 최대 할인률)
+ *
+ * 할인 인덱스에서 다음 할인 시작/종료 시각을 찾아 그 시각에 집합을 다시 계산하도록 예약하고,
+ * 관리자가 할인을 추가, 삭제하면 해당 상품만 바로 반영함.
+ * 집합은 모든 서버 인스턴스가 공유하므로 다시 계산(rebuild)과 상품 반영(refresh)은 레디스 락을 얻은 뒤 실행함.
+ * 다른 서버의 할인 변경분은 할인 인덱스의 주기적 재적재(같은 주기)로 반영됨.
+ * 상품 목록 조회는 레플리카 우선으로 읽음.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SaleProductSetService {
+
+    private static final long RELOAD_INTERVAL = 5 * 60 * 1000L;
+    // 시작/종료 시각은 할인 적용 구간에 포함되지 않으므로 경계 직후에 실행
+    private static final long BOUNDARY_DELAY_MILLIS = 1L;
+    // 클러스터에서 집합 키와 같은 슬롯에 위치하도록 해시 태그 사용
+    private static final String LOCK_KEY = "{" + SALE_PRODUCT_LIST_KEY + "}:lock";
+    // 락을 가진 서버가 DB 적재, 집합 갱신을 끝내야 하는 시간 (서버가 죽어도 이후에는 다른 서버가 락을 얻음)
+    private static final long LOCK_EXPIRE_MILLIS = 30_000L;
+    private static final long LOCK_WAIT_MILLIS = 3_000L;
+    private static final long LOCK_RETRY_INTERVAL_MILLIS = 50L;
+
+    // KEYS : 락 키 / ARGV : 토큰, 자신이 건 락만 해제
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final ProductDiscountIndexService productDiscountIndexService;
+    private final ZSetOperations<String, Object> zSetOperations;
+    private final RedisCodecRegistry redisCodecRegistry;
+    private final TaskScheduler taskScheduler;
+
+    private ScheduledFuture<?> nextBoundaryTask;
+
+    // 레디스 장애로 서버가 뜨지 못하지 않도록 실패는 기록만 하고 다음 주기에 다시 계산
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("[SaleProductSetService.init] 할인 상품 집합 갱신 실패 : {}", e.toString());
+            scheduleNextBoundary();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (nonNull(nextBoundaryTask)) {
+            nextBoundaryTask.cancel(false);
+        }
+    }
+
+    /**
+     * 할인 인덱스 재적재 주기에 맞춰 다른 서버 인스턴스의 할인 변경분까지 반영
+     */
+    @Scheduled(initialDelay = RELOAD_INTERVAL, fixedDelay = RELOAD_INTERVAL)
+    public void rebuild() {
+        String token = UUID.randomUUID().toString();
+
+        if (!tryLock(token)) {
+            // 다른 서버가 계속 락을 가지고 있으면 그 서버의 갱신 결과를 사용, 다음 경계 시각은 그대로 예약
+            log.warn("[SaleProductSetService.rebuild] 락을 얻지 못해 할인 상품 집합 갱신 생략");
+            scheduleNextBoundary();
+            return;
+        }
+
+        try {
+            rebuildSet();
+        } finally {
+            unlock(token);
+        }
+
+        scheduleNextBoundary();
+    }
+
+    private void rebuildSet() {
+        Map<Long, Integer> disPrices = productDiscountIndexService.getDisPrices(LocalDateTime.now());
+
+        Set<Object> members = zSetOperations.range(SALE_PRODUCT_LIST_KEY, 0, -1);
+
+        // 집합을 지우고 다시 만들면 그 사이에 빈 목록이 조회되므로, 빠진 상품만 제거하고 나머지는 덮어씀
+        if (nonNull(members)) {
+            Object[] endedProductIds = members.stream()
+                    .filter(member -> !disPrices.containsKey(RedisValues.toLong(member)))
+                    .toArray();
+
+            if (endedProductIds.length > 0) {
+                zSetOperations.remove(SALE_PRODUCT_LIST_KEY, endedProductIds);
+            }
+        }
+
+        if (!disPrices.isEmpty()) {
+            Set<ZSetOperations.TypedTuple<Object>> tuples = disPrices.entrySet().stream()
+                    .map(entry -> new DefaultTypedTuple<Object>(entry.getKey(), entry.getValue().doubleValue()))
+                    .collect(Collectors.toSet());
+
+            zSetOperations.add(SALE_PRODUCT_LIST_KEY, tuples);
+        }
+
+        log.info("[SaleProductSetService.rebuild] 할인 상품 집합 갱신 완료, 할인 상품 수 : {}", disPrices.size());
+    }
+
+    /**
+     * 할인 추가, 삭제 후 해당 상품만 반영 (할인 인덱스가 먼저 갱신되어 있어야 함)
+     * 트랜잭션 안에서 호출되면 커밋 이후에 처리 (할인 인덱스 갱신 다음 순서)
+     */
+    public void refresh(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refreshNow(productId);
+                }
+            });
+            return;
+        }
+
+        refreshNow(productId);
+    }
+
+    private void refreshNow(Long productId) {
+        String token = UUID.randomUUID().toString();
+        // 관리자 변경은 반드시 반영해야 하므로 락을 얻지 못해도 반영 (다음 갱신 때 DB 기준으로 다시 맞춰짐)
+        boolean locked = tryLock(token);
+
+        try {
+            int disPrice = productDiscountIndexService.getDisPrice(productId);
+
+            if (disPrice > 0) {
+                zSetOperations.add(SALE_PRODUCT_LIST_KEY, productId, disPrice);
+            } else {
+                zSetOperations.remove(SALE_PRODUCT_LIST_KEY, productId);
+            }
+        } finally {
+            if (locked) {
+                unlock(token);
+            }
+        }
+
+        // 새로 추가된 할인의 시작/종료 시각이 예약된 시각보다 빠를 수 있음
+        scheduleNextBoundary();
+    }
+
+    /**
+     * 할인률 높은 순으로 start ~ end 순위의 상품 id와 할인률 조회
+     */
+    public LinkedHashMap<Long, Integer> getSaleProducts(long start, long end) {
+        LinkedHashMap<Long, Integer> saleProducts = new LinkedHashMap<>();
+
+        Set<ZSetOperations.TypedTuple<Object>> tuples = getReadOperations().reverseRangeWithScores(SALE_PRODUCT_LIST_KEY, start, end);
+
+        if (nonNull(tuples)) {
+            for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+                saleProducts.put(RedisValues.toLong(tuple.getValue()), tuple.getScore().intValue());
+            }
+        }
+
+        return saleProducts;
+    }
+
+    public long getSaleProductCount() {
+        Long count = getReadOperations().zCard(SALE_PRODUCT_LIST_KEY);
+
+        return isNull(count) ? 0 : count;
+    }
+
+    private ZSetOperations<String, Object> getReadOperations() {
+        return redisCodecRegistry.getReadZSetOperations(SALE_PRODUCT_LIST_KEY);
+    }
+
+    private synchronized void scheduleNextBoundary() {
+        LocalDateTime nextBoundary = productDiscountIndexService.findNextBoundary(LocalDateTime.now());
+
+        if (nonNull(nextBoundaryTask)) {
+            nextBoundaryTask.cancel(false);
+            nextBoundaryTask = null;
+        }
+
+        if (isNull(nextBoundary)) {
+            return;
+        }
+
+        Date startTime = new Date(nextBoundary.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + BOUNDARY_DELAY_MILLIS);
+        nextBoundaryTask = taskScheduler.schedule(this::rebuild, startTime);
+
+        log.info("[SaleProductSetService.scheduleNextBoundary] 다음 할인 집합 갱신 예약 : {}", nextBoundary);
+    }
+
+    // 다른 서버가 갱신 중이면 LOCK_WAIT_MILLIS 동안 기다림
+    private boolean tryLock(String token) {
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+
+        while (true) {
+            Boolean locked = zSetOperations.getOperations().execute((RedisCallback<Boolean>) connection -> connection.set(
+                    RedisSerializer.string().serialize(LOCK_KEY), RedisSerializer.string().serialize(token),
+                    Expiration.milliseconds(LOCK_EXPIRE_MILLIS), RedisStringCommands.SetOption.ifAbsent()));
+
+            if (Boolean.TRUE.equals(locked)) {
+                return true;
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+
+            try {
+                Thread.sleep(LOCK_RETRY_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private void unlock(String token) {
+        zSetOperations.getOperations().execute(UNLOCK_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER,
+                Collections.singletonList(LOCK_KEY), token);
+    }
+}
@@ -0,0 +1,158 @@
+package com.shoppingmall.batch;
+
+import com.shoppingmall.batch.jobs.partition.CartIdRangePartitioner;
+import com.shoppingmall.batch.jobs.partition.InvalidityCartTasklet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 장바구니 비활성화 배치 벤치마크 (H2 메모리 DB, 기본 1,000만 건)
+ *
+ * - 기존 방식 : 만료된 장바구니를 10건씩 조회하고 한 건씩 update (JpaPagingItemReader + JpaItemWriter의 쿼리 패턴,
+ *   엔티티 생성 비용은 제외), 전체를 처리하면 너무 오래 걸리므로 LEGACY_SECONDS 동안만 실행해 처리량 측정
+ * - 파티션 방식 : CartIdRangePartitioner, InvalidityCartTasklet을 스레드 수별로 실행해 전체 처리 시간, 처리량 측정
+ * 실행 : ./gradlew :app:api-server:cartInvalidationBenchmark -Prows=10000000
+ */
+public class CartInvalidationBenchmark {
+
+    private static final int LEGACY_SECONDS = 10;
+    private static final int LEGACY_PAGE_SIZE = 10;
+    private static final int ID_RANGE_SIZE = 10000;
+    private static final int EXPIRE_DAYS = 7;
+    private static final int[] THREAD_COUNTS = {1, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        long rows = Long.getLong("rows", 10_000_000L);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:cart;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        createCartTable(jdbcTemplate, rows);
+
+        LocalDateTime expireDate = LocalDateTime.now().minusDays(EXPIRE_DAYS);
+        long expiredCount = countExpired(jdbcTemplate, expireDate);
+
+        System.out.printf("%n[cart rows] total : %d, expired : %d%n", rows, expiredCount);
+
+        runLegacy(jdbcTemplate, expireDate);
+
+        for (int threadCount : THREAD_COUNTS) {
+            resetCarts(jdbcTemplate);
+            runPartitioned(jdbcTemplate, expireDate, threadCount);
+
+            // 만료된 장바구니가 모두 비활성화되었는지 확인
+            if (countExpired(jdbcTemplate, expireDate) != 0) {
+                throw new IllegalStateException("비활성화되지 않은 장바구니가 남아 있습니다.");
+            }
+        }
+    }
+
+    // 생성일을 0 ~ 13일 전으로 나눠 절반 가까이 만료되도록 생성
+    private static void createCartTable(JdbcTemplate jdbcTemplate, long rows) {
+        long start = System.currentTimeMillis();
+
+        jdbcTemplate.execute("create table cart (id bigint primary key, product_count int, use_yn char(1), " +
+                "created_date timestamp, modified_date timestamp, user_id binary(16), product_id bigint, product_order_id bigint)");
+        jdbcTemplate.update("insert into cart (id, product_count, use_yn, created_date, product_id) " +
+                "select x, 1, 'Y', dateadd('DAY', -mod(x, 14), current_timestamp), mod(x, 1000) + 1 " +
+                "from system_range(1, ?)", rows);
+
+        System.out.printf("[setup] %d rows inserted in %d ms%n", rows, System.currentTimeMillis() - start);
+    }
+
+    private static void resetCarts(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("update cart set use_yn = 'Y' where use_yn = 'N'");
+    }
+
+    private static long countExpired(JdbcTemplate jdbcTemplate, LocalDateTime expireDate) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from cart where created_date < ? and use_yn = 'Y'",
+                Long.class, Timestamp.valueOf(expireDate));
+
+        return count == null ? 0 : count;
+    }
+
+    private static void runLegacy(JdbcTemplate jdbcTemplate, LocalDateTime expireDate) {
+        Timestamp expireTimestamp = Timestamp.valueOf(expireDate);
+        long deadline = System.currentTimeMillis() + LEGACY_SECONDS * 1000L;
+        long start = System.currentTimeMillis();
+        long updated = 0;
+        long statements = 0;
+
+        while (System.currentTimeMillis() < deadline) {
+            // getPage()를 0으로 고정한 페이징 조회 (비활성화된 행은 다음 조회에서 빠짐)
+            List<Long> ids = jdbcTemplate.queryForList("select id from cart where created_date < ? and use_yn = 'Y' " +
+                    "limit ? offset 0", Long.class, expireTimestamp, LEGACY_PAGE_SIZE);
+            statements++;
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            for (Long id : ids) {
+                updated += jdbcTemplate.update("update cart set use_yn = 'N' where id = ?", id);
+                statements++;
+            }
+        }
+
+        long elapsedMillis = Math.max(System.currentTimeMillis() - start, 1);
+
+        System.out.printf("[legacy   ] threads : 1, rows : %d, statements : %d, %d ms, %d rows/s%n",
+                updated, statements, elapsedMillis, updated * 1000 / elapsedMillis);
+    }
+
+    private static void runPartitioned(JdbcTemplate jdbcTemplate, LocalDateTime expireDate, int threadCount) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        long start = System.currentTimeMillis();
+
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+
+            for (ExecutionContext partition : new CartIdRangePartitioner(jdbcTemplate).partition(threadCount).values()) {
+                InvalidityCartTasklet tasklet = new InvalidityCartTasklet(jdbcTemplate,
+                        partition.getLong(CartIdRangePartitioner.MIN_ID_KEY), partition.getLong(CartIdRangePartitioner.MAX_ID_KEY),
+                        expireDate, ID_RANGE_SIZE, meterRegistry);
+
+                futures.add(executorService.submit(() -> {
+                    StepContribution contribution = new StepContribution(new StepExecution("invalidityCartStep", new JobExecution(1L)));
+
+                    while (tasklet.execute(contribution, null) == RepeatStatus.CONTINUABLE) {
+                        // 구간 단위로 반복
+                    }
+
+                    return (long) contribution.getWriteCount();
+                }));
+            }
+
+            long updated = 0;
+
+            for (Future<Long> future : futures) {
+                updated += future.get();
+            }
+
+            long elapsedMillis = Math.max(System.currentTimeMillis() - start, 1);
+            double metricRows = meterRegistry.counter(InvalidityCartTasklet.INVALIDATED_ROWS_METRIC).count();
+
+            System.out.printf("[partition] threads : %d, rows : %d (metric %.0f), %d ms, %d rows/s%n",
+                    threadCount, updated, metricRows, elapsedMillis, updated * 1000 / elapsedMillis);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -1,51 +1,142 @@
 package com.quartzscheduler.config;
 
-import com.quartzscheduler.scheduler.BestAndNewProductCachingJob;
+import com.quartzscheduler.listener.JobRunHistoryListener;
+import com.quartzscheduler.scheduler.CategoryRankingCachingJob;
+import com.quartzscheduler.scheduler.InventoryReconcileJob;
+import com.quartzscheduler.scheduler.InventoryReservationSweepJob;
+import com.quartzscheduler.scheduler.NewProductCachingJob;
+import com.quartzscheduler.scheduler.ProductRankingReconcileJob;
 import lombok.RequiredArgsConstructor;
+import org.quartz.CronTrigger;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.quartz.CronTriggerFactoryBean;
 import org.springframework.scheduling.quartz.JobDetailFactoryBean;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
+import javax.sql.DataSource;
 import java.util.Objects;
 
 @EntityScan({"com.shoppingmall.domain"})
 @ComponentScan(basePackages = {"com.shoppingmall.config.redis"})
-@EnableJpaRepositories(basePackages = {"com.shoppingmall.domain.product"})
+@EnableJpaRepositories(basePackages = {"com.shoppingmall.domain.product", "com.shoppingmall.domain.productDisPrc",
+        "com.shoppingmall.domain.productCat"})
 @RequiredArgsConstructor
 @Configuration
 public class QuartzConfig {
 
-    //private final DataSource dataSource;
+    private final DataSource dataSource;
+    private final JobRunHistoryListener jobRunHistoryListener;
 
     // Job
     @Bean
-    public JobDetailFactoryBean jobDetailFactoryBean() {
+    public JobDetailFactoryBean newProductCachingJobDetail() {
         JobDetailFactoryBean factory = new JobDetailFactoryBean();
-        factory.setJobClass(BestAndNewProductCachingJob.class);
+        factory.setJobClass(NewProductCachingJob.class);
+
+        return factory;
+    }
+
+    @Bean
+    public JobDetailFactoryBean productRankingReconcileJobDetail() {
+        JobDetailFactoryBean factory = new JobDetailFactoryBean();
+        factory.setJobClass(ProductRankingReconcileJob.class);
+
+        return factory;
+    }
+
+    @Bean
+    public JobDetailFactoryBean categoryRankingCachingJobDetail() {
+        JobDetailFactoryBean factory = new JobDetailFactoryBean();
+        factory.setJobClass(CategoryRankingCachingJob.class);
+
+        return factory;
+    }
+
+    @Bean
+    public JobDetailFactoryBean inventoryReservationSweepJobDetail() {
+        JobDetailFactoryBean factory = new JobDetailFactoryBean();
+        factory.setJobClass(InventoryReservationSweepJob.class);
+
+        return factory;
+    }
+
+    @Bean
+    public JobDetailFactoryBean inventoryReconcileJobDetail() {
+        JobDetailFactoryBean factory = new JobDetailFactoryBean();
+        factory.setJobClass(InventoryReconcileJob.class);
 
         return factory;
     }
 
     // cron trigger
     @Bean
-    public CronTriggerFactoryBean cronTriggerFactoryBean(JobDetailFactoryBean jobDetailFactoryBean) {
+    public CronTriggerFactoryBean newProductCachingTrigger(JobDetailFactoryBean newProductCachingJobDetail) {
         CronTriggerFactoryBean factory = new CronTriggerFactoryBean();
-        factory.setJobDetail(Objects.requireNonNull(jobDetailFactoryBean.getObject()));
+        factory.setJobDetail(Objects.requireNonNull(newProductCachingJobDetail.getObject()));
         factory.setCronExpression("0 0/1 * * * ?");        // 1분 마다 한번씩 실행
+        factory.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING);     // 놓친 실행은 건너뛰고 다음 주기에 갱신
+        return factory;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean productRankingReconcileTrigger(JobDetailFactoryBean productRankingReconcileJobDetail) {
+        CronTriggerFactoryBean factory = new CronTriggerFactoryBean();
+        factory.setJobDetail(Objects.requireNonNull(productRankingReconcileJobDetail.getObject()));
+        factory.setCronExpression("0 5/10 * * * ?");       // 구매 카운트 배치(10분) 이후 5분 간격을 두고 실행
+        factory.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW);  // 놓친 실행은 한 번만 바로 실행
+        return factory;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean categoryRankingCachingTrigger(JobDetailFactoryBean categoryRankingCachingJobDetail) {
+        CronTriggerFactoryBean factory = new CronTriggerFactoryBean();
+        factory.setJobDetail(Objects.requireNonNull(categoryRankingCachingJobDetail.getObject()));
+        factory.setCronExpression("0 2/10 * * * ?");       // 구매 카운트 배치(10분) 직후 실행
+        factory.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW);  // 놓친 실행은 한 번만 바로 실행
+        return factory;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean inventoryReservationSweepTrigger(JobDetailFactoryBean inventoryReservationSweepJobDetail) {
+        CronTriggerFactoryBean factory = new CronTriggerFactoryBean();
+        factory.setJobDetail(Objects.requireNonNull(inventoryReservationSweepJobDetail.getObject()));
+        factory.setCronExpression("30 0/1 * * * ?");       // 1분 마다 한번씩 실행
+        factory.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW);  // 놓친 실행은 한 번만 바로 실행
+        return factory;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean inventoryReconcileTrigger(JobDetailFactoryBean inventoryReconcileJobDetail) {
+        CronTriggerFactoryBean factory = new CronTriggerFactoryBean();
+        factory.setJobDetail(Objects.requireNonNull(inventoryReconcileJobDetail.getObject()));
+        factory.setCronExpression("0 7/10 * * * ?");       // 10분 마다 실행, 다른 10분 주기 배치와 시간을 나눔
+        factory.setMisfireInstruction(CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING);     // 놓친 실행은 건너뛰고 다음 주기에 보정
         return factory;
     }
 
-    // scheduler
+    // scheduler, 클러스터 JDBC JobStore (quartz.properties)
+    // 여러 인스턴스를 띄워도 트리거는 한 인스턴스에서만 실행되고, 인스턴스가 죽으면 다른 인스턴스가 이어받음
     @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(CronTriggerFactoryBean cronTriggerFactoryBean) {
+    public SchedulerFactoryBean schedulerFactoryBean(CronTriggerFactoryBean newProductCachingTrigger,
+                                                     CronTriggerFactoryBean productRankingReconcileTrigger,
+                                                     CronTriggerFactoryBean categoryRankingCachingTrigger,
+                                                     CronTriggerFactoryBean inventoryReservationSweepTrigger,
+                                                     CronTriggerFactoryBean inventoryReconcileTrigger) {
         SchedulerFactoryBean factory = new SchedulerFactoryBean();
-        factory.setTriggers(cronTriggerFactoryBean.getObject());
-        //factory.setDataSource(dataSource);
+        factory.setTriggers(newProductCachingTrigger.getObject(), productRankingReconcileTrigger.getObject(),
+                categoryRankingCachingTrigger.getObject(), inventoryReservationSweepTrigger.getObject(),
+                inventoryReconcileTrigger.getObject());
+        factory.setConfigLocation(new ClassPathResource("quartz.properties"));
+        factory.setDataSource(dataSource);
+        // 배포 시 코드의 cron 변경이 DB에 저장된 트리거에 반영되도록 덮어씀
+        factory.setOverwriteExistingJobs(true);
+        factory.setGlobalJobListeners(jobRunHistoryListener);
+        factory.setWaitForJobsToCompleteOnShutdown(true);
         factory.setApplicationContextSchedulerContextKey("applicationContext");
 
         return factory;
@@ -0,0 +1,22 @@
+package com.quartzscheduler.config;
+
+import com.shoppingmall.config.redis.RedisCodecConfigurer;
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.dto.ProductResponseDto;
+import org.springframework.context.annotation.Configuration;
+
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_KEY_PREFIX;
+import static com.shoppingmall.common.RedisKeyUtils.NEW8_PRODUCT_LIST_KEY;
+
+/**
+ * api-server와 같은 키는 같은 타입으로 등록해야 함 (api-server RedisCodecConfig 참고)
+ */
+@Configuration
+public class RedisCodecConfig implements RedisCodecConfigurer {
+
+    @Override
+    public void configure(RedisCodecRegistry registry) {
+        registry.register(NEW8_PRODUCT_LIST_KEY, ProductResponseDto.MainProductResponseDto.class);
+        registry.register(CATEGORY_RANKING_KEY_PREFIX, ProductResponseDto.class);
+    }
+}
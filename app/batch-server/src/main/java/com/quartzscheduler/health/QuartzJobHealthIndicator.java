@@ -0,0 +1,77 @@
+package com.quartzscheduler.health;
+
+import com.quartzscheduler.listener.JobRunHistoryListener;
+import lombok.RequiredArgsConstructor;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * /actuator/health 의 quartzJob 항목
+ *
+ * 인스턴스 id, 잡별 마지막 성공/실패 시각과 다음 실행 시각을 보여주고,
+ * 마지막 성공 후 실행 주기의 3배가 지난 잡이 있으면 DOWN (어느 인스턴스도 잡을 실행하지 못하고 있음).
+ */
+@RequiredArgsConstructor
+@Component
+public class QuartzJobHealthIndicator extends AbstractHealthIndicator {
+
+    private final static int STALE_INTERVAL_COUNT = 3;
+
+    private final Scheduler scheduler;
+    private final JobRunHistoryListener jobRunHistoryListener;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        long now = System.currentTimeMillis();
+        boolean stale = false;
+        Map<String, Object> jobs = new HashMap<>();
+
+        for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
+            Long lastSuccessTime = jobRunHistoryListener.getLastSuccessTime(jobKey.getName());
+            Map<String, Object> job = new HashMap<>();
+            job.put("lastSuccessTime", toDate(lastSuccessTime));
+            job.put("lastFailureTime", toDate(jobRunHistoryListener.getLastFailureTime(jobKey.getName())));
+
+            for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+                Date nextFireTime = trigger.getNextFireTime();
+                job.put("nextFireTime", nextFireTime);
+
+                if (nonNull(nextFireTime) && nonNull(lastSuccessTime)) {
+                    Date afterNextFireTime = trigger.getFireTimeAfter(nextFireTime);
+
+                    if (nonNull(afterNextFireTime)) {
+                        long interval = afterNextFireTime.getTime() - nextFireTime.getTime();
+                        stale |= now - lastSuccessTime > interval * STALE_INTERVAL_COUNT;
+                    }
+                }
+            }
+
+            jobs.put(jobKey.getName(), job);
+        }
+
+        if (stale || !scheduler.isStarted() || scheduler.isInStandbyMode()) {
+            builder.down();
+        } else {
+            builder.up();
+        }
+
+        builder.withDetail("instanceId", scheduler.getSchedulerInstanceId())
+                .withDetail("clustered", scheduler.getMetaData().isJobStoreClustered())
+                .withDetail("jobs", jobs);
+    }
+
+    private Date toDate(Long time) {
+        return nonNull(time) ? new Date(time) : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.quartzscheduler.listener;
+
+import com.shoppingmall.config.redis.RedisCodecRegistry;
+import com.shoppingmall.config.redis.RedisValues;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.listeners.JobListenerSupport;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.stereotype.Component;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 잡별 마지막 성공, 실패 시각 기록
+ *
+ * 클러스터에서는 잡이 어느 인스턴스에서 실행될지 모르므로 인스턴스 메모리가 아닌 레디스 해시에 기록하고,
+ * 모든 인스턴스의 health 엔드포인트가 같은 값을 보여줌.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class JobRunHistoryListener extends JobListenerSupport {
+
+    private final static String JOB_LAST_SUCCESS_KEY = "batchJobLastSuccess";
+    private final static String JOB_LAST_FAILURE_KEY = "batchJobLastFailure";
+
+    private final RedisCodecRegistry redisCodecRegistry;
+
+    @Override
+    public String getName() {
+        return "jobRunHistoryListener";
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        String key = isNull(jobException) ? JOB_LAST_SUCCESS_KEY : JOB_LAST_FAILURE_KEY;
+
+        try {
+            getHashOperations(key).put(key, context.getJobDetail().getKey().getName(), System.currentTimeMillis());
+        } catch (Exception e) {
+            // 기록 실패가 잡 실행에 영향을 주지 않도록 로그만 남김
+            log.error("[JobRunHistoryListener.jobWasExecuted] 실행 기록 실패, job : {}, {}", context.getJobDetail().getKey(), e.toString());
+        }
+    }
+
+    public Long getLastSuccessTime(String jobName) {
+        return getTime(JOB_LAST_SUCCESS_KEY, jobName);
+    }
+
+    public Long getLastFailureTime(String jobName) {
+        return getTime(JOB_LAST_FAILURE_KEY, jobName);
+    }
+
+    private Long getTime(String key, String jobName) {
+        return RedisValues.toLong(getHashOperations(key).get(key, jobName));
+    }
+
+    private HashOperations<String, String, Object> getHashOperations(String key) {
+        return redisCodecRegistry.getTemplate(key).opsForHash();
+    }
+}
@@ -0,0 +1,145 @@
+package com.quartzscheduler.scheduler;
+
+import com.shoppingmall.config.redis.RedisSnapshotPublisher;
+import com.shoppingmall.config.redis.SnapshotOptions;
+import com.shoppingmall.domain.product.Product;
+import com.shoppingmall.domain.product.ProductRepository;
+import com.shoppingmall.domain.productCat.CategoryRepository;
+import com.shoppingmall.domain.productCat.ProductCat;
+import com.shoppingmall.dto.ProductResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_PRODUCT_COUNT_KEY;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_ALL;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_HIGH_SELL;
+import static com.shoppingmall.common.RedisKeyUtils.CATEGORY_RANKING_LOW_SELL;
+import static com.shoppingmall.common.RedisKeyUtils.getCategoryRankingKey;
+
+/**
+ * 카테고리별 판매순(highSell), 판매 역순(lowSell) 상품 목록 캐시 갱신
+ *
+ * 1차, 2차 카테고리와 전체(ALL)마다 정렬 순서대로 앞쪽 몇 페이지 분량의 상품 카드를 sorted set에 저장하고
+ * (score : 정렬 순서), 카테고리별 전체 상품 수도 함께 저장해 api-server가 SQL 없이 페이지를 구성할 수 있게 함.
+ * 구매수는 구매 카운트 배치가 10분마다 반영하므로 같은 주기로 갱신.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class CategoryRankingCachingJob implements Job {
+
+    // 상품 목록 5페이지 분량 (페이지당 9개)
+    private final static int CATEGORY_RANKING_SIZE = 45;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        ApplicationContext applicationContext = getApplicationContext(context);
+
+        try {
+            setCaching(applicationContext);
+        } catch (Exception e) {
+            log.error("{com.quartzscheduler.scheduler.CategoryRankingCachingJob.execute} : " + e);
+            // 실패로 기록되도록 다시 던짐 (JobRunHistoryListener)
+            throw new JobExecutionException(e);
+        }
+    }
+
+    public void setCaching(ApplicationContext applicationContext) {
+        ProductRepository productRepository = getProductRepository(applicationContext);
+        RedisSnapshotPublisher redisSnapshotPublisher = getRedisSnapshotPublisher(applicationContext);
+        HashMap<String, Long> productCountMap = new HashMap<>();
+
+        productCountMap.put(CATEGORY_RANKING_ALL, setCategoryRanking(redisSnapshotPublisher, CATEGORY_RANKING_ALL,
+                pageable -> productRepository.findAll(pageable)));
+
+        for (ProductCat category : getCategoryRepository(applicationContext).findAllByUseYn('Y')) {
+            String catCd = category.getCatCd();
+
+            if (category.getCatLv() == 1) {
+                productCountMap.put(catCd, setCategoryRanking(redisSnapshotPublisher, catCd,
+                        pageable -> productRepository.findAllByLargeCatCd(catCd, pageable)));
+            } else {
+                productCountMap.put(catCd, setCategoryRanking(redisSnapshotPublisher, catCd,
+                        pageable -> productRepository.findBySmallCatCd(catCd, pageable)));
+            }
+        }
+
+        redisSnapshotPublisher.publishValue(CATEGORY_PRODUCT_COUNT_KEY, productCountMap, SnapshotOptions.none());
+
+        log.info("[CategoryRankingCachingJob.setCaching] 카테고리별 판매순 상품 캐시 갱신 완료, 카테고리 수 : {}", productCountMap.size());
+    }
+
+    // 판매순, 판매 역순 목록을 저장하고 카테고리의 전체 상품 수 반환
+    private long setCategoryRanking(RedisSnapshotPublisher redisSnapshotPublisher, String catCd, ProductPageFinder finder) {
+        Page<Product> highSellPage = finder.find(PageRequest.of(0, CATEGORY_RANKING_SIZE, getSort(Sort.Direction.DESC)));
+        Page<Product> lowSellPage = finder.find(PageRequest.of(0, CATEGORY_RANKING_SIZE, getSort(Sort.Direction.ASC)));
+
+        publishRanking(redisSnapshotPublisher, getCategoryRankingKey(CATEGORY_RANKING_HIGH_SELL, catCd), highSellPage.getContent());
+        publishRanking(redisSnapshotPublisher, getCategoryRankingKey(CATEGORY_RANKING_LOW_SELL, catCd), lowSellPage.getContent());
+
+        return highSellPage.getTotalElements();
+    }
+
+    // 할인률은 시간에 따라 바뀌므로 저장하지 않고 api-server에서 조회할 때 채움
+    private void publishRanking(RedisSnapshotPublisher redisSnapshotPublisher, String key, List<Product> products) {
+        List<ProductResponseDto> productResponseDtoList = new ArrayList<>();
+        Map<ProductResponseDto, Integer> ranks = new IdentityHashMap<>();
+
+        for (int i = 0; i < products.size(); i++) {
+            ProductResponseDto productResponseDto = products.get(i).toResponseDto(0);
+
+            productResponseDtoList.add(productResponseDto);
+            ranks.put(productResponseDto, i);
+        }
+
+        // 정렬 순서를 점수로 사용 (구매수가 같은 상품도 순서가 유지됨)
+        redisSnapshotPublisher.publishSortedSet(key, productResponseDtoList, ranks::get, SnapshotOptions.none());
+    }
+
+    // 상품 목록 조회와 같은 정렬 (구매수, 생성일, id)
+    private Sort getSort(Sort.Direction direction) {
+        return Sort.by(direction, "purchaseCount", "createdDate", "id");
+    }
+
+    public ProductRepository getProductRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("productRepository", ProductRepository.class);
+    }
+
+    public CategoryRepository getCategoryRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("categoryRepository", CategoryRepository.class);
+    }
+
+    public RedisSnapshotPublisher getRedisSnapshotPublisher(ApplicationContext applicationContext) {
+        return applicationContext.getBean(RedisSnapshotPublisher.class);
+    }
+
+    public ApplicationContext getApplicationContext(JobExecutionContext context) {
+        ApplicationContext applicationContext = null;
+
+        try {
+            applicationContext = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
+        } catch (Exception e) {
+            log.error("com.quartzscheduler.scheduler.CategoryRankingCachingJob execute() error {}", e.toString());
+        }
+
+        return applicationContext;
+    }
+
+    private interface ProductPageFinder {
+        Page<Product> find(Pageable pageable);
+    }
+
+}
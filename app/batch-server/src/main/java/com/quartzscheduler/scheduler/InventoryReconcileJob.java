@@ -0,0 +1,95 @@
+package com.quartzscheduler.scheduler;
+
+import com.shoppingmall.config.redis.InventoryReservationStore;
+import com.shoppingmall.domain.product.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 보정
+ *
+ * 1. DB : 남은 재고(limitCount)가 음수이거나 전체 재고(totalCount)보다 큰 상품을 범위 안으로 맞춤
+ * 2. 레디스 : 예약 가능한 재고를 DB 남은 재고 - 예약 중인 수량으로 맞춤
+ *    (예약 확정 실패, 관리자 재고 수정, 레디스 데이터 유실 등으로 어긋난 카운터 보정)
+ * 보정 중에 확정된 예약이 있는 상품은 DB 반영 시점이 섞였을 수 있으므로 건너뛰고 다음 주기에 보정.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class InventoryReconcileJob implements Job {
+
+    private final static int CHUNK_SIZE = 1000;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        ApplicationContext applicationContext = getApplicationContext(context);
+
+        try {
+            reconcile(getProductRepository(applicationContext), getInventoryReservationStore(applicationContext));
+        } catch (Exception e) {
+            log.error("{com.quartzscheduler.scheduler.InventoryReconcileJob.execute} : " + e);
+            // 실패로 기록되도록 다시 던짐 (JobRunHistoryListener)
+            throw new JobExecutionException(e);
+        }
+    }
+
+    public void reconcile(ProductRepository productRepository, InventoryReservationStore inventoryReservationStore) {
+        int fixedCount = productRepository.fixOutOfRangeLimitCount();
+        List<Long> productIds = new ArrayList<>(inventoryReservationStore.getProductIds());
+        long changedCount = 0;
+
+        for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + CHUNK_SIZE, productIds.size()));
+            Map<Long, String> versions = new HashMap<>();
+
+            // 버전을 DB보다 먼저 읽어야 DB 조회 이후의 확정을 알아챌 수 있음
+            for (Long productId : chunk) {
+                versions.put(productId, inventoryReservationStore.getVersion(productId));
+            }
+
+            for (Object[] limitCount : productRepository.findLimitCountsByIdIn(chunk)) {
+                Long productId = (Long) limitCount[0];
+
+                if (limitCount[1] == null) {
+                    continue;
+                }
+
+                if (inventoryReservationStore.reconcile(productId, (Integer) limitCount[1], versions.get(productId))) {
+                    changedCount++;
+                }
+            }
+        }
+
+        log.info("[InventoryReconcileJob.reconcile] 재고 보정 완료, DB 보정 : {}, 레디스 확인 : {}, 레디스 보정 : {}",
+                fixedCount, productIds.size(), changedCount);
+    }
+
+    public ProductRepository getProductRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("productRepository", ProductRepository.class);
+    }
+
+    public InventoryReservationStore getInventoryReservationStore(ApplicationContext applicationContext) {
+        return applicationContext.getBean(InventoryReservationStore.class);
+    }
+
+    public ApplicationContext getApplicationContext(JobExecutionContext context) {
+        ApplicationContext applicationContext = null;
+
+        try {
+            applicationContext = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
+        } catch (Exception e) {
+            log.error("com.quartzscheduler.scheduler.InventoryReconcileJob execute() error {}", e.toString());
+        }
+
+        return applicationContext;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.quartzscheduler.scheduler;
+
+import com.shoppingmall.config.redis.InventoryReservationStore;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * 만료된 재고 예약 해제
+ *
+ * 장바구니에 담고 결제하지 않은 예약(예약 후 30분)을 해제해 예약된 수량을 다시 판매할 수 있게 함.
+ * 해제는 상품별 Lua 스크립트로 처리하므로 예약, 확정과 동시에 실행돼도 재고가 어긋나지 않음.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class InventoryReservationSweepJob implements Job {
+
+    // 상품 하나에서 한 번에 해제할 최대 예약 수 (레디스를 오래 막지 않도록 제한, 남은 예약은 다음 주기에 해제)
+    private final static int SWEEP_LIMIT_PER_PRODUCT = 1000;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        ApplicationContext applicationContext = getApplicationContext(context);
+
+        try {
+            long released = getInventoryReservationStore(applicationContext)
+                    .sweep(System.currentTimeMillis(), SWEEP_LIMIT_PER_PRODUCT);
+
+            log.info("[InventoryReservationSweepJob.execute] 만료된 재고 예약 해제 완료, 해제 : {}", released);
+        } catch (Exception e) {
+            log.error("{com.quartzscheduler.scheduler.InventoryReservationSweepJob.execute} : " + e);
+            // 실패로 기록되도록 다시 던짐 (JobRunHistoryListener)
+            throw new JobExecutionException(e);
+        }
+    }
+
+    public InventoryReservationStore getInventoryReservationStore(ApplicationContext applicationContext) {
+        return applicationContext.getBean(InventoryReservationStore.class);
+    }
+
+    public ApplicationContext getApplicationContext(JobExecutionContext context) {
+        ApplicationContext applicationContext = null;
+
+        try {
+            applicationContext = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
+        } catch (Exception e) {
+            log.error("com.quartzscheduler.scheduler.InventoryReservationSweepJob execute() error {}", e.toString());
+        }
+
+        return applicationContext;
+    }
+
+}
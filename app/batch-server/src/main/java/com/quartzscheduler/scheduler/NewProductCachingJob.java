@@ -0,0 +1,145 @@
+package com.quartzscheduler.scheduler;
+
+import com.shoppingmall.config.redis.RedisSnapshotPublisher;
+import com.shoppingmall.config.redis.SnapshotOptions;
+import com.shoppingmall.discount.ProductDiscountIndex;
+import com.shoppingmall.domain.product.Product;
+import com.shoppingmall.domain.product.ProductRepository;
+import com.shoppingmall.domain.productDisPrc.ProductDisPrcRepository;
+import com.shoppingmall.dto.ProductResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.shoppingmall.common.RedisKeyUtils.NEW8_PRODUCT_LIST_KEY;
+
+/**
+ * 최신 상위 8개 상품 캐시 갱신
+ * 인기 상품은 결제 완료 메시지로 실시간 갱신되는 순위(productRanking)를 사용하므로 여기서 구하지 않음
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class NewProductCachingJob implements Job {
+
+
+    /**
+     * 일정 주기마다 실행되는 메서드
+     */
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        ApplicationContext applicationContext = getApplicationContext(context);
+
+        // TransactionManager 주입
+        PlatformTransactionManager transactionManager = getPlatformTransactionManager(applicationContext);
+        TransactionStatus status = transactionManager.getTransaction(new DefaultTransactionDefinition());
+
+        try {
+            List<ProductResponseDto.MainProductResponseDto> new8ProductList = getNew8ProductList(applicationContext);
+
+            setCaching(applicationContext, new8ProductList);
+
+            transactionManager.commit(status);
+        } catch (Exception e) {
+            log.error("{com.quartzscheduler.scheduler.execute} : " + e);
+            transactionManager.rollback(status);
+            // 실패로 기록되도록 다시 던짐 (JobRunHistoryListener)
+            throw new JobExecutionException(e);
+        }
+    }
+
+    public void setCaching(ApplicationContext applicationContext,
+                           List<ProductResponseDto.MainProductResponseDto> newProducts) {
+        RedisSnapshotPublisher redisSnapshotPublisher = getRedisSnapshotPublisher(applicationContext);
+
+        // 최신 상품 셋팅, 임시 키에 만든 뒤 한 번에 교체하므로 조회하는 쪽에서 빈 목록을 보지 않음
+        redisSnapshotPublisher.publishSortedSet(NEW8_PRODUCT_LIST_KEY, newProducts,
+                ProductResponseDto.MainProductResponseDto::getTimestamp, SnapshotOptions.none());
+    }
+
+    public List<ProductResponseDto.MainProductResponseDto> getNew8ProductList(ApplicationContext applicationContext) {
+        ProductRepository productRepository = getProductRepository(applicationContext);
+        Pageable pageable = PageRequest.of(0, 8, Sort.by(Sort.Direction.DESC, "createdDate"));
+
+        List<Product> products = productRepository.findNewTop8Products(pageable);
+
+        return getProductResponseDtoList(applicationContext, products);
+    }
+
+    public List<ProductResponseDto.MainProductResponseDto> getProductResponseDtoList(ApplicationContext applicationContext,
+                                                                                   List<Product> products) {
+        ProductDiscountIndex productDiscountIndex = getProductDiscountIndex(applicationContext, products);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ProductResponseDto.MainProductResponseDto> productResponseDtoList = new ArrayList<>();
+
+        for(Product product : products) {
+            int disPrice = productDiscountIndex.getDisPrice(product.getId(), now);
+            productResponseDtoList.add(product.toMainProductResponseDto(disPrice));
+        }
+
+        return productResponseDtoList;
+    }
+
+    /**
+     * 조회한 상품들의 할인 정보를 한 번의 쿼리로 가져와 할인 인덱스 구성
+     */
+    private ProductDiscountIndex getProductDiscountIndex(ApplicationContext applicationContext, List<Product> products) {
+        ProductDisPrcRepository productDisPrcRepository = getProductDisPrcRepository(applicationContext);
+        List<Long> productIdList = new ArrayList<>();
+
+        for(Product product : products) {
+            productIdList.add(product.getId());
+        }
+
+        ProductDiscountIndex productDiscountIndex = new ProductDiscountIndex();
+
+        if (!productIdList.isEmpty()) {
+            productDiscountIndex.reload(productDisPrcRepository
+                    .findProductDiscountsByProductIdInEndAfter(productIdList, LocalDateTime.now()));
+        }
+
+        return productDiscountIndex;
+    }
+
+    public PlatformTransactionManager getPlatformTransactionManager(ApplicationContext applicationContext) {
+        return applicationContext.getBean(PlatformTransactionManager.class);
+    }
+
+    public ProductRepository getProductRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("productRepository", ProductRepository.class);
+    }
+
+    public ProductDisPrcRepository getProductDisPrcRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("productDisPrcRepository", ProductDisPrcRepository.class);
+    }
+
+    public RedisSnapshotPublisher getRedisSnapshotPublisher(ApplicationContext applicationContext) {
+        return applicationContext.getBean(RedisSnapshotPublisher.class);
+    }
+
+    public ApplicationContext getApplicationContext(JobExecutionContext context) {
+        ApplicationContext applicationContext = null;
+
+        try {
+            applicationContext = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
+        } catch (Exception e) {
+            log.error("com.quartzscheduler.scheduler.NewProductCachingJob execute() error {}", e.toString());
+        }
+
+        return applicationContext;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.quartzscheduler.scheduler;
+
+import com.shoppingmall.domain.product.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_RANKING_KEY;
+
+/**
+ * 인기 상품 순위(productRanking) 보정
+ *
+ * 순위는 결제 완료 메시지마다 ZINCRBY로 올라가고, DB 구매수는 구매 카운트 배치가 10분마다 반영하므로 평소에는 순위 점수가 DB보다 크거나 같음.
+ * 메시지 유실, 레디스 데이터 유실 등으로 점수가 DB 구매수보다 작아진 상품만 DB 값으로 올림.
+ * 아직 DB에 반영되지 않은 최근 구매수를 지우지 않도록 점수를 내리지는 않음.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class ProductRankingReconcileJob implements Job {
+
+    private final static int CHUNK_SIZE = 1000;
+
+    // ARGV : 상품 id, 구매수 반복, 현재 점수보다 큰 경우에만 ZADD
+    private final static RedisScript<Long> RAISE_SCORE_SCRIPT = new DefaultRedisScript<>(
+            "local raised = 0 " +
+            "for i = 1, #ARGV, 2 do " +
+            "  local score = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[i]) or '0') " +
+            "  local purchaseCount = tonumber(ARGV[i + 1]) " +
+            "  if score < purchaseCount then " +
+            "    redis.call('ZADD', KEYS[1], purchaseCount, ARGV[i]) " +
+            "    raised = raised + 1 " +
+            "  end " +
+            "end " +
+            "return raised", Long.class);
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        ApplicationContext applicationContext = getApplicationContext(context);
+
+        try {
+            reconcile(getProductRepository(applicationContext), getRedisTemplate(applicationContext));
+        } catch (Exception e) {
+            log.error("{com.quartzscheduler.scheduler.ProductRankingReconcileJob.execute} : " + e);
+            // 실패로 기록되도록 다시 던짐 (JobRunHistoryListener)
+            throw new JobExecutionException(e);
+        }
+    }
+
+    public void reconcile(ProductRepository productRepository, RedisTemplate<String, Object> redisTemplate) {
+        Long lastId = 0L;
+        long checkedCount = 0;
+        long raisedCount = 0;
+
+        while (true) {
+            // 트랜잭션 없이 id 기준으로 끊어서 조회하므로 긴 트랜잭션, 테이블 전체 정렬이 없음
+            List<Object[]> purchaseCounts = productRepository.findPurchaseCountsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+
+            if (purchaseCounts.isEmpty()) {
+                break;
+            }
+
+            List<Object> args = new ArrayList<>();
+
+            for (Object[] purchaseCount : purchaseCounts) {
+                args.add(purchaseCount[0]);
+                args.add(purchaseCount[1]);
+            }
+
+            Long raised = redisTemplate.execute(RAISE_SCORE_SCRIPT,
+                    Collections.singletonList(PRODUCT_RANKING_KEY), args.toArray());
+
+            checkedCount += purchaseCounts.size();
+            raisedCount += raised == null ? 0 : raised;
+            lastId = (Long) purchaseCounts.get(purchaseCounts.size() - 1)[0];
+        }
+
+        log.info("[ProductRankingReconcileJob.reconcile] 인기 상품 순위 보정 완료, 확인 : {}, 보정 : {}", checkedCount, raisedCount);
+    }
+
+    public ProductRepository getProductRepository(ApplicationContext applicationContext) {
+        return applicationContext.getBean("productRepository", ProductRepository.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public RedisTemplate<String, Object> getRedisTemplate(ApplicationContext applicationContext) {
+        return applicationContext.getBean("redisCustomTemplate", RedisTemplate.class);
+    }
+
+    public ApplicationContext getApplicationContext(JobExecutionContext context) {
+        ApplicationContext applicationContext = null;
+
+        try {
+            applicationContext = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
+        } catch (Exception e) {
+            log.error("com.quartzscheduler.scheduler.ProductRankingReconcileJob execute() error {}", e.toString());
+        }
+
+        return applicationContext;
+    }
+
+}
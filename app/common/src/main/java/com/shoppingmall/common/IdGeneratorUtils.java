@@ -0,0 +1,15 @@
+package com.shoppingmall.common;
+
+/**
+ * 대량 insert 가 일어나는 엔티티의 id 생성 설정
+ *
+ * IDENTITY 전략은 insert 를 실행해야 id를 알 수 있어 Hibernate JDBC 배치가 꺼지므로,
+ * 시퀀스(MySQL 에서는 next_val 컬럼 하나짜리 테이블)에서 INCREMENT_SIZE 만큼 id를 한 번에 할당받아 메모리에서 나눠 씀 (pooled-lo)
+ */
+public class IdGeneratorUtils {
+
+    public static final String SEQUENCE_STYLE_GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    public static final String INCREMENT_SIZE = "50";
+    public static final String OPTIMIZER = "pooled-lo";
+
+}
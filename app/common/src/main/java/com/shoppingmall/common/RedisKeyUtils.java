@@ -0,0 +1,29 @@
+package com.shoppingmall.common;
+
+/**
+ * 레디스 키, 채널 이름
+ * 쓰는 서버(batch-server, product-purchase-count-server)와 읽는 서버(api-server)가 함께 사용
+ */
+public class RedisKeyUtils {
+
+    public static final String CATEGORY_LIST_KEY = "categoryList";
+    public static final String PRODUCT_RANKING_KEY = "productRanking";
+    public static final String NEW8_PRODUCT_LIST_KEY = "new8ProductList";
+    public static final String SALE_PRODUCT_LIST_KEY = "saleProductList";
+    public static final String PRODUCT_DETAIL_KEY_PREFIX = "productDetail:";
+    // categoryRanking:{highSell|lowSell}:{카테고리 코드|ALL}
+    public static final String CATEGORY_RANKING_KEY_PREFIX = "categoryRanking:";
+    public static final String CATEGORY_RANKING_HIGH_SELL = "highSell";
+    public static final String CATEGORY_RANKING_LOW_SELL = "lowSell";
+    // 카테고리 구분 없는 전체 상품
+    public static final String CATEGORY_RANKING_ALL = "ALL";
+    public static final String CATEGORY_PRODUCT_COUNT_KEY = "categoryProductCount";
+
+    public static final String PRODUCT_DETAIL_INVALIDATION_CHANNEL = "productDetailInvalidation";
+    public static final String CATEGORY_VERSION_CHANNEL = "categoryVersion";
+
+    public static String getCategoryRankingKey(String sortCd, String catCd) {
+        return CATEGORY_RANKING_KEY_PREFIX + sortCd + ":" + catCd;
+    }
+
+}
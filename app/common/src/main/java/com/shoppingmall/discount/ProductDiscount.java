@@ -0,0 +1,28 @@
+package com.shoppingmall.discount;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 할인 인덱스에 저장되는 할인 정보 (JPA 엔티티와 분리된 불변 객체)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductDiscount implements Serializable {
+
+    private final Long id;
+    private final Long productId;
+    private final LocalDateTime startDt;
+    private final LocalDateTime endDt;
+    private final Integer disPrc;
+
+    // 기존 로직과 동일하게 시작, 종료 시각은 포함하지 않음
+    public boolean isApplied(LocalDateTime dateTime) {
+        return dateTime.isAfter(startDt) && dateTime.isBefore(endDt);
+    }
+}
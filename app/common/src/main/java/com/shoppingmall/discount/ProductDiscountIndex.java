@@ -0,0 +1,180 @@
+package com.shoppingmall.discount;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 상품별 할인 구간 인덱스
+ *
+ * 상품마다 할인 시작/종료 시각을 경계로 시간축을 나누고, 각 구간에서 적용되는 최대 할인을 미리 계산해 둠.
+ * 특정 시각의 할인 조회는 TreeMap 탐색 한 번(O(log n))으로 끝나며 JPA 지연로딩이 발생하지 않음.
+ *
+ * 전체 재적재와 상품 하나 갱신이 겹칠 수 있으므로 DB를 읽기 전에 세대 번호(nextGeneration)를 받아 두고,
+ * 상품마다 더 최근 세대의 값이 이미 있으면 덮어쓰지 않음 (먼저 읽은 스냅샷이 나중에 적용돼도 최신 값이 유지됨).
+ * 할인이 모두 삭제된 상품도 세대 번호를 남기기 위해 빈 구간으로 두고, 다음 전체 재적재 때 제거함.
+ */
+public class ProductDiscountIndex {
+
+    // 할인률 내림차순, 같은 할인률이면 먼저 등록된 할인 우선
+    private static final Comparator<ProductDiscount> PRIORITY
+            = Comparator.comparing(ProductDiscount::getDisPrc, Comparator.reverseOrder())
+                        .thenComparing(ProductDiscount::getId);
+
+    private final Map<Long, DiscountTimeline> timelineMap = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * DB를 읽기 전에 받아 두는 세대 번호
+     */
+    public long nextGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * 전체 할인 정보로 인덱스 재구성
+     */
+    public void reload(Collection<ProductDiscount> discounts) {
+        reload(nextGeneration(), discounts);
+    }
+
+    /**
+     * 전체 할인 정보로 인덱스 재구성, 이후 세대에 갱신된 상품은 그대로 둠
+     */
+    public void reload(long generation, Collection<ProductDiscount> discounts) {
+        Map<Long, DiscountTimeline> newTimelineMap = discounts.stream()
+                .collect(Collectors.groupingBy(ProductDiscount::getProductId)).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> new DiscountTimeline(generation, entry.getValue())));
+
+        // 할인이 없어진 상품 제거 (이전 세대 값만)
+        for (Long productId : new ArrayList<>(timelineMap.keySet())) {
+            if (!newTimelineMap.containsKey(productId)) {
+                timelineMap.computeIfPresent(productId, (id, timeline) -> timeline.generation < generation ? null : timeline);
+            }
+        }
+
+        newTimelineMap.forEach(this::putIfNewer);
+    }
+
+    /**
+     * 상품 하나의 할인 정보만 갱신 (할인 추가, 삭제 시)
+     */
+    public void refresh(long generation, Long productId, Collection<ProductDiscount> discounts) {
+        putIfNewer(productId, new DiscountTimeline(generation, discounts));
+    }
+
+    private void putIfNewer(Long productId, DiscountTimeline timeline) {
+        timelineMap.merge(productId, timeline, (current, candidate) -> current.generation > candidate.generation ? current : candidate);
+    }
+
+    /**
+     * 해당 시각에 적용되는 할인 조회, 없으면 null
+     */
+    public ProductDiscount find(Long productId, LocalDateTime dateTime) {
+        DiscountTimeline timeline = timelineMap.get(productId);
+
+        return isNull(timeline) ? null : timeline.find(dateTime);
+    }
+
+    /**
+     * 해당 시각에 적용되는 할인률 조회, 없으면 0
+     */
+    public int getDisPrice(Long productId, LocalDateTime dateTime) {
+        ProductDiscount discount = find(productId, dateTime);
+
+        return isNull(discount) ? 0 : discount.getDisPrc();
+    }
+
+    /**
+     * 해당 시각에 할인이 적용되는 모든 상품의 할인률 (상품 id → 할인률)
+     */
+    public Map<Long, Integer> getDisPrices(LocalDateTime dateTime) {
+        Map<Long, Integer> disPrices = new HashMap<>();
+
+        for (Map.Entry<Long, DiscountTimeline> entry : timelineMap.entrySet()) {
+            ProductDiscount discount = entry.getValue().find(dateTime);
+
+            if (!isNull(discount)) {
+                disPrices.put(entry.getKey(), discount.getDisPrc());
+            }
+        }
+
+        return disPrices;
+    }
+
+    /**
+     * 해당 시각 이후 가장 먼저 오는 할인 시작/종료 시각, 없으면 null
+     */
+    public LocalDateTime findNextBoundary(LocalDateTime dateTime) {
+        LocalDateTime nextBoundary = null;
+
+        for (DiscountTimeline timeline : timelineMap.values()) {
+            LocalDateTime boundary = timeline.segments.higherKey(dateTime);
+
+            if (!isNull(boundary) && (isNull(nextBoundary) || boundary.isBefore(nextBoundary))) {
+                nextBoundary = boundary;
+            }
+        }
+
+        return nextBoundary;
+    }
+
+    public int size() {
+        return (int) timelineMap.values().stream()
+                .filter(timeline -> !timeline.discounts.isEmpty())
+                .count();
+    }
+
+    private static class DiscountTimeline {
+
+        private final long generation;
+        private final List<ProductDiscount> discounts;
+        // key : 구간 시작 경계, value : (key, 다음 key) 구간에서 적용되는 할인 (없으면 null)
+        private final TreeMap<LocalDateTime, ProductDiscount> segments = new TreeMap<>();
+
+        private DiscountTimeline(long generation, Collection<ProductDiscount> discounts) {
+            this.generation = generation;
+            this.discounts = new ArrayList<>(discounts);
+
+            TreeSet<LocalDateTime> boundaries = new TreeSet<>();
+            for (ProductDiscount discount : discounts) {
+                boundaries.add(discount.getStartDt());
+                boundaries.add(discount.getEndDt());
+            }
+
+            List<ProductDiscount> sortedByStart = new ArrayList<>(discounts);
+            sortedByStart.sort(Comparator.comparing(ProductDiscount::getStartDt));
+
+            // 경계를 순서대로 훑으면서 시작된 할인은 넣고, 종료된 할인은 꺼냄
+            PriorityQueue<ProductDiscount> active = new PriorityQueue<>(PRIORITY);
+            int next = 0;
+
+            for (LocalDateTime boundary : boundaries) {
+                while (next < sortedByStart.size() && !sortedByStart.get(next).getStartDt().isAfter(boundary)) {
+                    active.add(sortedByStart.get(next++));
+                }
+                while (!active.isEmpty() && !active.peek().getEndDt().isAfter(boundary)) {
+                    active.poll();
+                }
+                segments.put(boundary, active.peek());
+            }
+        }
+
+        private ProductDiscount find(LocalDateTime dateTime) {
+            // 경계 시각과 정확히 일치하는 경우는 시작, 종료 시각 미포함 규칙을 지키기 위해 직접 비교
+            if (segments.containsKey(dateTime)) {
+                return discounts.stream()
+                        .filter(discount -> discount.isApplied(dateTime))
+                        .min(PRIORITY).orElse(null);
+            }
+
+            Map.Entry<LocalDateTime, ProductDiscount> segment = segments.lowerEntry(dateTime);
+
+            return isNull(segment) ? null : segment.getValue();
+        }
+    }
+}
@@ -7,10 +7,14 @@ import com.shoppingmall.domain.productOrder.ProductOrder;
 import com.shoppingmall.domain.user.User;
 import com.shoppingmall.dto.CartResponseDto;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 
+import static com.shoppingmall.common.IdGeneratorUtils.*;
+
 @Setter
 @Getter
 @NoArgsConstructor
@@ -21,7 +25,12 @@ import javax.persistence.*;
 public class Cart extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
+    @GenericGenerator(name = "cart_seq", strategy = SEQUENCE_STYLE_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "cart_seq"),
+            @Parameter(name = "increment_size", value = INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = OPTIMIZER)
+    })
     private Long id;
     @Column
     private Integer productCount;
@@ -48,11 +57,17 @@ public class Cart extends BaseTimeEntity {
                 .id(id)
                 .user(user)
                 .product(product)
-                .salePrice((int)((((float) 100 - (float) disPrice) / (float)100) * product.getPrice()))
+                .salePrice(getSalePrice(product.getPrice(), disPrice))
                 .productCount(productCount)
                 .build();
     }
 
+    // 할인률(%)을 적용한 판매가
+    public static int getSalePrice(int price, int disPrice) {
+
+        return (int)((((float) 100 - (float) disPrice) / (float)100) * price);
+    }
+
     // 배치에서 호출하는 메소드
     public Cart setInvalidity() {
         useYn = 'N';
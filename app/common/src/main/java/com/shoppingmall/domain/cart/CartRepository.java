@@ -1,8 +1,8 @@
 package com.shoppingmall.domain.cart;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,10 +11,22 @@ import java.util.UUID;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
 
-    Page<Cart> findAllByUserIdAndUseYnOrderByCreatedDateDesc(UUID userId, char useYn, Pageable pageable);
+    // 장바구니 요약용 (장바구니 id, 상품 id, 상품 가격, 수량), 엔티티를 만들지 않고 한 번에 조회
+    @Query("select c.id, p.id, p.price, c.productCount from Cart c join c.product p " +
+            "where c.user.id = :userId and c.useYn = :useYn order by c.createdDate desc, c.id desc")
+    List<Object[]> findCartSummaryByUserId(@Param("userId") UUID userId, @Param("useYn") char useYn);
 
-    List<Cart> findAllByUserIdAndUseYnOrderByCreatedDateDesc(UUID userId, char useYn);
+    // 장바구니 목록 한 페이지, 연관 엔티티를 같은 쿼리에서 함께 조회
+    @Query("select c from Cart c join fetch c.product join fetch c.user left join fetch c.productOrder " +
+            "where c.id in :ids")
+    List<Cart> findAllWithProductByIdIn(@Param("ids") List<Long> ids);
 
-    List<Cart> findAllByUserIdAndProductId(UUID userId, Long productId);
+    // 회원이 결제를 완료한 상품 id (구매 상품 집합 채우기용), 엔티티를 만들지 않고 FK 컬럼만 조회
+    @Query("select distinct c.product.id from Cart c where c.user.id = :userId and c.productOrder is not null")
+    List<Long> findPurchasedProductIdsByUserId(@Param("userId") UUID userId);
+
+    // 장바구니 id 목록의 상품 id별 장바구니 수 (상품 id, 수), 구매 수량 집계용
+    @Query("select c.product.id, count(c) from Cart c where c.id in :ids group by c.product.id")
+    List<Object[]> countProductByIdIn(@Param("ids") List<Long> ids);
 
 }
@@ -0,0 +1,54 @@
+package com.shoppingmall.domain.paymentOutbox;
+
+import com.shoppingmall.common.BaseTimeEntity;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 결제 완료 메시지 outbox
+ * api-server가 결제 요청 트랜잭션에서 저장하고, 릴레이가 id 순서로 읽어 카프카로 보낸 뒤 전송 완료(sentYn = 'Y')로 표시
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {  // 전송 대기 메시지를 id 순서로 조회
+        @Index(name = "idx_payment_outbox_sent_yn", columnList = "sentYn, id")
+})
+public class PaymentOutbox extends BaseTimeEntity {
+
+    // 릴레이가 id 순서로 보내므로 저장 순서대로 증가해야 함
+    // 시퀀스(pooled-lo)는 서버마다 id 구간을 미리 받아가 여러 api-server의 저장 순서와 id 순서가 달라지므로 IDENTITY 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 카프카 메시지 키, 같은 회원의 메시지는 같은 파티션으로 보내 순서 유지
+    @Column(nullable = false, columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    // PaymentRequestDto.Success JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Character sentYn;
+
+    @Column(nullable = false)
+    private Integer retryCount;
+
+    @Column
+    private LocalDateTime sentDate;
+
+    @Column(length = 500)
+    private String lastError;
+
+}
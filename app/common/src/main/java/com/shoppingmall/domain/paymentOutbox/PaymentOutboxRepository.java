@@ -0,0 +1,38 @@
+package com.shoppingmall.domain.paymentOutbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    // 전송 대기 메시지를 저장 순서대로 조회
+    @Query("select o from PaymentOutbox o where o.sentYn = 'N' order by o.id")
+    List<PaymentOutbox> findPending(Pageable pageable);
+
+    // 전송 완료 표시, 배치 단위로 한 번에 변경
+    @Transactional
+    @Modifying
+    @Query("update PaymentOutbox o set o.sentYn = 'Y', o.sentDate = :sentDate where o.id in :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentDate") LocalDateTime sentDate);
+
+    @Transactional
+    @Modifying
+    @Query("update PaymentOutbox o set o.retryCount = o.retryCount + 1, o.lastError = :lastError where o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("lastError") String lastError);
+
+    // 보관 기간이 지난 전송 완료 메시지 삭제
+    @Transactional
+    @Modifying
+    @Query("delete from PaymentOutbox o where o.sentYn = 'Y' and o.sentDate < :sentDate")
+    int deleteSentBefore(@Param("sentDate") LocalDateTime sentDate);
+
+}
@@ -0,0 +1,45 @@
+package com.shoppingmall.domain.processedMessage;
+
+import com.shoppingmall.common.BaseTimeEntity;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+
+import static com.shoppingmall.common.IdGeneratorUtils.*;
+
+/**
+ * 컨슈머가 처리한 메시지 (메시지 id 헤더 = outbox id, 또는 주문 번호)
+ * 메시지 처리와 같은 트랜잭션에서 저장해, 다시 전송된 메시지를 한 번 더 처리하지 않게 함
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = {  // 같은 메시지를 동시에 처리해도 한 트랜잭션만 커밋됨
+        @UniqueConstraint(name = "uk_processed_message_consumer_message_id", columnNames = {"consumer", "messageKey"})
+})
+public class ProcessedMessage extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processed_message_seq")
+    @GenericGenerator(name = "processed_message_seq", strategy = SEQUENCE_STYLE_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "processed_message_seq"),
+            @Parameter(name = "increment_size", value = INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = OPTIMIZER)
+    })
+    private Long id;
+
+    // 컨슈머 그룹, 같은 메시지라도 컨슈머마다 따로 처리
+    @Column(nullable = false, length = 50)
+    private String consumer;
+
+    @Column(nullable = false, length = 100)
+    private String messageKey;
+
+}
@@ -0,0 +1,29 @@
+package com.shoppingmall.domain.processedMessage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, Long> {
+
+    boolean existsByConsumerAndMessageKey(String consumer, String messageKey);
+
+    // 배치로 처리하는 컨슈머용, 이미 처리한 키만 조회
+    @Query("select m.messageKey from ProcessedMessage m where m.consumer = :consumer and m.messageKey in :messageKeys")
+    List<String> findProcessedKeys(@Param("consumer") String consumer, @Param("messageKeys") Collection<String> messageKeys);
+
+    // 보관 기간이 지난 처리 기록 삭제
+    @Transactional
+    @Modifying
+    @Query("delete from ProcessedMessage m where m.createdDate < :createdDate")
+    int deleteCreatedBefore(@Param("createdDate") LocalDateTime createdDate);
+
+}
@@ -26,6 +26,15 @@ import java.util.List;
 @AllArgsConstructor
 @ToString
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {  // 커서 페이징용 인덱스, InnoDB 보조 인덱스는 마지막에 PK(id)를 포함
+        @Index(name = "idx_product_created_date", columnList = "createdDate"),
+        @Index(name = "idx_product_price", columnList = "price, createdDate"),
+        @Index(name = "idx_product_purchase_count", columnList = "purchaseCount, createdDate"),
+        @Index(name = "idx_product_small_cat_cd", columnList = "smallCatCd, createdDate"),
+        @Index(name = "idx_product_large_cat_cd", columnList = "largeCatCd, createdDate"),
+        @Index(name = "idx_product_large_cat_cd_price", columnList = "largeCatCd, price, createdDate"),
+        @Index(name = "idx_product_large_cat_cd_purchase_count", columnList = "largeCatCd, purchaseCount, createdDate")
+})
 public class Product extends BaseTimeEntity  {
 
     @Id     // primary key
@@ -47,7 +56,8 @@ public class Product extends BaseTimeEntity  {
     @Column
     private Integer purchaseCount;
 
-    @Column
+    // 남은 재고, 주문과 동시에 바뀌므로 엔티티 저장으로 덮어쓰지 않고 update 쿼리로만 변경 (ProductRepository)
+    @Column(updatable = false)
     private Integer limitCount;
 
     @Column
@@ -97,6 +107,7 @@ public class Product extends BaseTimeEntity  {
                 .productStatus(productStatus)
                 .rateAvg(rateAvg)
                 .titleImg(titleImg)
+                .createdDate(getCreatedDate())
                 .build();
     }
 
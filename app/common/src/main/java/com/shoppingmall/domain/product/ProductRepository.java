@@ -3,8 +3,11 @@ package com.shoppingmall.domain.product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,12 +25,40 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // 2. @EntityGraph로 해결 가능, @EntityGraph(attributePaths = {"productDisPrcList"})
     // 3. BatchSize로 해결 가능 (batch size만큼의 product를 미리 가져옴)
     // 1,2번은 paging 처리에서 문제 발생, 그래서 3번 선택
-    @Query("select p from Product p")
-    List<Product> findBestTop10Products(Pageable pageable);
-
     @Query("select p from Product p")
     List<Product> findNewTop8Products(Pageable pageable);
 
+    // 인기 상품 순위 보정용 (id, 구매수), id 기준으로 끊어서 조회
+    @Query("select p.id, p.purchaseCount from Product p where p.id > :lastId and p.purchaseCount > 0 order by p.id")
+    List<Object[]> findPurchaseCountsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 재고 보정용 (id, 남은 재고)
+    @Query("select p.id, p.limitCount from Product p where p.id in :ids")
+    List<Object[]> findLimitCountsByIdIn(@Param("ids") List<Long> ids);
+
+    // 상품 상세의 재고, 구매 수량 (남은 재고, 구매 수량, 전체 재고), 상세 캐시에 두지 않고 매번 조회
+    @Query("select p.limitCount, p.purchaseCount, p.totalCount from Product p where p.id = :id")
+    List<Object[]> findStockById(@Param("id") Long id);
+
+    // 결제 완료 시 재고 차감, 남은 재고가 부족하면 0 반환
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.limitCount = p.limitCount - :count where p.id = :id and p.limitCount >= :count")
+    int decreaseLimitCount(@Param("id") Long id, @Param("count") int count);
+
+    // 전체 재고 수정 시 남은 재고도 같은 만큼 변경
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.limitCount = p.limitCount + :delta where p.id = :id")
+    int addLimitCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // 남은 재고가 전체 재고를 넘거나 음수인 상품 보정
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.limitCount = case when p.limitCount < 0 then 0 else p.totalCount end " +
+            "where p.limitCount < 0 or p.limitCount > p.totalCount")
+    int fixOutOfRangeLimitCount();
+
     Page<Product> findByLargeCatCdAndSmallCatCdOrderByCreatedDateDesc(String firstCatCd, String secondCatCd, Pageable pageable);
 
 }
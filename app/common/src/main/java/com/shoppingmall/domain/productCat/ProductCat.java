@@ -50,4 +50,17 @@ public class ProductCat extends BaseTimeEntity implements Serializable {
                 .useYn(useYn)
                 .build();
     }
+
+    public CategoryResponseDto.MainCategory toMainCategoryDto() {
+
+        return CategoryResponseDto.MainCategory.builder()
+                .id(id)
+                .catCd(catCd)
+                .catNm(catNm)
+                .upprCatCd(upprCatCd)
+                .catLv(catLv)
+                .useYn(useYn)
+                .cnntUrl(cnntUrl)
+                .build();
+    }
 }
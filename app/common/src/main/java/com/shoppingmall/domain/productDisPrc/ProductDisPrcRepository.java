@@ -1,24 +1,35 @@
 package com.shoppingmall.domain.productDisPrc;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import com.shoppingmall.discount.ProductDiscount;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 @Repository
 public interface ProductDisPrcRepository extends JpaRepository<ProductDisPrc, Long> {
 
-    // Todo: n+1 문제 발생
-    @Query("SELECT new Map(pdp.id AS id, pdp.product AS product," +
-            "MAX(pdp.disPrc) AS disPrc) " +
+    List<ProductDisPrc> findByProductId(Long id);
+
+    // 할인 인덱스 적재용, 엔티티를 만들지 않고 종료되지 않은 할인만 조회
+    @Query("SELECT new com.shoppingmall.discount.ProductDiscount(pdp.id, pdp.product.id, pdp.startDt, pdp.endDt, pdp.disPrc) " +
             "FROM ProductDisPrc pdp " +
-            "WHERE NOW() BETWEEN pdp.startDt AND pdp.endDt " +
-            "GROUP BY pdp.product")
-    Page<Map<String, Object>> getSaleProductList(Pageable pageable);
+            "WHERE pdp.endDt > :dateTime")
+    List<ProductDiscount> findProductDiscountsEndAfter(@Param("dateTime") LocalDateTime dateTime);
 
-    List<ProductDisPrc> findByProductId(Long id);
+    @Query("SELECT new com.shoppingmall.discount.ProductDiscount(pdp.id, pdp.product.id, pdp.startDt, pdp.endDt, pdp.disPrc) " +
+            "FROM ProductDisPrc pdp " +
+            "WHERE pdp.product.id = :productId AND pdp.endDt > :dateTime")
+    List<ProductDiscount> findProductDiscountsByProductIdEndAfter(@Param("productId") Long productId,
+                                                                 @Param("dateTime") LocalDateTime dateTime);
+
+    @Query("SELECT new com.shoppingmall.discount.ProductDiscount(pdp.id, pdp.product.id, pdp.startDt, pdp.endDt, pdp.disPrc) " +
+            "FROM ProductDisPrc pdp " +
+            "WHERE pdp.product.id IN :productIds AND pdp.endDt > :dateTime")
+    List<ProductDiscount> findProductDiscountsByProductIdInEndAfter(@Param("productIds") Collection<Long> productIds,
+                                                                   @Param("dateTime") LocalDateTime dateTime);
 }
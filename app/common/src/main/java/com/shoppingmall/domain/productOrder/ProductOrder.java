@@ -6,12 +6,16 @@ import com.shoppingmall.domain.enums.OrderStatus;
 import com.shoppingmall.domain.user.User;
 import com.shoppingmall.dto.ProductOrderResponseDto;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.shoppingmall.common.IdGeneratorUtils.*;
+
 @Setter
 @Getter
 @NoArgsConstructor
@@ -22,7 +26,12 @@ import java.util.List;
 public class ProductOrder extends BaseTimeEntity  {
 
     @Id     // primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_order_seq")
+    @GenericGenerator(name = "product_order_seq", strategy = SEQUENCE_STYLE_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "product_order_seq"),
+            @Parameter(name = "increment_size", value = INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = OPTIMIZER)
+    })
     private Long id;
     @Column
     private String orderNumber;
@@ -1,11 +1,15 @@
 package com.shoppingmall.domain.productPurchaseCount;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static com.shoppingmall.common.IdGeneratorUtils.*;
+
 @Getter
 @Setter
 @Entity
@@ -17,7 +21,12 @@ import java.time.LocalDateTime;
 public class ProductPurchaseCount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_purchase_count_seq")
+    @GenericGenerator(name = "product_purchase_count_seq", strategy = SEQUENCE_STYLE_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "product_purchase_count_seq"),
+            @Parameter(name = "increment_size", value = INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = OPTIMIZER)
+    })
     private Long id;
 
     @Column(nullable = false)
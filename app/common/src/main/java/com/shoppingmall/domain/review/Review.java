@@ -5,11 +5,15 @@ import com.shoppingmall.domain.product.Product;
 import com.shoppingmall.domain.user.User;
 import com.shoppingmall.dto.ReviewResponseDto;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static com.shoppingmall.common.IdGeneratorUtils.*;
+
 @Setter
 @Getter
 @NoArgsConstructor
@@ -20,7 +24,12 @@ import java.time.LocalDateTime;
 public class Review extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @GenericGenerator(name = "review_seq", strategy = SEQUENCE_STYLE_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "review_seq"),
+            @Parameter(name = "increment_size", value = INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = OPTIMIZER)
+    })
     private Long id;
     @Column
     private String title;
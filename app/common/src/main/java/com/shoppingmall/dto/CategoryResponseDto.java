@@ -28,4 +28,18 @@ public class CategoryResponseDto {
         private String upprCatNm;
         private Character useYn;
     }
+
+    // 카테고리 스냅샷용, 생성 후 변경 불가
+    @Getter
+    @Builder
+    @ToString
+    public static class MainCategory {
+        private final Long id;
+        private final String catCd;
+        private final String catNm;
+        private final String upprCatCd;
+        private final Integer catLv;
+        private final Character useYn;
+        private final String cnntUrl;
+    }
 }
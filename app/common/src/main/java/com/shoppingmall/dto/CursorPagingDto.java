@@ -0,0 +1,17 @@
+package com.shoppingmall.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 커서 기반 페이징 정보, 이전/다음 페이지가 없으면 커서는 null
+ */
+@Getter
+@Builder
+@ToString
+public class CursorPagingDto {
+
+    private String prevCursor;
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.shoppingmall.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 진행 상황
+ */
+@Getter
+@Builder
+@ToString
+public class ProductImportResponseDto {
+    private String importId;
+    private String status;          // RUNNING, COMPLETED, FAILED
+    private long readCount;         // 읽은 행 수
+    private long insertedCount;     // 등록된 상품 수
+    private long failedCount;       // 검증에 실패해 건너뛴 행 수
+    private List<String> errorList; // 실패 사유 (앞쪽 일부만)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
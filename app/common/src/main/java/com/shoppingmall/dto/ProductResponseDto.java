@@ -1,14 +1,16 @@
 package com.shoppingmall.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.shoppingmall.domain.enums.ProductStatus;
 import lombok.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ProductResponseDto implements Serializable {
 
     private Long id;
@@ -23,11 +25,14 @@ public class ProductResponseDto implements Serializable {
     private Integer totalCount;
     private ProductStatus productStatus;
     private Integer rateAvg;
+    // 커서 페이징 기준값, 응답에는 포함하지 않음
+    @JsonIgnore
+    private LocalDateTime createdDate;
 
     @Getter
     @AllArgsConstructor
     @NoArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class MainProductResponseDto implements Serializable {
         private Long id;
         private String productNm;
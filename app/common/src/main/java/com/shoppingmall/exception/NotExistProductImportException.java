@@ -0,0 +1,11 @@
+package com.shoppingmall.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class NotExistProductImportException extends RuntimeException {
+    public NotExistProductImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.shoppingmall.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductImportBusyException extends RuntimeException {
+    public ProductImportBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.shoppingmall.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 검색 인덱스에 저장되는 상품 정보 (JPA 엔티티와 분리된 불변 객체)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductDocument {
+
+    private final Long id;
+    private final String productNm;
+    private final String largeCatCd;
+    private final String smallCatCd;
+    private final Integer purchaseCount;
+}
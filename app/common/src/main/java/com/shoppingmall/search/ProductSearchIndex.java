@@ -0,0 +1,275 @@
+package com.shoppingmall.search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 상품 검색용 역색인
+ *
+ * 한글은 띄어쓰기, 조사 때문에 단어 단위로 자르면 검색이 잘 안 되므로 상품명을 2글자씩(bi-gram) 잘라 색인하고,
+ * 카테고리 코드도 같은 색인에 넣어 카테고리 필터를 색인 조회 한 번으로 처리함.
+ * 순위는 검색어 bi-gram 일치 비율, 상품명 포함 여부, 구매수 순서로 정함.
+ *
+ * 전체 재구성은 DB를 읽는 동안 잠금을 잡지 않으므로, 읽기 전에 세대 번호(nextGeneration)를 받아 두고
+ * 그 뒤에 등록, 수정, 삭제된 상품은 교체 시점에 현재 인덱스 값을 유지함 (스냅샷 때문에 갱신이 사라지지 않음).
+ */
+public class ProductSearchIndex {
+
+    // 검색어 bi-gram 중 이 비율 이상이 상품명에 있어야 검색 결과에 포함
+    private static final double MIN_MATCH_RATIO = 0.5;
+    private static final double CONTAINS_BONUS = 1.0;
+    private static final double PREFIX_BONUS = 0.5;
+    private static final String CATEGORY_TOKEN_PREFIX = "#";
+
+    private volatile IndexData indexData = new IndexData();
+    private final AtomicLong generation = new AtomicLong();
+    // 마지막으로 적용된 재구성의 세대 번호
+    private long reloadedGeneration;
+    // 삭제된 상품의 세대 번호, 그보다 먼저 읽은 스냅샷에 남아 있어도 다시 넣지 않음
+    private final Map<Long, Long> removedGenerationMap = new HashMap<>();
+
+    /**
+     * DB를 읽기 전에 받아 두는 세대 번호
+     */
+    public long nextGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * 전체 상품으로 인덱스 재구성, 구성이 끝난 뒤 한 번에 교체하므로 재구성 중에도 기존 인덱스로 검색 가능
+     * 이후 세대에 갱신된 상품은 현재 값을 유지하고, 이미 더 최근 재구성이 적용됐으면 무시함
+     */
+    public synchronized void reload(long generation, Collection<ProductDocument> documents) {
+        if (generation < reloadedGeneration) {
+            return;
+        }
+
+        IndexData newIndexData = new IndexData();
+
+        for (ProductDocument document : documents) {
+            Long removedGeneration = removedGenerationMap.get(document.getId());
+
+            if (isNull(removedGeneration) || removedGeneration < generation) {
+                newIndexData.put(new IndexedProduct(generation, document));
+            }
+        }
+
+        // 스냅샷을 읽은 뒤 등록, 수정된 상품
+        for (IndexedProduct indexedProduct : indexData.products.values()) {
+            if (indexedProduct.generation > generation) {
+                newIndexData.remove(indexedProduct.document.getId());
+                newIndexData.put(indexedProduct);
+            }
+        }
+
+        removedGenerationMap.values().removeIf(removedGeneration -> removedGeneration < generation);
+        reloadedGeneration = generation;
+        indexData = newIndexData;
+    }
+
+    /**
+     * 상품 하나 추가 또는 갱신 (상품 등록, 수정 시)
+     */
+    public synchronized void put(ProductDocument document) {
+        removedGenerationMap.remove(document.getId());
+        indexData.remove(document.getId());
+        indexData.put(new IndexedProduct(nextGeneration(), document));
+    }
+
+    public synchronized void remove(Long productId) {
+        removedGenerationMap.put(productId, nextGeneration());
+        indexData.remove(productId);
+    }
+
+    /**
+     * 검색어와 카테고리 코드(1차, 2차 모두 가능, 없으면 전체)로 검색
+     */
+    public ProductSearchResult search(String keyword, String catCd, int offset, int limit) {
+        IndexData currentIndexData = indexData;
+        String normalizedKeyword = normalize(keyword);
+        Set<String> keywordTokens = tokenizeKeyword(normalizedKeyword);
+
+        if (keywordTokens.isEmpty()) {
+            return new ProductSearchResult(Collections.emptyList(), 0);
+        }
+
+        Set<Long> categoryProductIds = isNull(catCd) ? null : currentIndexData.getPostings(CATEGORY_TOKEN_PREFIX + catCd);
+
+        // 상품별로 일치하는 검색어 bi-gram 수 집계
+        Map<Long, Integer> matchCountMap = new HashMap<>();
+
+        for (String token : keywordTokens) {
+            for (Long productId : currentIndexData.getPostings(token)) {
+                if (isNull(categoryProductIds) || categoryProductIds.contains(productId)) {
+                    matchCountMap.merge(productId, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<ScoredProduct> scoredProducts = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> entry : matchCountMap.entrySet()) {
+            IndexedProduct indexedProduct = currentIndexData.products.get(entry.getKey());
+            double matchRatio = (double) entry.getValue() / keywordTokens.size();
+
+            if (isNull(indexedProduct) || matchRatio < MIN_MATCH_RATIO) {
+                continue;
+            }
+
+            scoredProducts.add(new ScoredProduct(indexedProduct, getScore(indexedProduct, normalizedKeyword, matchRatio)));
+        }
+
+        scoredProducts.sort(ScoredProduct.RANKING);
+
+        List<Long> productIdList = scoredProducts.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(scoredProduct -> scoredProduct.product.document.getId())
+                .collect(Collectors.toList());
+
+        return new ProductSearchResult(productIdList, scoredProducts.size());
+    }
+
+    public int size() {
+        return indexData.products.size();
+    }
+
+    private double getScore(IndexedProduct indexedProduct, String normalizedKeyword, double matchRatio) {
+        double score = matchRatio;
+
+        if (indexedProduct.normalizedName.contains(normalizedKeyword)) {
+            score += CONTAINS_BONUS;
+        }
+        if (indexedProduct.normalizedName.startsWith(normalizedKeyword)) {
+            score += PREFIX_BONUS;
+        }
+
+        return score;
+    }
+
+    // 대소문자, 띄어쓰기, 특수문자 차이는 무시
+    private static String normalize(String text) {
+        return isNull(text) ? "" : text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    // 상품명은 bi-gram과 한 글자(uni-gram)를 모두 색인해서 한 글자 검색어도 검색되게 함
+    private static Set<String> tokenizeName(String normalizedName) {
+        Set<String> tokens = new HashSet<>();
+
+        for (int i = 0; i < normalizedName.length(); i++) {
+            tokens.add(normalizedName.substring(i, i + 1));
+
+            if (i + 2 <= normalizedName.length()) {
+                tokens.add(normalizedName.substring(i, i + 2));
+            }
+        }
+
+        return tokens;
+    }
+
+    private static Set<String> tokenizeKeyword(String normalizedKeyword) {
+        Set<String> tokens = new HashSet<>();
+
+        if (normalizedKeyword.length() == 1) {
+            tokens.add(normalizedKeyword);
+            return tokens;
+        }
+
+        for (int i = 0; i + 2 <= normalizedKeyword.length(); i++) {
+            tokens.add(normalizedKeyword.substring(i, i + 2));
+        }
+
+        return tokens;
+    }
+
+    private static class IndexData {
+
+        // key : 토큰(bi-gram, uni-gram, #카테고리코드), value : 해당 토큰을 가진 상품 id
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, IndexedProduct> products = new ConcurrentHashMap<>();
+
+        private void put(IndexedProduct indexedProduct) {
+            Long productId = indexedProduct.document.getId();
+
+            products.put(productId, indexedProduct);
+
+            for (String token : indexedProduct.tokens) {
+                postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(productId);
+            }
+        }
+
+        private void remove(Long productId) {
+            IndexedProduct indexedProduct = products.remove(productId);
+
+            if (isNull(indexedProduct)) {
+                return;
+            }
+
+            for (String token : indexedProduct.tokens) {
+                Set<Long> productIds = postings.get(token);
+
+                if (nonNull(productIds)) {
+                    productIds.remove(productId);
+
+                    if (productIds.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        private Set<Long> getPostings(String token) {
+            return postings.getOrDefault(token, Collections.emptySet());
+        }
+    }
+
+    private static class IndexedProduct {
+
+        private final long generation;
+        private final ProductDocument document;
+        private final String normalizedName;
+        private final Set<String> tokens;
+
+        private IndexedProduct(long generation, ProductDocument document) {
+            this.generation = generation;
+            this.document = document;
+            this.normalizedName = normalize(document.getProductNm());
+            this.tokens = tokenizeName(normalizedName);
+
+            if (nonNull(document.getLargeCatCd())) {
+                tokens.add(CATEGORY_TOKEN_PREFIX + document.getLargeCatCd());
+            }
+            if (nonNull(document.getSmallCatCd())) {
+                tokens.add(CATEGORY_TOKEN_PREFIX + document.getSmallCatCd());
+            }
+        }
+    }
+
+    private static class ScoredProduct {
+
+        // 점수 내림차순, 같으면 구매수 내림차순, 같으면 최신 상품(id 내림차순) 우선
+        private static final Comparator<ScoredProduct> RANKING = Comparator
+                .comparingDouble((ScoredProduct scoredProduct) -> scoredProduct.score).reversed()
+                .thenComparing(scoredProduct -> scoredProduct.getPurchaseCount(), Comparator.reverseOrder())
+                .thenComparing(scoredProduct -> scoredProduct.product.document.getId(), Comparator.reverseOrder());
+
+        private final IndexedProduct product;
+        private final double score;
+
+        private ScoredProduct(IndexedProduct product, double score) {
+            this.product = product;
+            this.score = score;
+        }
+
+        private int getPurchaseCount() {
+            Integer purchaseCount = product.document.getPurchaseCount();
+
+            return isNull(purchaseCount) ? 0 : purchaseCount;
+        }
+    }
+}
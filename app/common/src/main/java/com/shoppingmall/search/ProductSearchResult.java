@@ -0,0 +1,19 @@
+package com.shoppingmall.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 검색 결과 중 요청한 페이지의 상품 id (순위순)와 전체 검색 결과 수
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductSearchResult {
+
+    private final List<Long> productIdList;
+    private final long totalCount;
+}
@@ -0,0 +1,27 @@
+-- IDENTITY → 시퀀스(pooled-lo) id 전환용 스크립트, 배포 전에 한 번 실행
+-- MySQL 은 시퀀스가 없으므로 Hibernate 가 next_val 컬럼 하나짜리 테이블을 시퀀스로 사용함
+-- 기존 데이터의 최대 id 다음 값부터 할당되도록 맞춰두지 않으면 ddl-auto 가 만든 테이블은 1부터 시작해 PK가 중복됨
+
+CREATE TABLE IF NOT EXISTS product_purchase_count_seq (next_val BIGINT);
+DELETE FROM product_purchase_count_seq;
+INSERT INTO product_purchase_count_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM product_purchase_count;
+
+CREATE TABLE IF NOT EXISTS product_purchase_merge_count_seq (next_val BIGINT);
+DELETE FROM product_purchase_merge_count_seq;
+INSERT INTO product_purchase_merge_count_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM product_purchase_merge_count;
+
+CREATE TABLE IF NOT EXISTS cart_seq (next_val BIGINT);
+DELETE FROM cart_seq;
+INSERT INTO cart_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM cart;
+
+CREATE TABLE IF NOT EXISTS product_order_seq (next_val BIGINT);
+DELETE FROM product_order_seq;
+INSERT INTO product_order_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM product_order;
+
+CREATE TABLE IF NOT EXISTS review_seq (next_val BIGINT);
+DELETE FROM review_seq;
+INSERT INTO review_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM review;
+
+-- payment_outbox 는 저장 순서대로 id가 증가해야 하므로(릴레이 전송 순서) IDENTITY 로 되돌림
+ALTER TABLE payment_outbox MODIFY id BIGINT NOT NULL AUTO_INCREMENT;
+DROP TABLE IF EXISTS payment_outbox_seq;
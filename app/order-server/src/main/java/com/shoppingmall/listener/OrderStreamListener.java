@@ -2,14 +2,21 @@ package com.shoppingmall.listener;
 
 import com.shoppingmall.channel.PaymentSuccessOrderInputChannel;
 import com.shoppingmall.channel.PaymentSuccessSavingsInputChannel;
+import com.shoppingmall.domain.cart.Cart;
 import com.shoppingmall.dto.PaymentRequestDto;
+import com.shoppingmall.publisher.MessagePublisher;
 import com.shoppingmall.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+
+import java.util.List;
 
 /**
  * 결제 성공 Event Consumer
+ * 릴레이가 같은 메시지를 다시 보낼 수 있으므로(at-least-once) 메시지 id 헤더로 이미 처리한 메시지를 걸러냄
  */
 @RequiredArgsConstructor
 @EnableBinding({PaymentSuccessOrderInputChannel.class, PaymentSuccessSavingsInputChannel.class})
@@ -21,16 +28,22 @@ public class OrderStreamListener {
      주문서 생성 Consumer
      **/
     @StreamListener(PaymentSuccessOrderInputChannel.PAYMENT_SUCCESS_ORDER_CONSUMER)
-    public void paymentSuccessOrderListener(PaymentRequestDto.Success message) {
-        paymentSuccessService.makeOrder(message);
+    public void paymentSuccessOrderListener(@Payload PaymentRequestDto.Success message,
+                                            @Header(name = MessagePublisher.MESSAGE_ID_HEADER, required = false) Object messageId) {
+        List<Cart> orderedCartList = paymentSuccessService.makeOrder(message, MessagePublisher.toMessageId(messageId));
+
+        // 주문 트랜잭션이 커밋된 뒤 레디스 반영 (재고 예약 확정, 구매 상품 집합)
+        paymentSuccessService.confirmInventory(orderedCartList);
+        paymentSuccessService.addPurchasedProducts(message.getUserId(), orderedCartList);
     }
 
     /**
      적립금 업데이트 Consumer
      **/
     @StreamListener(PaymentSuccessSavingsInputChannel.PAYMENT_SUCCESS_SAVINGS_CONSUMER)
-    public void paymentSuccessSavingsListener(PaymentRequestDto.Success message) {
-        paymentSuccessService.updateSavings(message);
+    public void paymentSuccessSavingsListener(@Payload PaymentRequestDto.Success message,
+                                              @Header(name = MessagePublisher.MESSAGE_ID_HEADER, required = false) Object messageId) {
+        paymentSuccessService.updateSavings(message, MessagePublisher.toMessageId(messageId));
     }
 
 }
@@ -1,8 +1,15 @@
 package com.shoppingmall.service;
 
+import com.shoppingmall.channel.PaymentSuccessOrderInputChannel;
+import com.shoppingmall.channel.PaymentSuccessSavingsInputChannel;
+import com.shoppingmall.config.redis.InventoryReservationStore;
+import com.shoppingmall.config.redis.PurchaseOwnershipStore;
 import com.shoppingmall.domain.cart.Cart;
 import com.shoppingmall.domain.cart.CartRepository;
 import com.shoppingmall.domain.enums.OrderStatus;
+import com.shoppingmall.domain.processedMessage.ProcessedMessage;
+import com.shoppingmall.domain.processedMessage.ProcessedMessageRepository;
+import com.shoppingmall.domain.product.ProductRepository;
 import com.shoppingmall.domain.productOrder.ProductOrder;
 import com.shoppingmall.domain.productOrder.ProductOrderRepository;
 import com.shoppingmall.domain.user.User;
@@ -11,39 +18,106 @@ import com.shoppingmall.dto.PaymentRequestDto;
 import com.shoppingmall.exception.NotExistUserException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class OrderService {
 
+    // 처리한 메시지 기록 보관 기간, 릴레이가 다시 보낼 수 있는 기간(전송 완료 메시지 보관 기간)보다 길게
+    private static final int PROCESSED_MESSAGE_RETENTION_DAYS = 7;
+
     private final ProductOrderRepository productOrderRepository;
     private final UserRepository userRepository;
     private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final InventoryReservationStore inventoryReservationStore;
+    private final PurchaseOwnershipStore purchaseOwnershipStore;
+    private final ProcessedMessageRepository processedMessageRepository;
 
     /**
-     * 결제 성공 이후 주문서 생성
+     * 결제 성공 이후 주문서 생성, DB 재고 차감
+     * 이미 처리한 메시지(메시지 id)면 주문을 다시 만들지 않음
+     * @return 이번에 주문된 장바구니 (커밋 후 재고 예약 확정에 사용)
      */
     @Transactional
-    public void makeOrder(PaymentRequestDto.Success message) {
+    public List<Cart> makeOrder(PaymentRequestDto.Success message, Long messageId) {
+        if (!markProcessed(PaymentSuccessOrderInputChannel.PAYMENT_SUCCESS_ORDER_CONSUMER, messageId)) {
+            log.info("[ProductOrderService.makeOrder] 이미 처리한 메시지, messageId : {}", messageId);
+            return Collections.emptyList();
+        }
+
         // 주문 생성
         ProductOrder productOrder = productOrderRepository.save(getProductOrder(message));
 
         // 장바구니에 연관된 주문데이터 설정
-        setProductOrderOfCart(message.getCartIdList(), productOrder);
+        List<Cart> orderedCartList = setProductOrderOfCart(message.getCartIdList(), productOrder);
 
         log.info("[ProductOrderService.makeOrder] 주문 생성 완료");
+
+        return orderedCartList;
+    }
+
+    /**
+     * DB 재고 차감이 커밋된 뒤 레디스 재고 예약 확정
+     * 실패해도 예약은 만료 후 해제되고 재고 카운터는 보정 배치가 DB 기준으로 맞춤
+     */
+    public void confirmInventory(List<Cart> cartList) {
+        for (Cart cart : cartList) {
+            try {
+                if (!inventoryReservationStore.confirm(cart.getProduct().getId(), cart.getId(), cart.getProductCount())) {
+                    log.warn("[OrderService.confirmInventory] 만료된 예약 확정, cartId : {}", cart.getId());
+                }
+            } catch (Exception e) {
+                log.error("[OrderService.confirmInventory] 재고 예약 확정 실패, cartId : {}, {}", cart.getId(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * 주문이 커밋된 뒤 회원의 구매 상품 집합에 추가 (리뷰 작성 권한)
+     * 실패하면 집합을 지워 api-server가 다음 권한 확인 때 DB에서 다시 채우게 함
+     */
+    public void addPurchasedProducts(UUID userId, List<Cart> cartList) {
+        try {
+            purchaseOwnershipStore.add(userId, cartList.stream()
+                    .map(cart -> cart.getProduct().getId())
+                    .collect(Collectors.toSet()));
+        } catch (Exception e) {
+            log.error("[OrderService.addPurchasedProducts] 구매 상품 추가 실패, userId : {}, {}", userId, e.toString());
+            evictPurchasedProducts(userId);
+        }
+    }
+
+    private void evictPurchasedProducts(UUID userId) {
+        try {
+            purchaseOwnershipStore.evict(userId);
+        } catch (Exception e) {
+            log.error("[OrderService.evictPurchasedProducts] 구매 상품 집합 삭제 실패, userId : {}, {}", userId, e.toString());
+        }
     }
 
     /**
      * 결제 성공 이후 적립금 update
+     * 이미 처리한 메시지(메시지 id)면 적립금을 다시 반영하지 않음
      */
     @Transactional
-    public void updateSavings(PaymentRequestDto.Success message) {
+    public void updateSavings(PaymentRequestDto.Success message, Long messageId) {
+        if (!markProcessed(PaymentSuccessSavingsInputChannel.PAYMENT_SUCCESS_SAVINGS_CONSUMER, messageId)) {
+            log.info("[UserService.updateSavings] 이미 처리한 메시지, messageId : {}", messageId);
+            return;
+        }
+
         int useSavings = message.getUseSavings();
 
         // 총 결제액의 3% 적립
@@ -59,6 +133,38 @@ public class OrderService {
         log.info("[UserService.updateSavings] 적립금 업데이트 완료");
     }
 
+    // 매일 새벽 4시 보관 기간이 지난 처리 기록 삭제 (구매 수량 컨슈머의 기록 포함)
+    @Scheduled(cron = "0 0 4 * * *")
+    public void deleteProcessedMessages() {
+        int deleted = processedMessageRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(PROCESSED_MESSAGE_RETENTION_DAYS));
+
+        log.info("[OrderService.deleteProcessedMessages] 처리 기록 삭제 : {}", deleted);
+    }
+
+    /**
+     * 메시지 처리 기록 저장 (호출한 트랜잭션과 함께 커밋)
+     * 같은 메시지를 동시에 처리하면 유니크 제약으로 한쪽 트랜잭션이 롤백되고 메시지를 다시 받아 걸러짐
+     * @return 처음 처리하는 메시지면 true, 메시지 id 헤더가 없는 메시지(릴레이 이전)는 항상 true
+     */
+    private boolean markProcessed(String consumer, Long messageId) {
+        if (messageId == null) {
+            return true;
+        }
+
+        String messageKey = String.valueOf(messageId);
+
+        if (processedMessageRepository.existsByConsumerAndMessageKey(consumer, messageKey)) {
+            return false;
+        }
+
+        processedMessageRepository.save(ProcessedMessage.builder()
+                .consumer(consumer)
+                .messageKey(messageKey)
+                .build());
+
+        return true;
+    }
+
     private User getUser(PaymentRequestDto.Success message) {
         return userRepository.findById(message.getUserId()).orElseThrow(() -> new NotExistUserException("존재하지 않는 유저 입니다."));
     }
@@ -79,12 +185,30 @@ public class OrderService {
                 .build();
     }
 
-    private void setProductOrderOfCart(List<Long> cartIdList, ProductOrder productOrder) {
+    private List<Cart> setProductOrderOfCart(List<Long> cartIdList, ProductOrder productOrder) {
         List<Cart> cartList = cartRepository.findAllById(cartIdList);
+        List<Cart> orderedCartList = new ArrayList<>();
 
         for(Cart cart : cartList) {
+            // 같은 메시지를 다시 받은 경우 재고를 두 번 차감하지 않음
+            if (cart.getProductOrder() != null) {
+                continue;
+            }
+
+            // 행 잠금을 오래 잡지 않도록 조건부 update 한 번으로 차감
+            // 결제 API가 재고를 예약한 뒤 결제하므로 평소에는 실패하지 않음, 실패하면 주문에 넣지 않고 환불 대상으로 남김
+            if (productRepository.decreaseLimitCount(cart.getProduct().getId(), cart.getProductCount()) == 0) {
+                log.error("[OrderService.setProductOrderOfCart] 남은 재고 부족으로 주문 제외(환불 필요), orderNumber : {}, productId : {}, cartId : {}",
+                        productOrder.getOrderNumber(), cart.getProduct().getId(), cart.getId());
+                continue;
+            }
+
             cart.setProductOrder(productOrder);
             cart.setUseYn('N');
+
+            orderedCartList.add(cart);
         }
+
+        return orderedCartList;
     }
 }
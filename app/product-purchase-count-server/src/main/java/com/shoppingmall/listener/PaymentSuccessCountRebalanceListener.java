@@ -0,0 +1,31 @@
+package com.shoppingmall.listener;
+
+import com.shoppingmall.channel.PaymentSuccessCountInputChannel;
+import com.shoppingmall.service.ProductPurchaseCountBuffer;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 상품 수량 업데이트 Consumer의 파티션 재할당 처리
+ * 재할당 전에 모아 둔 메시지를 반영(또는 버림)해, 새로 할당받은 컨슈머가 같은 메시지를 다시 반영하지 않게 함
+ */
+@RequiredArgsConstructor
+@Component
+public class PaymentSuccessCountRebalanceListener implements KafkaBindingRebalanceListener {
+
+    private final ProductPurchaseCountBuffer productPurchaseCountBuffer;
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(String bindingName, Consumer<?, ?> consumer,
+                                                Collection<TopicPartition> partitions) {
+        if (PaymentSuccessCountInputChannel.PAYMENT_SUCCESS_COUNT_CONSUMER.equals(bindingName)) {
+            productPurchaseCountBuffer.onPartitionsRevoked();
+        }
+    }
+
+}
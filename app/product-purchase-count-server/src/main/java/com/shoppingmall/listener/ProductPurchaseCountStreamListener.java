@@ -2,23 +2,28 @@ package com.shoppingmall.listener;
 
 import com.shoppingmall.channel.PaymentSuccessCountInputChannel;
 import com.shoppingmall.dto.PaymentRequestDto;
-import com.shoppingmall.service.ProductPurchaseCountService;
+import com.shoppingmall.service.ProductPurchaseCountBuffer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 
 @RequiredArgsConstructor
 @EnableBinding({PaymentSuccessCountInputChannel.class})
 public class ProductPurchaseCountStreamListener {
 
-    private final ProductPurchaseCountService productPurchaseCountService;
+    private final ProductPurchaseCountBuffer productPurchaseCountBuffer;
 
     /**
-     상품 수량 업데이트 Consumer
+     상품 수량 업데이트 Consumer, 메시지를 모아 한 번에 반영한 뒤 offset 커밋
      */
     @StreamListener(PaymentSuccessCountInputChannel.PAYMENT_SUCCESS_COUNT_CONSUMER)
-    public void paymentSuccessProductCountListener(PaymentRequestDto.Success message) {
-        productPurchaseCountService.updateProductPurchaseCount(message);
+    public void paymentSuccessProductCountListener(@Payload PaymentRequestDto.Success message,
+                                                   @Header(KafkaHeaders.ACKNOWLEDGMENT) Acknowledgment acknowledgment) {
+        productPurchaseCountBuffer.add(message.getOrderNumber(), message.getCartIdList(), acknowledgment);
     }
 
 }
@@ -0,0 +1,24 @@
+package com.shoppingmall.listener;
+
+import com.shoppingmall.channel.PaymentSuccessRankingInputChannel;
+import com.shoppingmall.dto.PaymentRequestDto;
+import com.shoppingmall.service.ProductRankingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.stream.annotation.EnableBinding;
+import org.springframework.cloud.stream.annotation.StreamListener;
+
+@RequiredArgsConstructor
+@EnableBinding({PaymentSuccessRankingInputChannel.class})
+public class ProductRankingStreamListener {
+
+    private final ProductRankingService productRankingService;
+
+    /**
+     인기 상품 순위 업데이트 Consumer
+     */
+    @StreamListener(PaymentSuccessRankingInputChannel.PAYMENT_SUCCESS_RANKING_CONSUMER)
+    public void paymentSuccessProductRankingListener(PaymentRequestDto.Success message) {
+        productRankingService.increaseProductRanking(message);
+    }
+
+}
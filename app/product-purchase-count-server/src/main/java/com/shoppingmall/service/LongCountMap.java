@@ -0,0 +1,108 @@
+package com.shoppingmall.service;
+
+import java.util.Arrays;
+
+/**
+ * long 키별 합계 (open addressing), 배치 동안 상품 id별 구매 수량을 Long 객체 없이 합산
+ */
+final class LongCountMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    LongCountMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    void add(long key, long count) {
+        int index = indexOf(key);
+
+        if (used[index]) {
+            values[index] += count;
+            return;
+        }
+
+        used[index] = true;
+        keys[index] = key;
+        values[index] = count;
+
+        // 사용률 50%를 넘으면 두 배로 늘림
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    long get(long key) {
+        int index = indexOf(key);
+
+        return used[index] ? values[index] : 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    // 키가 있으면 그 위치, 없으면 비어 있는 위치 (linear probing)
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    // 연속된 id가 한곳에 몰리지 않도록 섞음
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,118 @@
+package com.shoppingmall.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 완료 메시지를 모아 구매 수량을 한 번에 반영
+ *
+ * 메시지를 batch-size 건 받거나 flush-interval-ms 가 지나면 모은 장바구니 id로 한 트랜잭션에서 insert 하고,
+ * 커밋한 뒤에 모아 둔 메시지의 offset을 커밋(acknowledge)함 (바인딩의 auto-commit-offset: false).
+ * - 릴레이가 같은 메시지를 다시 보낼 수 있으므로(at-least-once) 주문 번호로 중복을 거름
+ *   (모으는 동안 같은 주문 번호는 한 번만 담고, 반영할 때 이미 처리한 주문 번호는 빼고 처리 기록과 함께 insert)
+ * - DB 반영에 실패하면 모은 메시지를 그대로 두고 다음 flush 때 다시 시도, offset은 커밋하지 않음
+ * - 파티션 재할당 직전(PaymentSuccessCountRebalanceListener)에는 모은 메시지를 바로 반영해 offset이 함께 커밋되게 하고,
+ *   반영에 실패하면 버림 (offset이 커밋되지 않았으므로 새로 할당받은 컨슈머가 다시 받아 반영)
+ * - 서버가 종료되면 모아 둔 메시지는 반영하지 않은 채 버려지고 다시 받음
+ */
+@Slf4j
+@Component
+public class ProductPurchaseCountBuffer {
+
+    private final ProductPurchaseCountService productPurchaseCountService;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    // 주문 번호 → 장바구니 id
+    private Map<String, List<Long>> orderCartIdMap = new LinkedHashMap<>();
+    private List<Acknowledgment> acknowledgmentList = new ArrayList<>();
+
+    public ProductPurchaseCountBuffer(ProductPurchaseCountService productPurchaseCountService,
+                                      @Value("${product.purchase-count.batch-size:500}") int batchSize,
+                                      @Value("${product.purchase-count.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.productPurchaseCountService = productPurchaseCountService;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * 메시지 추가 (컨슈머 스레드), batch-size 건이 모이면 바로 반영
+     */
+    public void add(String orderNumber, List<Long> cartIds, Acknowledgment acknowledgment) {
+        boolean full;
+
+        synchronized (this) {
+            // 모으는 동안 다시 받은 메시지는 담지 않고 offset만 함께 커밋
+            orderCartIdMap.putIfAbsent(orderNumber, cartIds);
+            acknowledgmentList.add(acknowledgment);
+            full = acknowledgmentList.size() >= batchSize;
+        }
+
+        // DB 장애 중에는 flush-interval-ms 만큼 쉬어 메시지가 계속 쌓이지 않게 함
+        if (full && !flush()) {
+            sleep();
+        }
+    }
+
+    /**
+     * 일정 시간마다 모인 메시지 반영 (메시지가 적을 때의 지연 시간 상한)
+     */
+    @Scheduled(fixedDelayString = "${product.purchase-count.flush-interval-ms:1000}")
+    public void flushPeriodically() {
+        flush();
+    }
+
+    /**
+     * @return 반영할 메시지가 없거나 반영에 성공하면 true
+     */
+    public synchronized boolean flush() {
+        if (acknowledgmentList.isEmpty()) {
+            return true;
+        }
+
+        try {
+            productPurchaseCountService.updateProductPurchaseCounts(orderCartIdMap);
+        } catch (Exception e) {
+            log.error("[ProductPurchaseCountBuffer.flush] 상품 구매 수량 업데이트 실패, 메시지 수 : {}", acknowledgmentList.size(), e);
+            return false;
+        }
+
+        // 커밋된 뒤에 offset 커밋, 컨슈머 스레드가 다음 poll 때 커밋함
+        acknowledgmentList.forEach(Acknowledgment::acknowledge);
+
+        orderCartIdMap = new LinkedHashMap<>();
+        acknowledgmentList = new ArrayList<>();
+
+        return true;
+    }
+
+    /**
+     * 파티션 재할당 직전 (컨슈머 스레드, offset 커밋 전)
+     */
+    public synchronized void onPartitionsRevoked() {
+        if (flush()) {
+            return;
+        }
+
+        log.warn("[ProductPurchaseCountBuffer.onPartitionsRevoked] 반영하지 못한 메시지 버림, 메시지 수 : {}", acknowledgmentList.size());
+
+        orderCartIdMap = new LinkedHashMap<>();
+        acknowledgmentList = new ArrayList<>();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(flushIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.shoppingmall.service;
 
-import com.shoppingmall.domain.cart.Cart;
+import com.shoppingmall.channel.PaymentSuccessCountInputChannel;
 import com.shoppingmall.domain.cart.CartRepository;
-import com.shoppingmall.domain.product.Product;
+import com.shoppingmall.domain.processedMessage.ProcessedMessage;
+import com.shoppingmall.domain.processedMessage.ProcessedMessageRepository;
 import com.shoppingmall.domain.productPurchaseCount.ProductPurchaseCount;
 import com.shoppingmall.domain.productPurchaseCount.ProductPurchaseCountRepository;
-import com.shoppingmall.dto.PaymentRequestDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,65 +14,83 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ProductPurchaseCountService {
 
+    // in 절 하나에 넣는 id 수
+    private static final int CHUNK_SIZE = 1000;
+    private static final String CONSUMER = PaymentSuccessCountInputChannel.PAYMENT_SUCCESS_COUNT_CONSUMER;
+
     private final CartRepository cartRepository;
     private final ProductPurchaseCountRepository productPurchaseCountRepository;
+    private final ProcessedMessageRepository processedMessageRepository;
     @Value("${spring.kafka.consumer.client-id}")
     private String clientId;
 
     /**
-     * 결제 완료 후 상품 구매 수량 업데이트
+     * 결제 완료 메시지 여러 건(주문 번호 → 장바구니 id)의 상품 구매 수량을 한 번에 업데이트
+     * 이미 처리한 주문 번호는 빼고, 처리 기록을 같은 트랜잭션에서 저장해 다시 받은 메시지를 두 번 집계하지 않음
+     * 상품 id별로 합산해 상품마다 한 행만 insert (JDBC 배치)
      */
     @Transactional
-    public void updateProductPurchaseCount(PaymentRequestDto.Success message) {
-        List<Long> cartIdList = message.getCartIdList();
+    public int updateProductPurchaseCounts(Map<String, List<Long>> orderCartIdMap) {
+        Set<String> processedOrderNumbers = findProcessedOrderNumbers(new ArrayList<>(orderCartIdMap.keySet()));
+        List<Long> cartIdList = new ArrayList<>();
+        List<ProcessedMessage> processedMessageList = new ArrayList<>();
+
+        orderCartIdMap.forEach((orderNumber, cartIds) -> {
+            if (processedOrderNumbers.contains(orderNumber)) {
+                return;
+            }
 
-        List<Cart> cartList = cartRepository.findAllById(cartIdList);
+            cartIdList.addAll(cartIds);
+            processedMessageList.add(ProcessedMessage.builder()
+                    .consumer(CONSUMER)
+                    .messageKey(orderNumber)
+                    .build());
+        });
 
-        Map<Long, Integer> productPurchaseCountMap = getProductPurchaseCountMap(cartList);
+        LongCountMap productPurchaseCountMap = new LongCountMap();
 
-        List<ProductPurchaseCount> productPurchaseCountList = getProductPurchaseCountList(productPurchaseCountMap);
+        for (int from = 0; from < cartIdList.size(); from += CHUNK_SIZE) {
+            List<Long> cartIdChunk = cartIdList.subList(from, Math.min(from + CHUNK_SIZE, cartIdList.size()));
 
-        productPurchaseCountRepository.saveAll(productPurchaseCountList);
+            for (Object[] row : cartRepository.countProductByIdIn(cartIdChunk)) {
+                productPurchaseCountMap.add((Long) row[0], (Long) row[1]);
+            }
+        }
 
-        log.info("[ProductService.updateProductPurchaseCount] 상품 구매 수량 업데이트 완료");
-    }
+        List<ProductPurchaseCount> productPurchaseCountList = new ArrayList<>(productPurchaseCountMap.size());
+        LocalDateTime currentDateTime = LocalDateTime.now();
 
-    private Map<Long, Integer> getProductPurchaseCountMap(List<Cart> cartList) {
-        Map<Long, Integer> productPurchaseCountMap = new HashMap<>();
+        productPurchaseCountMap.forEach((productId, count)
+                -> productPurchaseCountList.add(getProductPurchaseCount(currentDateTime, productId, Math.toIntExact(count))));
 
-        for(Cart cart : cartList) {
-            Product product = cart.getProduct();
-            Long productId = product.getId();
+        productPurchaseCountRepository.saveAll(productPurchaseCountList);
+        processedMessageRepository.saveAll(processedMessageList);
 
-            if(productPurchaseCountMap.containsKey(productId)) {
-                Integer productPurchaseCount = productPurchaseCountMap.get(productId);
-                productPurchaseCountMap.replace(productId, ++productPurchaseCount);
-                continue;
-            }
-            productPurchaseCountMap.put(productId, 1);
-        }
+        log.info("[ProductService.updateProductPurchaseCounts] 상품 구매 수량 업데이트 완료, 장바구니 수 : {}, 상품 수 : {}, 중복 메시지 : {}",
+                cartIdList.size(), productPurchaseCountList.size(), processedOrderNumbers.size());
 
-        return productPurchaseCountMap;
+        return productPurchaseCountList.size();
     }
 
-    private List<ProductPurchaseCount> getProductPurchaseCountList(Map<Long, Integer> productPurchaseCountMap) {
-        List<ProductPurchaseCount> productPurchaseCountList = new ArrayList<>();
+    private Set<String> findProcessedOrderNumbers(List<String> orderNumbers) {
+        Set<String> processedOrderNumbers = new HashSet<>();
 
-        LocalDateTime currentDateTime = LocalDateTime.now();
-
-        productPurchaseCountMap.forEach((productId, count)
-                -> productPurchaseCountList.add(getProductPurchaseCount(currentDateTime, productId, count)));
+        for (int from = 0; from < orderNumbers.size(); from += CHUNK_SIZE) {
+            processedOrderNumbers.addAll(processedMessageRepository.findProcessedKeys(CONSUMER,
+                    orderNumbers.subList(from, Math.min(from + CHUNK_SIZE, orderNumbers.size()))));
+        }
 
-        return productPurchaseCountList;
+        return processedOrderNumbers;
     }
 
     private ProductPurchaseCount getProductPurchaseCount(LocalDateTime currentDateTime, Long productId,
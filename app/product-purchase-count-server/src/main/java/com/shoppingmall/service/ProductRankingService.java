@@ -0,0 +1,86 @@
+package com.shoppingmall.service;
+
+import com.shoppingmall.domain.cart.Cart;
+import com.shoppingmall.domain.cart.CartRepository;
+import com.shoppingmall.dto.PaymentRequestDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.shoppingmall.common.RedisKeyUtils.PRODUCT_RANKING_KEY;
+
+/**
+ * 인기 상품 순위 (레디스 sorted set, member : 상품 id, score : 구매수)
+ *
+ * 결제 완료 메시지를 받을 때마다 ZINCRBY로 바로 반영하므로 구매 카운트 배치(10분)를 기다리지 않음.
+ * 결제 완료 메시지는 다시 전송될 수 있으므로(outbox 릴레이) 주문번호별로 한 번만 반영함.
+ * 메시지 유실 등으로 생긴 차이는 batch-server에서 주기적으로 DB 구매수와 비교해 보정.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ProductRankingService {
+
+    // 클러스터에서 순위 키와 같은 슬롯에 위치하도록 해시 태그 사용
+    private static final String APPLIED_ORDER_KEY_PREFIX = "{" + PRODUCT_RANKING_KEY + "}:appliedOrder:";
+    // 다시 전송될 수 있는 기간(outbox 전송 완료 메시지 보관 기간) 동안 반영한 주문번호 유지
+    private static final long APPLIED_ORDER_EXPIRE_MILLIS = 3 * 24 * 60 * 60 * 1000L;
+
+    // KEYS : 순위 키, 주문번호 키 / ARGV : 만료 시간(ms), 상품 id, 구매수 반복
+    // 처음 받은 주문번호일 때만 점수 증가
+    private static final RedisScript<Long> INCREASE_ONCE_SCRIPT = new DefaultRedisScript<>(
+            "if not redis.call('SET', KEYS[2], '1', 'NX', 'PX', ARGV[1]) then return 0 end " +
+            "for i = 2, #ARGV, 2 do " +
+            "  redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i]) " +
+            "end " +
+            "return 1", Long.class);
+
+    private final CartRepository cartRepository;
+    private final ZSetOperations<String, Object> zSetOperations;
+
+    /**
+     * 결제 완료 후 주문한 상품들의 순위 점수 증가
+     */
+    @Transactional(readOnly = true)
+    public void increaseProductRanking(PaymentRequestDto.Success message) {
+        List<Cart> cartList = cartRepository.findAllById(message.getCartIdList());
+
+        Map<Long, Integer> productCountMap = new HashMap<>();
+
+        for (Cart cart : cartList) {
+            productCountMap.merge(cart.getProduct().getId(), 1, Integer::sum);
+        }
+
+        if (productCountMap.isEmpty()) {
+            return;
+        }
+
+        // 상품 id는 ZINCRBY와 같은 값 직렬화로 전달되어야 하므로 템플릿의 값 직렬화 사용
+        List<Object> args = new ArrayList<>();
+        args.add(APPLIED_ORDER_EXPIRE_MILLIS);
+        productCountMap.forEach((productId, count) -> {
+            args.add(productId);
+            args.add(count);
+        });
+
+        Long applied = zSetOperations.getOperations().execute(INCREASE_ONCE_SCRIPT,
+                Arrays.asList(PRODUCT_RANKING_KEY, APPLIED_ORDER_KEY_PREFIX + message.getOrderNumber()), args.toArray());
+
+        if (!Long.valueOf(1).equals(applied)) {
+            log.info("[ProductRankingService.increaseProductRanking] 이미 반영한 주문, 주문번호 : {}", message.getOrderNumber());
+            return;
+        }
+
+        log.info("[ProductRankingService.increaseProductRanking] 인기 상품 순위 업데이트 완료, 상품 수 : {}", productCountMap.size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.shoppingmall.domain;
+
+import com.shoppingmall.domain.productPurchaseCount.ProductPurchaseCount;
+import com.shoppingmall.domain.productPurchaseCount.ProductPurchaseCountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.shoppingmall.common.IdGeneratorUtils.INCREMENT_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + ProductPurchaseCountRepositoryTest.BATCH_SIZE,
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class ProductPurchaseCountRepositoryTest {
+
+    static final int BATCH_SIZE = 100;
+    private static final int ROW_COUNT = 1000;
+
+    // 카프카 설정이 필요한 서비스 빈은 띄우지 않고 JPA 관련 빈만 등록
+    @Configuration
+    @EntityScan(basePackages = "com.shoppingmall.domain")
+    @EnableJpaRepositories(basePackageClasses = ProductPurchaseCountRepository.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private ProductPurchaseCountRepository productPurchaseCountRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void 상품_구매_수량_1000건_saveAll_배치_insert_테스트() {
+        List<ProductPurchaseCount> productPurchaseCountList = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (long productId = 1; productId <= ROW_COUNT; productId++) {
+            productPurchaseCountList.add(ProductPurchaseCount.builder()
+                    .dateTime(now)
+                    .clientId("test")
+                    .productId(productId)
+                    .count(1)
+                    .build());
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        productPurchaseCountRepository.saveAll(productPurchaseCountList);
+        entityManager.flush();
+
+        // insert 배치 수 + 시퀀스 조회 수 (id를 INCREMENT_SIZE 개씩 할당받음)
+        long expectedStatementCount = ROW_COUNT / BATCH_SIZE + ROW_COUNT / Integer.parseInt(INCREMENT_SIZE) + 1;
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROW_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(expectedStatementCount);
+    }
+}
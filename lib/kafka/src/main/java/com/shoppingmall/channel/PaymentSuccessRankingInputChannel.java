@@ -0,0 +1,13 @@
+package com.shoppingmall.channel;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.messaging.SubscribableChannel;
+
+public interface PaymentSuccessRankingInputChannel {
+
+    String PAYMENT_SUCCESS_RANKING_CONSUMER = "payment-success-ranking-consumer";
+
+    @Input(PAYMENT_SUCCESS_RANKING_CONSUMER)
+    SubscribableChannel inputRankingChannel();
+
+}
@@ -0,0 +1,135 @@
+package com.shoppingmall.publisher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageDeliveryException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카프카 비동기 전송
+ *
+ * - 전송 결과를 기다리지 않고 CompletableFuture로 반환, 브로커 응답(ack) 시 완료
+ * - 응답을 기다리는 메시지가 maxInFlight 개가 되면 자리가 날 때까지 전송 호출이 대기 (backpressure)
+ * - 메시지 키(회원 id)가 같으면 같은 파티션으로 전송, 멱등 프로듀서를 사용해 재시도해도 파티션 내 순서가 유지됨
+ * - kafka.publish 타이머에 전송부터 응답까지 걸린 시간을 결과(success, error)별로 기록
+ */
+@Slf4j
+public class AsyncMessageSender {
+
+    public static final String PUBLISH_METRIC = "kafka.publish";
+
+    private final DefaultKafkaProducerFactory<byte[], byte[]> producerFactory;
+    private final KafkaTemplate<byte[], byte[]> kafkaTemplate;
+    private final String topic;
+    private final int maxInFlight;
+    private final Semaphore inFlightWindow;
+    private final long sendTimeoutMillis;
+    private final Timer successTimer;
+    private final Timer errorTimer;
+
+    public AsyncMessageSender(String brokers, String topic, MessagePublisherProperties properties, MeterRegistry meterRegistry) {
+        this.producerFactory = new DefaultKafkaProducerFactory<>(getProducerConfigs(brokers, properties));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.topic = topic;
+        this.maxInFlight = properties.getMaxInFlight();
+        this.inFlightWindow = new Semaphore(properties.getMaxInFlight());
+        this.sendTimeoutMillis = properties.getSendTimeoutMillis();
+        this.successTimer = getTimer(meterRegistry, topic, "success");
+        this.errorTimer = getTimer(meterRegistry, topic, "error");
+    }
+
+    public CompletableFuture<SendResult<byte[], byte[]>> send(String key, byte[] payload) {
+        return send(key, payload, Collections.emptyList());
+    }
+
+    public CompletableFuture<SendResult<byte[], byte[]>> send(String key, byte[] payload, Iterable<Header> headers) {
+        acquire();
+
+        long startTime = System.nanoTime();
+        CompletableFuture<SendResult<byte[], byte[]>> result = new CompletableFuture<>();
+
+        try {
+            kafkaTemplate.send(new ProducerRecord<>(topic, null, key.getBytes(StandardCharsets.UTF_8), payload, headers)).addCallback(
+                    sendResult -> {
+                        complete(successTimer, startTime);
+                        result.complete(sendResult);
+                    },
+                    e -> {
+                        complete(errorTimer, startTime);
+                        log.warn("[AsyncMessageSender.send] 전송 실패, topic : {}, key : {}, {}", topic, key, e.toString());
+                        result.completeExceptionally(e);
+                    });
+        } catch (Exception e) {
+            // 직렬화 실패, 메타데이터 조회 시간 초과 등 전송 전에 실패한 경우
+            complete(errorTimer, startTime);
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    // 배치로 대기 중인 메시지를 바로 전송
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - inFlightWindow.availablePermits();
+    }
+
+    public void destroy() {
+        producerFactory.destroy();
+    }
+
+    private void acquire() {
+        try {
+            if (!inFlightWindow.tryAcquire(sendTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MessageDeliveryException("전송 대기 메시지가 가득 차 전송하지 못했습니다. topic : " + topic);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageDeliveryException("전송 대기 중 인터럽트 되었습니다. topic : " + topic);
+        }
+    }
+
+    private void complete(Timer timer, long startTime) {
+        inFlightWindow.release();
+        timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<String, Object> getProducerConfigs(String brokers, MessagePublisherProperties properties) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, properties.getLingerMs());
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getBatchSize());
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompressionType());
+        configs.put(ProducerConfig.ACKS_CONFIG, properties.getAcks());
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "all".equals(properties.getAcks()));
+
+        return configs;
+    }
+
+    private static Timer getTimer(MeterRegistry meterRegistry, String topic, String result) {
+        return Timer.builder(PUBLISH_METRIC)
+                .tag("topic", topic)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.shoppingmall.publisher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * kafka.publisher.async=true 일 때 결제 완료 메시지를 바인더 대신 비동기 전송으로 보냄
+ * 브로커, 토픽은 바인더 설정을 그대로 사용하므로 컨슈머 쪽 설정은 바뀌지 않음
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kafka.publisher", name = "async", havingValue = "true")
+@EnableConfigurationProperties(MessagePublisherProperties.class)
+public class AsyncMessageSenderConfig {
+
+    @Value("${spring.cloud.stream.kafka.binder.brokers:localhost:9092}")
+    private String brokers;
+
+    // 바인딩에 destination이 없으면 바인딩 이름이 토픽 이름
+    @Value("${spring.cloud.stream.bindings.payment-success-event-to-kafka.destination:payment-success-event-to-kafka}")
+    private String paymentSuccessTopic;
+
+    @Bean(destroyMethod = "destroy")
+    public AsyncMessageSender paymentSuccessMessageSender(MessagePublisherProperties properties,
+                                                         ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new AsyncMessageSender(brokers, paymentSuccessTopic, properties,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -1,19 +1,90 @@
 package com.shoppingmall.publisher;
 
 import com.shoppingmall.channel.PaymentSuccessOutputChannel;
-import com.shoppingmall.dto.PaymentRequestDto;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.integration.support.MessageBuilder;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.isNull;
 
 @RequiredArgsConstructor
 @Component
 public class MessagePublisher {
 
+    // 메시지 id 헤더 (outbox id), 컨슈머는 이 값으로 다시 받은 메시지를 걸러냄
+    public static final String MESSAGE_ID_HEADER = "messageId";
+
     private final PaymentSuccessOutputChannel paymentSuccessOutputChannel;
+    // kafka.publisher.async=true 일 때만 등록됨 (AsyncMessageSenderConfig)
+    private final ObjectProvider<AsyncMessageSender> asyncMessageSenderProvider;
+
+    /**
+     * 이미 JSON으로 직렬화된 결제 완료 메시지 전송 (outbox 릴레이)
+     * 회원 id를 메시지 키로 사용해 같은 회원의 메시지는 같은 파티션에 순서대로 쌓이고,
+     * 메시지 id(outbox id)를 헤더로 보내 다시 전송된 메시지를 컨슈머가 구분할 수 있게 함.
+     *
+     * - 비동기 모드 : 브로커 응답(ack) 시 완료되는 future 반환
+     * - 기본 모드 : 바인더 출력 채널로 보내고 완료된 future 반환 (프로듀서를 sync 모드로 설정하면 ack까지 기다림)
+     */
+    public CompletableFuture<Void> publishPaymentSuccessPayload(UUID userId, Long messageId, String payload) {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        // 헤더 매퍼가 변환하지 않도록 바이트로 전달
+        byte[] messageIdBytes = String.valueOf(messageId).getBytes(StandardCharsets.UTF_8);
+        AsyncMessageSender asyncMessageSender = asyncMessageSenderProvider.getIfAvailable();
+
+        if (!isNull(asyncMessageSender)) {
+            return asyncMessageSender.send(userId.toString(), payloadBytes,
+                    Collections.singletonList(new RecordHeader(MESSAGE_ID_HEADER, messageIdBytes)))
+                    .thenApply(sendResult -> null);
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try {
+            boolean sent = paymentSuccessOutputChannel.outputChannel().send(MessageBuilder
+                    .withPayload(payloadBytes)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                    .setHeader(KafkaHeaders.MESSAGE_KEY, userId.toString().getBytes(StandardCharsets.UTF_8))
+                    .setHeader(MESSAGE_ID_HEADER, messageIdBytes)
+                    .build());
+
+            if (sent) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(new MessageDeliveryException("결제 완료 메시지 전송 실패, userId : " + userId));
+            }
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * 메시지 id 헤더 값을 id로 변환, 헤더가 없으면(릴레이 이전 메시지) null
+     * 헤더 매퍼 설정에 따라 바이트 또는 문자열로 전달됨
+     */
+    public static Long toMessageId(Object messageIdHeader) {
+        if (isNull(messageIdHeader)) {
+            return null;
+        }
+
+        if (messageIdHeader instanceof byte[]) {
+            return Long.valueOf(new String((byte[]) messageIdHeader, StandardCharsets.UTF_8));
+        }
 
-    public void publishPaymentSuccessMessage(PaymentRequestDto.Success message) {
-        paymentSuccessOutputChannel.outputChannel().send(MessageBuilder.withPayload(message).build());
+        return Long.valueOf(messageIdHeader.toString());
     }
 
 }
@@ -0,0 +1,27 @@
+package com.shoppingmall.publisher;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 비동기 전송 모드 설정 (kafka.publisher.*)
+ * async가 false면 기존처럼 바인더 출력 채널로 한 건씩 전송
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "kafka.publisher")
+public class MessagePublisherProperties {
+
+    private boolean async = false;
+    // 브로커 응답(ack)을 기다리는 최대 메시지 수, 가득 차면 전송 호출이 대기함
+    private int maxInFlight = 1000;
+    // 전송 창에 자리가 날 때까지 기다리는 최대 시간
+    private long sendTimeoutMillis = 5000;
+    // 배치로 묶기 위해 기다리는 시간, 배치 최대 크기(byte)
+    private int lingerMs = 20;
+    private int batchSize = 64 * 1024;
+    private String compressionType = "lz4";
+    private String acks = "all";
+
+}
@@ -0,0 +1,103 @@
+package com.shoppingmall.publisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 건씩 ack를 기다리는 전송(기존 방식)과 비동기 배치 전송의 처리량 비교 (embedded kafka)
+ *
+ * 결제 완료 메시지 크기(약 1KB)의 메시지를 회원 50명의 키로 나눠 보내고 초당 전송 건수를 측정.
+ * 실행 : ./gradlew :lib:kafka:jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncMessageSenderBenchmark {
+
+    private static final String SYNC_TOPIC = "benchmark-sync";
+    private static final String ASYNC_TOPIC = "benchmark-async";
+    private static final int PARTITION_COUNT = 4;
+    private static final int BATCH_COUNT = 1000;
+    private static final int USER_COUNT = 50;
+
+    private EmbeddedKafkaBroker embeddedKafka;
+    private AsyncMessageSender syncSender;
+    private AsyncMessageSender asyncSender;
+    private byte[] payload;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        embeddedKafka = new EmbeddedKafkaBroker(1, true, PARTITION_COUNT, SYNC_TOPIC, ASYNC_TOPIC);
+        embeddedKafka.afterPropertiesSet();
+
+        // 기존 방식 : 배치 대기 없이 한 건씩 ack를 기다림
+        MessagePublisherProperties syncProperties = new MessagePublisherProperties();
+        syncProperties.setLingerMs(0);
+        syncProperties.setMaxInFlight(1);
+
+        syncSender = new AsyncMessageSender(embeddedKafka.getBrokersAsString(), SYNC_TOPIC, syncProperties, new SimpleMeterRegistry());
+        asyncSender = new AsyncMessageSender(embeddedKafka.getBrokersAsString(), ASYNC_TOPIC,
+                new MessagePublisherProperties(), new SimpleMeterRegistry());
+
+        StringBuilder builder = new StringBuilder("{\"orderName\":\"");
+
+        while (builder.length() < 500) {
+            builder.append("상품");
+        }
+
+        payload = builder.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+        keys = new String[USER_COUNT];
+
+        for (int i = 0; i < USER_COUNT; i++) {
+            keys[i] = "user-" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        syncSender.destroy();
+        asyncSender.destroy();
+        embeddedKafka.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_COUNT)
+    public void sendAndWait() {
+        for (int i = 0; i < BATCH_COUNT; i++) {
+            syncSender.send(keys[i % USER_COUNT], payload).join();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_COUNT)
+    public void sendAsync() {
+        CompletableFuture<?>[] futures = new CompletableFuture[BATCH_COUNT];
+
+        for (int i = 0; i < BATCH_COUNT; i++) {
+            futures[i] = asyncSender.send(keys[i % USER_COUNT], payload);
+        }
+
+        CompletableFuture.allOf(futures).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AsyncMessageSenderBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,165 @@
+package com.shoppingmall.publisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.rule.EmbeddedKafkaRule;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 전송 테스트 (embedded kafka)
+ *
+ * - 전송 창(maxInFlight)을 넘지 않는지, 같은 키는 같은 파티션으로 가는지, 전송 지표가 기록되는지 확인
+ * - 처리량 비교는 AsyncMessageSenderBenchmark (./gradlew :lib:kafka:jmh)
+ */
+public class AsyncMessageSenderTest {
+
+    private static final String METRIC_TOPIC = "metric";
+    private static final String BACKPRESSURE_TOPIC = "backpressure";
+    private static final String LOCALITY_TOPIC = "locality";
+    private static final int PARTITION_COUNT = 4;
+    private static final int MESSAGE_COUNT = 5000;
+    private static final int USER_COUNT = 50;
+
+    @ClassRule
+    public static EmbeddedKafkaRule embeddedKafka = new EmbeddedKafkaRule(1, true, PARTITION_COUNT,
+            METRIC_TOPIC, BACKPRESSURE_TOPIC, LOCALITY_TOPIC);
+
+    private final List<AsyncMessageSender> senders = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        senders.forEach(AsyncMessageSender::destroy);
+    }
+
+    @Test
+    public void 전송_결과가_전송_지표에_기록됨() {
+        MessagePublisherProperties properties = new MessagePublisherProperties();
+        properties.setMaxInFlight(100);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AsyncMessageSender sender = createSender(METRIC_TOPIC, properties, meterRegistry);
+
+        byte[] payload = createPayload();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        int maxInFlightCount = 0;
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            futures.add(sender.send(getKey(i), payload));
+            maxInFlightCount = Math.max(maxInFlightCount, sender.getInFlightCount());
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(meterRegistry.get(AsyncMessageSender.PUBLISH_METRIC).tag("result", "success").timer().count())
+                .isEqualTo(MESSAGE_COUNT);
+        assertThat(meterRegistry.get(AsyncMessageSender.PUBLISH_METRIC).tag("result", "error").timer().count())
+                .isEqualTo(0);
+        assertThat(maxInFlightCount).isLessThanOrEqualTo(100);
+        assertThat(sender.getInFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void 응답을_기다리는_메시지가_전송_창을_넘지_않음() {
+        MessagePublisherProperties properties = new MessagePublisherProperties();
+        properties.setMaxInFlight(10);
+        AsyncMessageSender sender = createSender(BACKPRESSURE_TOPIC, properties, new SimpleMeterRegistry());
+
+        byte[] payload = createPayload();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        int maxInFlightCount = 0;
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            futures.add(sender.send(getKey(i), payload));
+            maxInFlightCount = Math.max(maxInFlightCount, sender.getInFlightCount());
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(maxInFlightCount).isLessThanOrEqualTo(10);
+        assertThat(sender.getInFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void 같은_키의_메시지는_같은_파티션으로_전송() {
+        AsyncMessageSender sender = createSender(LOCALITY_TOPIC, new MessagePublisherProperties(), new SimpleMeterRegistry());
+        byte[] payload = createPayload();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            futures.add(sender.send(getKey(i), payload));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        Map<String, Set<Integer>> keyPartitions = new HashMap<>();
+
+        try (Consumer<byte[], byte[]> consumer = createConsumer()) {
+            consumer.subscribe(Arrays.asList(LOCALITY_TOPIC));
+            int received = 0;
+            long deadline = System.currentTimeMillis() + 30_000;
+
+            while (received < MESSAGE_COUNT && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    keyPartitions.computeIfAbsent(new String(record.key(), StandardCharsets.UTF_8), key -> new HashSet<>())
+                            .add(record.partition());
+                    received++;
+                }
+            }
+
+            assertThat(received).isEqualTo(MESSAGE_COUNT);
+        }
+
+        assertThat(keyPartitions).hasSize(USER_COUNT);
+        assertThat(keyPartitions.values()).allMatch(partitions -> partitions.size() == 1);
+    }
+
+    private AsyncMessageSender createSender(String topic, MessagePublisherProperties properties, SimpleMeterRegistry meterRegistry) {
+        AsyncMessageSender sender = new AsyncMessageSender(embeddedKafka.getEmbeddedKafka().getBrokersAsString(), topic,
+                properties, meterRegistry);
+        senders.add(sender);
+
+        return sender;
+    }
+
+    private Consumer<byte[], byte[]> createConsumer() {
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("locality-test", "false", embeddedKafka.getEmbeddedKafka());
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        return new DefaultKafkaConsumerFactory<>(consumerProps, new ByteArrayDeserializer(), new ByteArrayDeserializer())
+                .createConsumer();
+    }
+
+    // 결제 완료 메시지 크기의 JSON
+    private byte[] createPayload() {
+        StringBuilder payload = new StringBuilder("{\"orderName\":\"");
+
+        while (payload.length() < 500) {
+            payload.append("상품");
+        }
+
+        return payload.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String getKey(int index) {
+        return "user-" + index % USER_COUNT;
+    }
+}
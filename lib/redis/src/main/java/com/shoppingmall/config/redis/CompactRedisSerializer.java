@@ -0,0 +1,73 @@
+package com.shoppingmall.config.redis;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * 타입이 정해진 키 전용 바이너리 직렬화 (Smile)
+ *
+ * 키마다 저장하는 타입을 미리 등록해 두므로 값마다 클래스 이름을 넣지 않고,
+ * 필드 이름은 Smile의 공유 이름 참조로 한 번만 기록함.
+ * 모르는 필드는 무시하므로 DTO에 필드를 추가해도 이전에 저장된 값을 읽을 수 있음.
+ */
+@Slf4j
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    // Smile 헤더 ":)\n" 의 첫 바이트, 이전 형식(JSON)으로 저장된 값 구분용
+    private static final byte SMILE_HEADER_FIRST_BYTE = ':';
+
+    private final ObjectMapper objectMapper;
+    private final JavaType javaType;
+
+    public CompactRedisSerializer(JavaType javaType) {
+        SmileFactory smileFactory = new SmileFactory();
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES);
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+
+        this.objectMapper = new ObjectMapper(smileFactory);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.javaType = javaType;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        try {
+            return objectMapper.writerFor(javaType).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        // 형식 변경 전에 저장된 값은 캐시 미스로 처리 (다음 갱신 때 새 형식으로 저장됨)
+        if (bytes[0] != SMILE_HEADER_FIRST_BYTE) {
+            log.debug("[CompactRedisSerializer.deserialize] 이전 형식 값 무시, 타입 : {}", javaType);
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(bytes, javaType);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+}
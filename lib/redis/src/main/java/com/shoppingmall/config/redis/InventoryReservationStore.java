@@ -0,0 +1,244 @@
+package com.shoppingmall.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 상품 재고 예약 (레디스 카운터 + Lua)
+ *
+ * 상품마다 아래 키를 같은 해시 태그({상품 id})로 두어 클러스터에서도 한 스크립트로 처리함
+ * - inventory:{id}:stock        : 예약 가능한 재고 (DB 남은 재고 - 예약 중인 수량)
+ * - inventory:{id}:reservations : 예약 id(장바구니 id) -> 수량
+ * - inventory:{id}:expiry       : 예약 id -> 만료 시각 (sorted set, 배치가 만료된 예약을 해제)
+ * - inventory:{id}:version      : 확정 횟수, 보정 중에 확정된 예약이 있으면 보정을 건너뜀
+ * 카운터가 있는 상품 id는 inventory:products 에 모아 두고 배치가 순회함.
+ *
+ * 확인과 차감을 한 스크립트에서 처리하므로 행 잠금 없이도 재고보다 많이 예약되지 않음.
+ */
+@Slf4j
+public class InventoryReservationStore {
+
+    private static final String KEY_PREFIX = "inventory:";
+    private static final String PRODUCT_IDS_KEY = "inventory:products";
+
+    // KEYS : stock, reservations, expiry / ARGV : 예약 id, 수량, 만료 시각
+    // 1 : 예약 성공(같은 예약 id가 이미 있으면 만료 시각만 갱신), -1 : 재고 부족, -2 : 카운터 없음
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then " +
+            "  redis.call('ZADD', KEYS[3], ARGV[3], ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "local count = tonumber(ARGV[2]) " +
+            "if tonumber(stock) < count then return -1 end " +
+            "redis.call('DECRBY', KEYS[1], count) " +
+            "redis.call('HSET', KEYS[2], ARGV[1], count) " +
+            "redis.call('ZADD', KEYS[3], ARGV[3], ARGV[1]) " +
+            "return 1", Long.class);
+
+    // KEYS : stock, reservations / ARGV : DB 남은 재고, 카운터가 없을 때만 예약 중인 수량을 빼고 생성
+    private static final RedisScript<Long> INIT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "local reserved = 0 " +
+            "for _, count in ipairs(redis.call('HVALS', KEYS[2])) do reserved = reserved + tonumber(count) end " +
+            "redis.call('SET', KEYS[1], math.max(tonumber(ARGV[1]) - reserved, 0)) " +
+            "return 1", Long.class);
+
+    // KEYS : stock, reservations, expiry / ARGV : 예약 id, 예약된 수량을 재고로 되돌림
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('HGET', KEYS[2], ARGV[1]) " +
+            "redis.call('ZREM', KEYS[3], ARGV[1]) " +
+            "if not count then return 0 end " +
+            "redis.call('HDEL', KEYS[2], ARGV[1]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCRBY', KEYS[1], count) end " +
+            "return 1", Long.class);
+
+    // KEYS : stock, reservations, expiry, version / ARGV : 예약 id, 수량
+    // 예약이 있으면 예약만 지우고(재고는 이미 차감됨), 만료돼 해제된 예약이면 재고를 다시 차감 (0 아래로는 내리지 않음)
+    private static final RedisScript<Long> CONFIRM_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[4]) " +
+            "redis.call('ZREM', KEYS[3], ARGV[1]) " +
+            "if redis.call('HDEL', KEYS[2], ARGV[1]) == 1 then return 1 end " +
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if stock then redis.call('SET', KEYS[1], math.max(tonumber(stock) - tonumber(ARGV[2]), 0)) end " +
+            "return 0", Long.class);
+
+    // KEYS : stock, reservations, expiry / ARGV : 현재 시각, 최대 해제 수
+    private static final RedisScript<Long> SWEEP_SCRIPT = new DefaultRedisScript<>(
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2])) " +
+            "local released = 0 " +
+            "for _, id in ipairs(expired) do " +
+            "  local count = redis.call('HGET', KEYS[2], id) " +
+            "  if count then " +
+            "    redis.call('HDEL', KEYS[2], id) " +
+            "    if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCRBY', KEYS[1], count) end " +
+            "    released = released + 1 " +
+            "  end " +
+            "  redis.call('ZREM', KEYS[3], id) " +
+            "end " +
+            "return released", Long.class);
+
+    // KEYS : stock, reservations, version / ARGV : DB 남은 재고, 보정 전에 읽은 버전
+    // 버전이 바뀌었으면(DB 반영 전후의 확정이 섞였을 수 있음) 건너뛰고 -1, 값이 바뀌면 1
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[3]) or '0') ~= ARGV[2] then return -1 end " +
+            "local reserved = 0 " +
+            "for _, count in ipairs(redis.call('HVALS', KEYS[2])) do reserved = reserved + tonumber(count) end " +
+            "local stock = math.max(tonumber(ARGV[1]) - reserved, 0) " +
+            "local before = redis.call('GET', KEYS[1]) " +
+            "redis.call('SET', KEYS[1], stock) " +
+            "if before and tonumber(before) == stock then return 0 end " +
+            "return 1", Long.class);
+
+    public enum ReserveResult {
+        RESERVED, SOLD_OUT, NOT_INITIALIZED
+    }
+
+    private final StringRedisTemplate redisTemplate;
+
+    // 재고는 복제 지연 없이 읽고 써야 하므로 마스터 연결 사용
+    public InventoryReservationStore(RedisConnectionFactory redisConnectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+    }
+
+    /**
+     * 재고 예약, 같은 예약 id가 이미 있으면 만료 시각만 ttl 후로 갱신 (결제 직전 다시 예약할 때)
+     */
+    public ReserveResult reserve(Long productId, Long reservationId, int count, Duration ttl) {
+        long expireAt = System.currentTimeMillis() + ttl.toMillis();
+        Long result = redisTemplate.execute(RESERVE_SCRIPT,
+                Arrays.asList(getStockKey(productId), getReservationsKey(productId), getExpiryKey(productId)),
+                String.valueOf(reservationId), String.valueOf(count), String.valueOf(expireAt));
+
+        if (isNull(result) || result == -2) {
+            return ReserveResult.NOT_INITIALIZED;
+        }
+
+        return result == 1 ? ReserveResult.RESERVED : ReserveResult.SOLD_OUT;
+    }
+
+    /**
+     * 카운터가 없을 때만 DB 남은 재고로 생성
+     */
+    public void initStock(Long productId, int limitCount) {
+        redisTemplate.execute(INIT_SCRIPT, Arrays.asList(getStockKey(productId), getReservationsKey(productId)),
+                String.valueOf(limitCount));
+        redisTemplate.opsForSet().add(PRODUCT_IDS_KEY, String.valueOf(productId));
+    }
+
+    /**
+     * 결제 전에 예약 취소 (장바구니 삭제)
+     */
+    public boolean release(Long productId, Long reservationId) {
+        Long result = redisTemplate.execute(RELEASE_SCRIPT,
+                Arrays.asList(getStockKey(productId), getReservationsKey(productId), getExpiryKey(productId)),
+                String.valueOf(reservationId));
+
+        return Long.valueOf(1).equals(result);
+    }
+
+    /**
+     * 결제 완료 후 예약 확정, DB 재고 차감이 커밋된 뒤에 호출
+     *
+     * @return 예약이 남아 있었으면 true, 만료돼 해제된 뒤라 재고를 다시 차감했으면 false
+     */
+    public boolean confirm(Long productId, Long reservationId, int count) {
+        Long result = redisTemplate.execute(CONFIRM_SCRIPT,
+                Arrays.asList(getStockKey(productId), getReservationsKey(productId), getExpiryKey(productId),
+                        getVersionKey(productId)),
+                String.valueOf(reservationId), String.valueOf(count));
+
+        return Long.valueOf(1).equals(result);
+    }
+
+    /**
+     * 만료된 예약을 해제하고 해제한 예약 수 반환
+     */
+    public long sweep(long now, int limitPerProduct) {
+        long released = 0;
+
+        for (Long productId : getProductIds()) {
+            Long result = redisTemplate.execute(SWEEP_SCRIPT,
+                    Arrays.asList(getStockKey(productId), getReservationsKey(productId), getExpiryKey(productId)),
+                    String.valueOf(now), String.valueOf(limitPerProduct));
+
+            released += isNull(result) ? 0 : result;
+        }
+
+        return released;
+    }
+
+    public Set<Long> getProductIds() {
+        Set<String> members = redisTemplate.opsForSet().members(PRODUCT_IDS_KEY);
+
+        return isNull(members) ? Collections.emptySet()
+                : members.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    // 보정 전에 DB보다 먼저 읽어야 함
+    public String getVersion(Long productId) {
+        String version = redisTemplate.opsForValue().get(getVersionKey(productId));
+
+        return isNull(version) ? "0" : version;
+    }
+
+    /**
+     * DB 남은 재고 - 예약 중인 수량으로 카운터 보정
+     *
+     * @param version DB 조회 전에 읽은 버전
+     * @return 카운터가 바뀌었으면 true
+     */
+    public boolean reconcile(Long productId, int limitCount, String version) {
+        Long result = redisTemplate.execute(RECONCILE_SCRIPT,
+                Arrays.asList(getStockKey(productId), getReservationsKey(productId), getVersionKey(productId)),
+                String.valueOf(limitCount), version);
+
+        if (Long.valueOf(-1).equals(result)) {
+            log.info("[InventoryReservationStore.reconcile] 보정 중 확정된 예약이 있어 다음 주기에 보정, productId : {}", productId);
+        }
+
+        return Long.valueOf(1).equals(result);
+    }
+
+    public Long getStock(Long productId) {
+        String stock = redisTemplate.opsForValue().get(getStockKey(productId));
+
+        return isNull(stock) ? null : Long.valueOf(stock);
+    }
+
+    public long getReservedCount(Long productId) {
+        List<Object> counts = redisTemplate.opsForHash().values(getReservationsKey(productId));
+
+        return counts.stream().mapToLong(count -> Long.parseLong(count.toString())).sum();
+    }
+
+    private String getStockKey(Long productId) {
+        return KEY_PREFIX + "{" + productId + "}:stock";
+    }
+
+    private String getReservationsKey(Long productId) {
+        return KEY_PREFIX + "{" + productId + "}:reservations";
+    }
+
+    private String getExpiryKey(Long productId) {
+        return KEY_PREFIX + "{" + productId + "}:expiry";
+    }
+
+    private String getVersionKey(Long productId) {
+        return KEY_PREFIX + "{" + productId + "}:version";
+    }
+}
@@ -0,0 +1,65 @@
+package com.shoppingmall.config.redis;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ValueOperations, ZSetOperations 등 레디스 연산 인터페이스를 감싸 명령별 응답 시간과 조회 hit/miss를 기록 (RedisMetrics)
+ *
+ * 첫 번째 인자를 키로 보고 prefix 별로 집계함. 조회 명령은 결과가 null이거나 빈 컬렉션이면 miss.
+ */
+public final class MeteredOperations {
+
+    private static final Set<String> LOOKUP_COMMANDS = new HashSet<>(Arrays.asList(
+            "get", "multiGet", "range", "reverseRange", "rangeWithScores", "reverseRangeWithScores",
+            "rangeByScore", "reverseRangeByScore", "rangeByScoreWithScores", "reverseRangeByScoreWithScores",
+            "score", "rank", "reverseRank", "entries", "values", "members"));
+
+    private MeteredOperations() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> operationsType, T operations, RedisMetrics redisMetrics) {
+        return (T) Proxy.newProxyInstance(operationsType.getClassLoader(), new Class<?>[]{operationsType},
+                (proxy, method, args) -> invoke(operations, method, args, redisMetrics));
+    }
+
+    private static Object invoke(Object operations, Method method, Object[] args, RedisMetrics redisMetrics) throws Throwable {
+        // getOperations 등 키가 없는 메서드는 기록하지 않음
+        if (args == null || args.length == 0 || !(args[0] instanceof String)) {
+            return invokeTarget(operations, method, args);
+        }
+
+        String key = (String) args[0];
+        long start = System.nanoTime();
+        Object result = invokeTarget(operations, method, args);
+
+        redisMetrics.recordCommand(key, method.getName(), System.nanoTime() - start);
+
+        if (LOOKUP_COMMANDS.contains(method.getName())) {
+            redisMetrics.recordLookup(key, !isEmpty(result));
+        }
+
+        return result;
+    }
+
+    private static Object invokeTarget(Object operations, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(operations, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isEmpty(Object result) {
+        return result == null
+                || (result instanceof Collection && ((Collection<?>) result).isEmpty())
+                || (result instanceof Map && ((Map<?, ?>) result).isEmpty());
+    }
+}
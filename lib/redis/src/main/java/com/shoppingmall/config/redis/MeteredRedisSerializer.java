@@ -0,0 +1,48 @@
+package com.shoppingmall.config.redis;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 값 직렬화 시간, 직렬화된 크기 기록 (RedisMetrics)
+ */
+public class MeteredRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final String prefix;
+    private final RedisMetrics redisMetrics;
+
+    public MeteredRedisSerializer(RedisSerializer<T> delegate, String prefix, RedisMetrics redisMetrics) {
+        this.delegate = delegate;
+        this.prefix = prefix;
+        this.redisMetrics = redisMetrics;
+    }
+
+    public RedisSerializer<T> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        long start = System.nanoTime();
+        byte[] bytes = delegate.serialize(value);
+
+        if (bytes != null) {
+            redisMetrics.recordSerialization(prefix, "serialize", bytes.length, System.nanoTime() - start);
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        long start = System.nanoTime();
+        T value = delegate.deserialize(bytes);
+
+        if (bytes != null) {
+            redisMetrics.recordSerialization(prefix, "deserialize", bytes.length, System.nanoTime() - start);
+        }
+
+        return value;
+    }
+}
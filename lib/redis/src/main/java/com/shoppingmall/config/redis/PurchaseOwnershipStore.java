@@ -0,0 +1,100 @@
+package com.shoppingmall.config.redis;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 회원별 구매한 상품 id 집합 (리뷰 작성 권한 확인용)
+ *
+ * purchasedProducts:{회원 id} set 에 상품 id를 저장하고, DB에서 한 번 채운 집합에는 0(LOADED_MARKER)을 함께 넣어
+ * 구매 내역이 없는 회원과 아직 채우지 않은 회원을 구분함.
+ * - 결제 완료 : order-server가 주문된 상품 id를 추가 (채우기 전이면 0이 없으므로 다음 조회 때 DB에서 다시 채움)
+ * - 조회 : 집합에 있으면 구매, 0만 있으면 미구매, 0도 없으면 DB에서 채운 뒤 확인
+ */
+public class PurchaseOwnershipStore {
+
+    private static final String KEY_PREFIX = "purchasedProducts:";
+    private static final String LOADED_MARKER = "0";
+    // 오래 접속하지 않은 회원의 집합은 만료시키고 다음 조회 때 DB에서 다시 채움
+    private static final Duration EXPIRE_TIME = Duration.ofDays(30);
+
+    // KEYS : 집합 / ARGV : 상품 id, 0
+    // 1 : 구매, 0 : 미구매, -1 : 채우기 전
+    private static final RedisScript<Long> CONTAINS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 1 end " +
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[2]) == 1 then return 0 end " +
+            "return -1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    // 결제 직후 리뷰 작성 화면으로 이동하므로 복제 지연 없이 마스터에서 읽음
+    public PurchaseOwnershipStore(RedisConnectionFactory redisConnectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        this.redisTemplate.afterPropertiesSet();
+    }
+
+    /**
+     * @return 구매했으면 true, 구매하지 않았으면 false, 아직 채우지 않은 회원이면 null
+     */
+    public Boolean contains(UUID userId, Long productId) {
+        Long result = redisTemplate.execute(CONTAINS_SCRIPT, Collections.singletonList(getKey(userId)),
+                String.valueOf(productId), LOADED_MARKER);
+
+        if (isNull(result) || result == -1) {
+            return null;
+        }
+
+        return result == 1;
+    }
+
+    /**
+     * 결제 완료 시 구매한 상품 추가
+     */
+    public void add(UUID userId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        String key = getKey(userId);
+        redisTemplate.opsForSet().add(key, toMembers(productIds));
+        redisTemplate.expire(key, EXPIRE_TIME);
+    }
+
+    /**
+     * DB에서 조회한 구매 상품 전체로 채움, 채우는 동안 결제 완료로 추가된 상품은 그대로 유지됨
+     */
+    public void fill(UUID userId, Collection<Long> productIds) {
+        List<String> members = new ArrayList<>(Collections.singletonList(LOADED_MARKER));
+        Collections.addAll(members, toMembers(productIds));
+
+        String key = getKey(userId);
+        redisTemplate.opsForSet().add(key, members.toArray(new String[0]));
+        redisTemplate.expire(key, EXPIRE_TIME);
+    }
+
+    /**
+     * 집합 삭제, 다음 조회 때 DB에서 다시 채움
+     */
+    public void evict(UUID userId) {
+        redisTemplate.delete(getKey(userId));
+    }
+
+    private String[] toMembers(Collection<Long> productIds) {
+        return productIds.stream().map(String::valueOf).toArray(String[]::new);
+    }
+
+    private String getKey(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,247 @@
+package com.shoppingmall.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * 레디스 캐시가 비어 있을 때(flush, failover, 첫 기동) 다시 채우는 로더
+ *
+ * - 서버 내 : 같은 키는 한 스레드만 다시 계산하고 나머지 스레드는 그 결과를 기다림 (single-flight)
+ * - 서버 간 : 레디스 락을 얻은 서버만 DB에서 계산해 레디스에 저장하고, 나머지 서버는 저장될 때까지 잠시 기다림
+ * - stale-while-revalidate : 키별 마지막 값을 메모리에 두고, 캐시가 비어 있으면 이전 값을 바로 반환하면서
+ *   soft TTL이 지난 경우에만 뒤에서 다시 계산함
+ *
+ * 캐시가 있을 때는 레디스 조회 결과를 remember로 기록만 하므로 평소 조회 경로에는 영향이 없음.
+ */
+@Slf4j
+public class RedisCacheLoader {
+
+    // 락을 얻은 서버가 DB 조회, 저장을 끝내야 하는 시간 (서버가 죽어도 이후에는 다른 서버가 락을 얻음)
+    private static final long LOCK_EXPIRE_MILLIS = 10_000L;
+    // 락을 얻지 못한 서버가 레디스를 다시 읽는 횟수, 간격
+    private static final int WAIT_RETRY_COUNT = 5;
+    private static final long WAIT_INTERVAL_MILLIS = 100L;
+
+    // KEYS : 락 키 / ARGV : 토큰, 자신이 건 락만 해제
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, LocalEntry> localEntries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> inFlights = new ConcurrentHashMap<>();
+    private final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "redis-cache-loader");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    public RedisCacheLoader(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 레디스에서 읽은 값을 마지막 값으로 기록하고 그대로 반환
+     */
+    public <T> T remember(String key, T value) {
+        if (!isEmpty(value)) {
+            localEntries.put(key, new LocalEntry(value));
+        }
+
+        return value;
+    }
+
+    /**
+     * 원본 데이터가 바뀌어 기록해 둔 이전 값을 더 이상 쓰면 안 될 때 호출, 다음 조회부터 다시 계산함
+     */
+    public void forget(String key) {
+        localEntries.remove(key);
+    }
+
+    /**
+     * 레디스 캐시가 비어 있을 때 호출
+     *
+     * @param reader   레디스 조회, 없으면 null 또는 빈 컬렉션
+     * @param dbLoader DB 조회
+     * @param writer   레디스 저장, null이면 저장하지 않는 캐시로 보고 서버 간 락 없이 서버 내 single-flight만 적용
+     * @return 다시 계산한 값, 이전 값, DB 조회도 실패하면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Duration softTtl, Supplier<T> reader, Supplier<T> dbLoader, Consumer<T> writer) {
+        LocalEntry entry = localEntries.get(key);
+
+        if (nonNull(entry)) {
+            if (entry.isStale(softTtl)) {
+                revalidate(key, reader, dbLoader, writer);
+            }
+
+            return (T) entry.getValue();
+        }
+
+        try {
+            return (T) revalidate(key, reader, dbLoader, writer).join();
+        } catch (Exception e) {
+            log.error("[RedisCacheLoader.load] 캐시 다시 계산 실패, key : {}, {}", key, e.toString());
+            return null;
+        }
+    }
+
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    // 이미 계산 중이면 그 결과를 공유
+    private <T> CompletableFuture<Object> revalidate(String key, Supplier<T> reader, Supplier<T> dbLoader, Consumer<T> writer) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlights.putIfAbsent(key, future);
+
+        if (nonNull(inFlight)) {
+            return inFlight;
+        }
+
+        executorService.execute(() -> {
+            try {
+                Object value = fetch(key, reader, dbLoader, writer);
+
+                // 빈 값도 기록해야 DB에 데이터가 없을 때 soft TTL 동안 다시 계산하지 않음
+                localEntries.put(key, new LocalEntry(value));
+                future.complete(value);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlights.remove(key, future);
+            }
+        });
+
+        return future;
+    }
+
+    private <T> T fetch(String key, Supplier<T> reader, Supplier<T> dbLoader, Consumer<T> writer) throws InterruptedException {
+        T value = read(key, reader);
+
+        if (!isEmpty(value) || isNull(writer)) {
+            return isEmpty(value) ? dbLoader.get() : value;
+        }
+
+        String lockKey = getLockKey(key);
+        String token = UUID.randomUUID().toString();
+
+        if (tryLock(lockKey, token)) {
+            try {
+                value = dbLoader.get();
+                write(key, writer, value);
+
+                return value;
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+
+        // 다른 서버가 계산 중이므로 저장될 때까지 기다림
+        for (int i = 0; i < WAIT_RETRY_COUNT; i++) {
+            Thread.sleep(WAIT_INTERVAL_MILLIS);
+            value = read(key, reader);
+
+            if (!isEmpty(value)) {
+                return value;
+            }
+        }
+
+        // 기다려도 없으면 DB 결과를 저장하지 않고 사용 (soft TTL 동안 메모리 값을 재사용하므로 DB 조회가 반복되지 않음)
+        return dbLoader.get();
+    }
+
+    // 레디스 장애도 캐시가 없는 것으로 보고 DB에서 읽음
+    private <T> T read(String key, Supplier<T> reader) {
+        try {
+            return reader.get();
+        } catch (Exception e) {
+            log.warn("[RedisCacheLoader.read] 레디스 조회 실패, key : {}, {}", key, e.toString());
+            return null;
+        }
+    }
+
+    private <T> void write(String key, Consumer<T> writer, T value) {
+        try {
+            writer.accept(value);
+        } catch (Exception e) {
+            log.warn("[RedisCacheLoader.write] 레디스 저장 실패, key : {}, {}", key, e.toString());
+        }
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            Boolean locked = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.set(
+                    RedisSerializer.string().serialize(lockKey), RedisSerializer.string().serialize(token),
+                    Expiration.milliseconds(LOCK_EXPIRE_MILLIS), RedisStringCommands.SetOption.ifAbsent()));
+
+            return Boolean.TRUE.equals(locked);
+        } catch (Exception e) {
+            log.warn("[RedisCacheLoader.tryLock] 락 획득 실패, key : {}, {}", lockKey, e.toString());
+            return false;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER,
+                    Collections.singletonList(lockKey), token);
+        } catch (Exception e) {
+            log.warn("[RedisCacheLoader.unlock] 락 해제 실패, key : {}, {}", lockKey, e.toString());
+        }
+    }
+
+    // 클러스터에서 원래 키와 같은 슬롯에 위치하도록 해시 태그 사용
+    private String getLockKey(String key) {
+        return "{" + key + "}:lock";
+    }
+
+    private boolean isEmpty(Object value) {
+        return isNull(value)
+                || (value instanceof Collection && ((Collection<?>) value).isEmpty())
+                || (value instanceof Map && ((Map<?, ?>) value).isEmpty());
+    }
+
+    private static class LocalEntry {
+
+        private final Object value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private LocalEntry(Object value) {
+            this.value = value;
+        }
+
+        private Object getValue() {
+            return value;
+        }
+
+        private boolean isStale(Duration softTtl) {
+            return System.currentTimeMillis() - loadedAt > softTtl.toMillis();
+        }
+    }
+}
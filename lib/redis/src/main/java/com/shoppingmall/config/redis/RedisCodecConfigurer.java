@@ -0,0 +1,10 @@
+package com.shoppingmall.config.redis;
+
+/**
+ * 각 서버에서 키 prefix 별 직렬화 타입을 등록할 때 구현하는 빈
+ */
+public interface RedisCodecConfigurer {
+
+    void configure(RedisCodecRegistry registry);
+
+}
@@ -0,0 +1,134 @@
+package com.shoppingmall.config.redis;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키 prefix 별 값 직렬화 선택
+ *
+ * 등록한 prefix로 시작하는 키는 해당 타입 전용 바이너리 직렬화(CompactRedisSerializer) 템플릿을 사용하고,
+ * 등록하지 않은 키는 기본 템플릿(redisCustomTemplate, 클래스 이름을 포함한 JSON)을 사용함.
+ * 같은 키를 쓰고 읽는 서버는 모두 같은 타입으로 등록해야 함.
+ * prefix 마다 마스터 템플릿(getTemplate)과 레플리카 우선 읽기 템플릿(getReadTemplate)을 함께 만듦.
+ * get...Operations는 명령별 응답 시간, hit/miss를 기록하는 연산을 반환함 (RedisMetrics).
+ */
+public class RedisCodecRegistry {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisConnectionFactory redisReadConnectionFactory;
+    private final RedisTemplate<String, Object> defaultTemplate;
+    private final RedisTemplate<String, Object> defaultReadTemplate;
+    private final RedisMetrics redisMetrics;
+    private final Map<String, RedisTemplate<String, Object>> templates = new ConcurrentHashMap<>();
+    private final Map<String, RedisTemplate<String, Object>> readTemplates = new ConcurrentHashMap<>();
+    private final Map<RedisTemplate<String, Object>, ValueOperations<String, Object>> valueOperations = new ConcurrentHashMap<>();
+    private final Map<RedisTemplate<String, Object>, ZSetOperations<String, Object>> zSetOperations = new ConcurrentHashMap<>();
+
+    public RedisCodecRegistry(RedisConnectionFactory redisConnectionFactory, RedisConnectionFactory redisReadConnectionFactory,
+                              RedisTemplate<String, Object> defaultTemplate, RedisTemplate<String, Object> defaultReadTemplate,
+                              RedisMetrics redisMetrics) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.redisReadConnectionFactory = redisReadConnectionFactory;
+        this.defaultTemplate = defaultTemplate;
+        this.defaultReadTemplate = defaultReadTemplate;
+        this.redisMetrics = redisMetrics;
+    }
+
+    public void register(String keyPrefix, Class<?> type) {
+        register(keyPrefix, TypeFactory.defaultInstance().constructType(type));
+    }
+
+    public void register(String keyPrefix, JavaType type) {
+        RedisSerializer<Object> serializer = new MeteredRedisSerializer<>(new CompactRedisSerializer<>(type), keyPrefix, redisMetrics);
+
+        redisMetrics.addKeyPrefix(keyPrefix);
+
+        templates.put(keyPrefix, createTemplate(redisConnectionFactory, serializer));
+        readTemplates.put(keyPrefix, createTemplate(redisReadConnectionFactory, serializer));
+    }
+
+    /**
+     * 키에 맞는 템플릿, 여러 prefix가 맞으면 가장 긴 prefix 우선
+     */
+    public RedisTemplate<String, Object> getTemplate(String key) {
+        String matchedPrefix = findPrefix(key);
+
+        return matchedPrefix == null ? defaultTemplate : templates.get(matchedPrefix);
+    }
+
+    /**
+     * 레플리카 우선 읽기 템플릿, 복제 지연만큼 이전 값을 읽어도 되는 조회에만 사용
+     * (쓰기 직후 같은 값을 다시 읽어야 하는 경우는 getTemplate 사용)
+     */
+    public RedisTemplate<String, Object> getReadTemplate(String key) {
+        String matchedPrefix = findPrefix(key);
+
+        return matchedPrefix == null ? defaultReadTemplate : readTemplates.get(matchedPrefix);
+    }
+
+    public ValueOperations<String, Object> getValueOperations(String key) {
+        return getValueOperations(getTemplate(key));
+    }
+
+    public ValueOperations<String, Object> getReadValueOperations(String key) {
+        return getValueOperations(getReadTemplate(key));
+    }
+
+    public ZSetOperations<String, Object> getZSetOperations(String key) {
+        return getZSetOperations(getTemplate(key));
+    }
+
+    public ZSetOperations<String, Object> getReadZSetOperations(String key) {
+        return getZSetOperations(getReadTemplate(key));
+    }
+
+    public RedisMetrics getRedisMetrics() {
+        return redisMetrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, Object> getValueOperations(RedisTemplate<String, Object> redisTemplate) {
+        return valueOperations.computeIfAbsent(redisTemplate,
+                template -> MeteredOperations.wrap(ValueOperations.class, template.opsForValue(), redisMetrics));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ZSetOperations<String, Object> getZSetOperations(RedisTemplate<String, Object> redisTemplate) {
+        return zSetOperations.computeIfAbsent(redisTemplate,
+                template -> MeteredOperations.wrap(ZSetOperations.class, template.opsForZSet(), redisMetrics));
+    }
+
+    private RedisTemplate<String, Object> createTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                        RedisSerializer<Object> serializer) {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(serializer);
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(serializer);
+        redisTemplate.afterPropertiesSet();
+
+        return redisTemplate;
+    }
+
+    private String findPrefix(String key) {
+        String matchedPrefix = null;
+
+        for (String keyPrefix : templates.keySet()) {
+            if (key.startsWith(keyPrefix) && (matchedPrefix == null || keyPrefix.length() > matchedPrefix.length())) {
+                matchedPrefix = keyPrefix;
+            }
+        }
+
+        return matchedPrefix;
+    }
+}
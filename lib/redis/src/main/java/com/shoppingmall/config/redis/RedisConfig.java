@@ -4,24 +4,50 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.StringUtils;
 
+/**
+ * 레디스 연결 설정
+ *
+ * spring.redis.topology 로 구성 선택
+ * - standalone (기본) : spring.redis.host, spring.redis.port 단일 노드
+ * - replica : spring.redis.host, spring.redis.port 가 마스터, spring.redis.replica.nodes (host:port,host:port) 가 레플리카
+ * - cluster : spring.redis.cluster.nodes (host:port,host:port) 클러스터
+ *
+ * 기본 연결(redisConnectionFactory)은 읽기, 쓰기 모두 마스터로 보내고,
+ * 읽기 전용 연결(redisReadConnectionFactory)은 읽기 명령을 레플리카 우선으로 보냄 (레플리카가 없으면 마스터).
+ * 읽기 전용 연결은 복제 지연만큼 이전 값을 읽어도 되는 조회에만 사용 (RedisCodecRegistry.getReadTemplate).
+ */
 @EnableCaching
 @Configuration
 public class RedisConfig extends CachingConfigurerSupport {
+
+    private final static String TOPOLOGY_REPLICA = "replica";
+    private final static String TOPOLOGY_CLUSTER = "cluster";
+
     @Value("${spring.redis.host}")
     private String redisHost;
 
@@ -31,6 +57,21 @@ public class RedisConfig extends CachingConfigurerSupport {
     @Value("${spring.redis.port}")
     private int redisPort;
 
+    @Value("${spring.redis.topology:standalone}")
+    private String topology;
+
+    @Value("${spring.redis.replica.nodes:}")
+    private String replicaNodes;
+
+    @Value("${spring.redis.cluster.nodes:}")
+    private String clusterNodes;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public RedisConfig(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
 //    @Bean
 //    public RedisCommands<String, Object> redisSyncCommands() {
 //        RedisClient redisClient = RedisClient.create("redis://" + password + "@" + redisHost + ":" + redisPort);
@@ -40,8 +81,45 @@ public class RedisConfig extends CachingConfigurerSupport {
 //    }
 
     @Bean
+    @Primary
     @ConditionalOnMissingBean(RedisConnectionFactory.class)
     public RedisConnectionFactory redisConnectionFactory() {
+        return createConnectionFactory(ReadFrom.MASTER);
+    }
+
+    // 복제 지연을 허용하는 읽기 전용 조회용 연결
+    @Bean
+    public RedisConnectionFactory redisReadConnectionFactory() {
+        return createConnectionFactory(ReadFrom.SLAVE_PREFERRED);
+    }
+
+    private LettuceConnectionFactory createConnectionFactory(ReadFrom readFrom) {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(readFrom)
+                .build();
+
+        if (TOPOLOGY_CLUSTER.equals(topology)) {
+            RedisClusterConfiguration redisClusterConfiguration =
+                    new RedisClusterConfiguration(StringUtils.commaDelimitedListToSet(clusterNodes));
+            redisClusterConfiguration.setPassword(password);
+
+            return new LettuceConnectionFactory(redisClusterConfiguration, clientConfiguration);
+        }
+
+        if (TOPOLOGY_REPLICA.equals(topology)) {
+            RedisStaticMasterReplicaConfiguration redisMasterReplicaConfiguration =
+                    new RedisStaticMasterReplicaConfiguration(redisHost, redisPort);
+            redisMasterReplicaConfiguration.setPassword(password);
+
+            for (String node : StringUtils.commaDelimitedListToSet(replicaNodes)) {
+                String[] hostAndPort = node.trim().split(":");
+                redisMasterReplicaConfiguration.node(hostAndPort[0], Integer.parseInt(hostAndPort[1]));
+            }
+
+            return new LettuceConnectionFactory(redisMasterReplicaConfiguration, clientConfiguration);
+        }
+
+        // 단일 노드는 읽을 수 있는 노드가 하나뿐이므로 readFrom 없이 연결
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
         redisStandaloneConfiguration.setHostName(redisHost);
         redisStandaloneConfiguration.setPassword(password);
@@ -51,29 +129,101 @@ public class RedisConfig extends CachingConfigurerSupport {
     }
 
     @Bean(name = "redisCustomTemplate")
+    @Primary
     public RedisTemplate<String, Object> redisTemplate() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT);
-        objectMapper.registerModule(new JavaTimeModule());
+        return createRedisTemplate(redisConnectionFactory());
+    }
+
+    // 레플리카 우선 읽기 템플릿, 쓰기 명령은 이 템플릿으로 보내도 마스터로 감
+    @Bean(name = "redisReadTemplate")
+    public RedisTemplate<String, Object> redisReadTemplate() {
+        return createRedisTemplate(redisReadConnectionFactory());
+    }
+
+    private RedisTemplate<String, Object> createRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        MeteredRedisSerializer<Object> valueSerializer =
+                new MeteredRedisSerializer<>(jsonRedisSerializer(), RedisMetrics.DEFAULT_PREFIX, redisMetrics());
 
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+        redisTemplate.setValueSerializer(valueSerializer);
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+        redisTemplate.setHashValueSerializer(valueSerializer);
 
         return redisTemplate;
     }
 
+    // 기본 값 직렬화 (클래스 이름을 포함한 JSON), 직렬화 벤치마크에서도 사용
+    public static GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT);
+        objectMapper.registerModule(new JavaTimeModule());
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    // 레디스 접근 지표, actuator가 없는 서버는 전역 레지스트리(기록만 하고 노출하지 않음) 사용
+    @Bean
+    public RedisMetrics redisMetrics() {
+        return new RedisMetrics(meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     @Bean
+    @SuppressWarnings("unchecked")
     public ZSetOperations<String, Object> zSetOperations() {
-        return redisTemplate().opsForZSet();
+        return MeteredOperations.wrap(ZSetOperations.class, redisTemplate().opsForZSet(), redisMetrics());
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public ValueOperations<String, Object> valueOperations() {
+        return MeteredOperations.wrap(ValueOperations.class, redisTemplate().opsForValue(), redisMetrics());
+    }
+
+    // 키 prefix 별 값 직렬화 선택, 각 서버의 RedisCodecConfigurer 빈에서 등록
+    @Bean
+    public RedisCodecRegistry redisCodecRegistry(ObjectProvider<RedisCodecConfigurer> redisCodecConfigurers) {
+        RedisCodecRegistry redisCodecRegistry = new RedisCodecRegistry(redisConnectionFactory(), redisReadConnectionFactory(),
+                redisTemplate(), redisReadTemplate(), redisMetrics());
+        redisCodecConfigurers.orderedStream().forEach(configurer -> configurer.configure(redisCodecRegistry));
+
+        return redisCodecRegistry;
     }
 
+    // 목록 캐시를 임시 키에 만든 뒤 한 번에 교체
     @Bean
-    public ValueOperations<String, Object> valueOperations() { return redisTemplate().opsForValue(); }
+    public RedisSnapshotPublisher redisSnapshotPublisher(RedisCodecRegistry redisCodecRegistry) {
+        return new RedisSnapshotPublisher(redisCodecRegistry);
+    }
+
+    // 캐시가 비어 있을 때 한 번만 다시 계산 (락은 마스터에 걸어야 하므로 기본 템플릿 사용)
+    @Bean
+    public RedisCacheLoader redisCacheLoader() {
+        return new RedisCacheLoader(redisTemplate());
+    }
+
+    // 상품 재고 예약 (마스터 연결)
+    @Bean
+    public InventoryReservationStore inventoryReservationStore() {
+        return new InventoryReservationStore(redisConnectionFactory());
+    }
+
+    // 회원별 구매 상품 집합 (마스터 연결)
+    @Bean
+    public PurchaseOwnershipStore purchaseOwnershipStore() {
+        return new PurchaseOwnershipStore(redisConnectionFactory());
+    }
+
+    // 서버 인스턴스 간 캐시 무효화 등 pub/sub 메시지 수신용
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+
+        return container;
+    }
 
 //    @Bean
 //    @Override
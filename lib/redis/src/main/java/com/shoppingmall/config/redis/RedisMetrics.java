@@ -0,0 +1,117 @@
+package com.shoppingmall.config.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레디스 접근 지표 (/actuator/metrics)
+ *
+ * - redis.command : 명령별 응답 시간 (histogram), tag : prefix, command
+ * - redis.cache.requests : 조회 결과 hit/miss 수, tag : prefix, result
+ * - redis.payload.size : 직렬화된 값 크기 (byte), tag : prefix, operation(serialize/deserialize)
+ * - redis.serialization : 직렬화 시간, tag : prefix, operation(serialize/deserialize)
+ *
+ * 키에 상품 id 등이 붙어 tag 값이 늘어나지 않도록 키 대신 prefix로 집계함.
+ * RedisCodecRegistry에 등록한 prefix는 그대로, 등록하지 않은 키는 첫 ':' 앞까지를 prefix로 사용하고,
+ * 해시 태그가 붙은 임시 키, 버전 키, 락 키({키}:...)는 원래 키로 집계함.
+ */
+public class RedisMetrics {
+
+    public static final String DEFAULT_PREFIX = "default";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> keyPrefixes = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> commandTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> requestCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Timer> serializationTimers = new ConcurrentHashMap<>();
+
+    public RedisMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void addKeyPrefix(String keyPrefix) {
+        keyPrefixes.add(keyPrefix);
+    }
+
+    public void recordCommand(String key, String command, long elapsedNanos) {
+        String prefix = getKeyPrefix(key);
+
+        commandTimers.computeIfAbsent(prefix + "|" + command, id -> Timer.builder("redis.command")
+                .description("레디스 명령 응답 시간")
+                .tag("prefix", prefix)
+                .tag("command", command)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLookup(String key, boolean hit) {
+        String prefix = getKeyPrefix(key);
+        String result = hit ? "hit" : "miss";
+
+        requestCounters.computeIfAbsent(prefix + "|" + result, id -> Counter.builder("redis.cache.requests")
+                .description("레디스 조회 hit/miss 수")
+                .tag("prefix", prefix)
+                .tag("result", result)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * 직렬화 지표는 템플릿 단위로 기록하므로 키 대신 템플릿의 prefix를 받음
+     */
+    public void recordSerialization(String prefix, String operation, int payloadSize, long elapsedNanos) {
+        String id = prefix + "|" + operation;
+
+        payloadSummaries.computeIfAbsent(id, ignored -> DistributionSummary.builder("redis.payload.size")
+                .description("직렬화된 값 크기")
+                .baseUnit("bytes")
+                .tag("prefix", prefix)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(payloadSize);
+
+        serializationTimers.computeIfAbsent(id, ignored -> Timer.builder("redis.serialization")
+                .description("값 직렬화 시간")
+                .tag("prefix", prefix)
+                .tag("operation", operation)
+                .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String getKeyPrefix(String key) {
+        if (key == null) {
+            return DEFAULT_PREFIX;
+        }
+
+        // 해시 태그 키는 원래 키 기준
+        if (key.startsWith("{") && key.indexOf('}') > 0) {
+            key = key.substring(1, key.indexOf('}'));
+        }
+
+        String matchedPrefix = null;
+
+        for (String keyPrefix : keyPrefixes) {
+            if (key.startsWith(keyPrefix) && (matchedPrefix == null || keyPrefix.length() > matchedPrefix.length())) {
+                matchedPrefix = keyPrefix;
+            }
+        }
+
+        if (matchedPrefix != null) {
+            return matchedPrefix;
+        }
+
+        int separatorIndex = key.indexOf(':');
+
+        return separatorIndex < 0 ? key : key.substring(0, separatorIndex + 1);
+    }
+}
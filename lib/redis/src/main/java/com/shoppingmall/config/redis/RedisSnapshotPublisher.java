@@ -0,0 +1,171 @@
+package com.shoppingmall.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 레디스 캐시 스냅샷 발행
+ *
+ * 기존 키를 지우고 하나씩 다시 채우면 그 사이에 조회하는 쪽에서 빈 목록이나 일부만 채워진 목록을 보게 되므로,
+ * 임시 키에 새 목록을 한 번의 파이프라인으로 만든 뒤 Lua 스크립트로 RENAME 해서 한 번에 교체함.
+ * 임시 키, 버전 키는 해시 태그({키})를 붙여 클러스터에서도 원래 키와 같은 슬롯에 위치하도록 함.
+ */
+@Slf4j
+public class RedisSnapshotPublisher {
+
+    // 발행 도중 서버가 죽어도 임시 키가 남지 않도록 임시 키에만 거는 만료 시간
+    private static final long TEMP_KEY_EXPIRE_SECONDS = 60L;
+    // ZADD 한 번에 보내는 member 수
+    private static final int ZADD_CHUNK_SIZE = 1000;
+
+    // KEYS : 키, 임시 키, (버전 키) / ARGV : ttl(ms, 0이면 만료 없음)
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then " +
+            "  redis.call('RENAME', KEYS[2], KEYS[1]) " +
+            "else " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "local ttl = tonumber(ARGV[1]) " +
+            "if ttl > 0 then redis.call('PEXPIRE', KEYS[1], ttl) else redis.call('PERSIST', KEYS[1]) end " +
+            "if #KEYS > 2 then return redis.call('INCR', KEYS[3]) end " +
+            "return 0", Long.class);
+
+    // KEYS : 키, (버전 키) / ARGV : 값, ttl(ms, 0이면 만료 없음)
+    private static final RedisScript<Long> SET_SCRIPT = new DefaultRedisScript<>(
+            "local ttl = tonumber(ARGV[2]) " +
+            "if ttl > 0 then redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl) else redis.call('SET', KEYS[1], ARGV[1]) end " +
+            "if #KEYS > 1 then return redis.call('INCR', KEYS[2]) end " +
+            "return 0", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisCodecRegistry redisCodecRegistry;
+
+    public RedisSnapshotPublisher(RedisCodecRegistry redisCodecRegistry) {
+        this.redisCodecRegistry = redisCodecRegistry;
+    }
+
+    /**
+     * sorted set 전체 교체, 버전을 사용하면 증가된 버전을 반환하고 아니면 0 반환
+     */
+    public <T> Long publishSortedSet(String key, Collection<T> members, ToDoubleFunction<T> scoreFunction,
+                                     SnapshotOptions options) {
+        // 임시 키도 원래 키와 같은 직렬화를 사용해야 하므로 원래 키 기준으로 템플릿 선택
+        RedisTemplate<String, Object> redisTemplate = redisCodecRegistry.getTemplate(key);
+        String tempKey = getTempKey(key);
+        long start = System.nanoTime();
+
+        List<Set<ZSetOperations.TypedTuple<Object>>> chunks = new ArrayList<>();
+        Set<ZSetOperations.TypedTuple<Object>> chunk = new HashSet<>();
+
+        for (T member : members) {
+            chunk.add(new DefaultTypedTuple<>(member, scoreFunction.applyAsDouble(member)));
+
+            if (chunk.size() == ZADD_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new HashSet<>();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        // 임시 키 구성 (한 번의 왕복)
+        if (!chunks.isEmpty()) {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (Set<ZSetOperations.TypedTuple<Object>> tuples : chunks) {
+                        operations.opsForZSet().add(tempKey, tuples);
+                    }
+                    operations.expire(tempKey, TEMP_KEY_EXPIRE_SECONDS, TimeUnit.SECONDS);
+
+                    return null;
+                }
+            });
+        }
+
+        // 교체 (한 번의 왕복), 새 목록이 비어 있으면 기존 키 삭제
+        Long version = redisTemplate.execute(SWAP_SCRIPT, RedisSerializer.string(), LONG_SERIALIZER,
+                getKeys(key, tempKey, options), String.valueOf(options.getTtlMillis()));
+
+        redisCodecRegistry.getRedisMetrics().recordCommand(key, "publishSortedSet", System.nanoTime() - start);
+        log.debug("[RedisSnapshotPublisher.publishSortedSet] key : {}, member 수 : {}, 버전 : {}", key, members.size(), version);
+
+        return version;
+    }
+
+    /**
+     * 단일 값 교체, 버전을 사용하면 값 저장과 버전 증가를 함께 처리
+     */
+    public Long publishValue(String key, Object value, SnapshotOptions options) {
+        RedisTemplate<String, Object> redisTemplate = redisCodecRegistry.getTemplate(key);
+        long start = System.nanoTime();
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+
+        if (options.isVersioned()) {
+            keys.add(getVersionKey(key));
+        }
+
+        // 값은 키에 맞는 직렬화, ttl은 문자열로 보내야 하므로 직접 직렬화
+        @SuppressWarnings("unchecked")
+        byte[] valueBytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        byte[] ttlBytes = RedisSerializer.string().serialize(String.valueOf(options.getTtlMillis()));
+
+        Long version = redisTemplate.execute(SET_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER, keys, valueBytes, ttlBytes);
+
+        redisCodecRegistry.getRedisMetrics().recordCommand(key, "publishValue", System.nanoTime() - start);
+
+        return version;
+    }
+
+    /**
+     * 현재 발행된 버전, 발행한 적이 없으면 0
+     */
+    public long getVersion(String key) {
+        Object version = redisCodecRegistry.getValueOperations(getVersionKey(key)).get(getVersionKey(key));
+
+        return version == null ? 0L : RedisValues.toLong(version);
+    }
+
+    public static String getVersionKey(String key) {
+        return "{" + key + "}:version";
+    }
+
+    private static String getTempKey(String key) {
+        return "{" + key + "}:tmp:" + UUID.randomUUID();
+    }
+
+    private static List<String> getKeys(String key, String tempKey, SnapshotOptions options) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        keys.add(tempKey);
+
+        if (options.isVersioned()) {
+            keys.add(getVersionKey(key));
+        }
+
+        return keys;
+    }
+}
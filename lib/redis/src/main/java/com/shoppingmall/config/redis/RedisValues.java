@@ -0,0 +1,20 @@
+package com.shoppingmall.config.redis;
+
+import static java.util.Objects.isNull;
+
+/**
+ * 레디스에서 읽은 값 변환
+ */
+public final class RedisValues {
+
+    private RedisValues() {
+    }
+
+    /**
+     * 숫자 값을 Long으로 변환, 값이 없으면 null
+     * JSON 값 직렬화는 타입 정보 없이 숫자를 저장하므로 Long으로 저장한 값도 범위에 따라 Integer로 역직렬화됨
+     */
+    public static Long toLong(Object value) {
+        return isNull(value) ? null : ((Number) value).longValue();
+    }
+}
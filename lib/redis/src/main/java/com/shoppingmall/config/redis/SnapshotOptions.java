@@ -0,0 +1,28 @@
+package com.shoppingmall.config.redis;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 스냅샷 발행 옵션
+ *
+ * ttl : 발행한 키의 만료 시간, 없으면 만료되지 않음
+ * versioned : 발행할 때마다 버전 키({키}:version)를 1 증가시키고 그 값을 반환
+ */
+@Getter
+@Builder
+public class SnapshotOptions {
+
+    private final Duration ttl;
+    private final boolean versioned;
+
+    public static SnapshotOptions none() {
+        return SnapshotOptions.builder().build();
+    }
+
+    long getTtlMillis() {
+        return ttl == null ? 0L : ttl.toMillis();
+    }
+}
@@ -0,0 +1,238 @@
+package com.shoppingmall.config.redis;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 예약 동시성 테스트 (embedded redis)
+ *
+ * 수천 건의 예약을 동시에 보내도 재고보다 많이 예약되지 않고,
+ * 예약 가능한 재고 + 예약 중인 수량이 항상 처음 재고와 같은지 확인
+ */
+public class InventoryReservationStoreTest {
+
+    private static final int REDIS_PORT = 16379;
+    private static final int THREAD_COUNT = 64;
+    private static final int RESERVATION_COUNT = 5000;
+    private static final int STOCK = 100;
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private static RedisServer redisServer;
+
+    private LettuceConnectionFactory connectionFactory;
+    private InventoryReservationStore inventoryReservationStore;
+    private ExecutorService executorService;
+
+    @BeforeClass
+    public static void startRedis() {
+        redisServer = RedisServer.builder()
+                .port(REDIS_PORT)
+                .setting("maxmemory 128M")
+                .build();
+        redisServer.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Before
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", REDIS_PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.getConnection().flushAll();
+
+        inventoryReservationStore = new InventoryReservationStore(connectionFactory);
+        executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    public void 동시_예약시_재고보다_많이_예약되지_않음() throws Exception {
+        Long productId = 1L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+
+        runConcurrently(RESERVATION_COUNT, i -> {
+            InventoryReservationStore.ReserveResult result =
+                    inventoryReservationStore.reserve(productId, (long) i, 1, TTL);
+
+            if (result == InventoryReservationStore.ReserveResult.RESERVED) {
+                reserved.incrementAndGet();
+            } else if (result == InventoryReservationStore.ReserveResult.SOLD_OUT) {
+                soldOut.incrementAndGet();
+            }
+        });
+
+        assertThat(reserved.get()).isEqualTo(STOCK);
+        assertThat(soldOut.get()).isEqualTo(RESERVATION_COUNT - STOCK);
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(0L);
+        assertThat(inventoryReservationStore.getReservedCount(productId)).isEqualTo(STOCK);
+    }
+
+    @Test
+    public void 여러_수량_예약과_취소가_섞여도_재고_합계가_유지됨() throws Exception {
+        Long productId = 2L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        runConcurrently(RESERVATION_COUNT, i -> {
+            int count = ThreadLocalRandom.current().nextInt(1, 4);
+            InventoryReservationStore.ReserveResult result =
+                    inventoryReservationStore.reserve(productId, (long) i, count, TTL);
+
+            // 예약의 절반 정도는 바로 취소
+            if (result == InventoryReservationStore.ReserveResult.RESERVED && i % 2 == 0) {
+                inventoryReservationStore.release(productId, (long) i);
+            }
+        });
+
+        long stock = inventoryReservationStore.getStock(productId);
+
+        assertThat(stock).isGreaterThanOrEqualTo(0L);
+        assertThat(stock + inventoryReservationStore.getReservedCount(productId)).isEqualTo(STOCK);
+    }
+
+    @Test
+    public void 같은_예약_id로_다시_예약하면_한_번만_차감() {
+        Long productId = 3L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        inventoryReservationStore.reserve(productId, 1L, 5, TTL);
+        inventoryReservationStore.reserve(productId, 1L, 5, TTL);
+
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(STOCK - 5L);
+    }
+
+    @Test
+    public void 만료된_예약은_해제되고_확정된_예약은_해제되지_않음() throws Exception {
+        Long productId = 4L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        inventoryReservationStore.reserve(productId, 1L, 10, Duration.ofMillis(1));
+        inventoryReservationStore.reserve(productId, 2L, 20, Duration.ofMillis(1));
+        assertThat(inventoryReservationStore.confirm(productId, 2L, 20)).isTrue();
+
+        TimeUnit.MILLISECONDS.sleep(10);
+
+        assertThat(inventoryReservationStore.sweep(System.currentTimeMillis(), 1000)).isEqualTo(1L);
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(STOCK - 20L);
+        assertThat(inventoryReservationStore.getReservedCount(productId)).isEqualTo(0L);
+    }
+
+    @Test
+    public void 만료된_뒤_확정하면_재고를_다시_차감() throws Exception {
+        Long productId = 5L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        inventoryReservationStore.reserve(productId, 1L, 10, Duration.ofMillis(1));
+        TimeUnit.MILLISECONDS.sleep(10);
+        inventoryReservationStore.sweep(System.currentTimeMillis(), 1000);
+
+        assertThat(inventoryReservationStore.confirm(productId, 1L, 10)).isFalse();
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(STOCK - 10L);
+    }
+
+    @Test
+    public void 결제_직전_다시_예약하면_만료_시각이_늘어나_해제되지_않음() throws Exception {
+        Long productId = 7L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        inventoryReservationStore.reserve(productId, 1L, 10, Duration.ofMillis(1));
+        assertThat(inventoryReservationStore.reserve(productId, 1L, 10, TTL))
+                .isEqualTo(InventoryReservationStore.ReserveResult.RESERVED);
+        TimeUnit.MILLISECONDS.sleep(10);
+
+        assertThat(inventoryReservationStore.sweep(System.currentTimeMillis(), 1000)).isEqualTo(0L);
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(STOCK - 10L);
+    }
+
+    @Test
+    public void 만료돼_해제된_예약은_재고가_없으면_다시_예약되지_않고_확정해도_재고가_음수가_되지_않음() throws Exception {
+        Long productId = 8L;
+        inventoryReservationStore.initStock(productId, STOCK);
+
+        inventoryReservationStore.reserve(productId, 1L, STOCK, Duration.ofMillis(1));
+        TimeUnit.MILLISECONDS.sleep(10);
+        inventoryReservationStore.sweep(System.currentTimeMillis(), 1000);
+
+        // 해제된 재고를 다른 장바구니가 모두 예약
+        inventoryReservationStore.reserve(productId, 2L, STOCK, TTL);
+
+        assertThat(inventoryReservationStore.reserve(productId, 1L, STOCK, TTL))
+                .isEqualTo(InventoryReservationStore.ReserveResult.SOLD_OUT);
+        assertThat(inventoryReservationStore.confirm(productId, 1L, STOCK)).isFalse();
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(0L);
+    }
+
+    @Test
+    public void 보정은_DB_재고에서_예약_수량을_빼고_버전이_바뀌면_건너뜀() {
+        Long productId = 6L;
+        inventoryReservationStore.initStock(productId, STOCK);
+        inventoryReservationStore.reserve(productId, 1L, 10, TTL);
+
+        String version = inventoryReservationStore.getVersion(productId);
+        assertThat(inventoryReservationStore.reconcile(productId, 50, version)).isTrue();
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(40L);
+
+        // 보정 중에 다른 예약이 확정됨
+        inventoryReservationStore.reserve(productId, 2L, 5, TTL);
+        String staleVersion = inventoryReservationStore.getVersion(productId);
+        inventoryReservationStore.confirm(productId, 2L, 5);
+
+        assertThat(inventoryReservationStore.reconcile(productId, 50, staleVersion)).isFalse();
+        assertThat(inventoryReservationStore.getStock(productId)).isEqualTo(35L);
+    }
+
+    private void runConcurrently(int taskCount, IndexedTask task) throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < taskCount; i++) {
+            int index = i;
+
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                task.run(index);
+
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
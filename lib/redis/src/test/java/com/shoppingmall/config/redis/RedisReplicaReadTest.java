@@ -0,0 +1,187 @@
+package com.shoppingmall.config.redis;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마스터/레플리카 구성 테스트 (embedded redis 두 대)
+ *
+ * spring.redis.topology=replica 로 RedisConfig를 띄워
+ * 레플리카 우선 읽기 템플릿(redisReadTemplate)은 레플리카에서 읽고, 쓰기는 마스터로 보내는지 확인.
+ * 레플리카에만 다른 값을 직접 써 두고(slave-read-only no) 어느 노드의 값을 읽는지로 구분함
+ */
+public class RedisReplicaReadTest {
+
+    private static final int MASTER_PORT = 16380;
+    private static final int REPLICA_PORT = 16381;
+    private static final long SYNC_TIMEOUT_MILLIS = 10_000L;
+
+    private static RedisServer masterServer;
+    private static RedisServer replicaServer;
+
+    private AnnotationConfigApplicationContext context;
+    private LettuceConnectionFactory masterConnectionFactory;
+    private LettuceConnectionFactory replicaConnectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, Object> redisReadTemplate;
+
+    @BeforeClass
+    public static void startRedis() {
+        masterServer = RedisServer.builder()
+                .port(MASTER_PORT)
+                .setting("maxmemory 128M")
+                .build();
+        masterServer.start();
+
+        replicaServer = RedisServer.builder()
+                .port(REPLICA_PORT)
+                .setting("maxmemory 128M")
+                .setting("slaveof localhost " + MASTER_PORT)
+                .setting("slave-read-only no")
+                .build();
+        replicaServer.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        replicaServer.stop();
+        masterServer.stop();
+    }
+
+    @Before
+    public void setUp() throws InterruptedException {
+        masterConnectionFactory = createConnectionFactory(MASTER_PORT);
+        replicaConnectionFactory = createConnectionFactory(REPLICA_PORT);
+        masterConnectionFactory.getConnection().flushAll();
+        waitForReplicaSync();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.redis.topology", "replica");
+        properties.put("spring.redis.host", "localhost");
+        properties.put("spring.redis.port", String.valueOf(MASTER_PORT));
+        properties.put("spring.redis.password", "");
+        properties.put("spring.redis.replica.nodes", "localhost:" + REPLICA_PORT);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("redisReplicaTest", properties));
+        context.register(RedisConfig.class, CacheConfig.class);
+        context.refresh();
+
+        redisTemplate = context.getBean("redisCustomTemplate", RedisTemplate.class);
+        redisReadTemplate = context.getBean("redisReadTemplate", RedisTemplate.class);
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+        masterConnectionFactory.destroy();
+        replicaConnectionFactory.destroy();
+    }
+
+    @Test
+    public void 읽기_전용_템플릿은_레플리카에서_읽음() throws InterruptedException {
+        String key = "replicaTest:read";
+        redisTemplate.opsForValue().set(key, "master");
+        waitForReplica(key);
+
+        // 레플리카에만 다른 값을 씀
+        try (RedisConnection replicaConnection = replicaConnectionFactory.getConnection()) {
+            replicaConnection.set(serializeKey(key), RedisConfig.jsonRedisSerializer().serialize("replica"));
+        }
+
+        assertThat(redisReadTemplate.opsForValue().get(key)).isEqualTo("replica");
+        assertThat(redisTemplate.opsForValue().get(key)).isEqualTo("master");
+    }
+
+    @Test
+    public void 읽기_전용_템플릿으로_쓰면_마스터에_저장됨() throws InterruptedException {
+        String key = "replicaTest:write";
+        redisReadTemplate.opsForValue().set(key, "written");
+
+        // 복제는 마스터 → 레플리카 방향뿐이므로 마스터에 있으면 마스터로 보낸 것
+        try (RedisConnection masterConnection = masterConnectionFactory.getConnection()) {
+            assertThat(RedisConfig.jsonRedisSerializer().deserialize(masterConnection.get(serializeKey(key))))
+                    .isEqualTo("written");
+        }
+
+        waitForReplica(key);
+        assertThat(redisReadTemplate.opsForValue().get(key)).isEqualTo("written");
+    }
+
+    private LettuceConnectionFactory createConnectionFactory(int port) {
+        LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+
+        return connectionFactory;
+    }
+
+    // 레플리카가 마스터와 연결되어 동기화를 마칠 때까지 대기
+    private void waitForReplicaSync() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SYNC_TIMEOUT_MILLIS;
+
+        try (RedisConnection replicaConnection = replicaConnectionFactory.getConnection()) {
+            while (System.currentTimeMillis() < deadline) {
+                Properties replication = replicaConnection.info("replication");
+
+                if ("up".equals(replication.getProperty("master_link_status"))) {
+                    return;
+                }
+                Thread.sleep(50);
+            }
+        }
+
+        throw new IllegalStateException("레플리카 동기화 대기 시간 초과");
+    }
+
+    // 마스터에 쓴 키가 레플리카에 복제될 때까지 대기
+    private void waitForReplica(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SYNC_TIMEOUT_MILLIS;
+
+        try (RedisConnection replicaConnection = replicaConnectionFactory.getConnection()) {
+            while (System.currentTimeMillis() < deadline) {
+                if (Boolean.TRUE.equals(replicaConnection.exists(serializeKey(key)))) {
+                    return;
+                }
+                Thread.sleep(10);
+            }
+        }
+
+        throw new IllegalStateException("복제 대기 시간 초과 : " + key);
+    }
+
+    private byte[] serializeKey(String key) {
+        return RedisSerializer.string().serialize(key);
+    }
+
+    // RedisConfig의 @EnableCaching 이 CacheManager 빈을 요구함
+    @Configuration
+    static class CacheConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+}
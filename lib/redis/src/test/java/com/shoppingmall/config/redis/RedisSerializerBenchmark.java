@@ -0,0 +1,143 @@
+package com.shoppingmall.config.redis;
+
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.shoppingmall.domain.productCat.ProductCat;
+import com.shoppingmall.dto.ProductResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기본 직렬화(클래스 이름을 포함한 JSON)와 바이너리 직렬화(CompactRedisSerializer) 비교
+ *
+ * 메인 상품(ZSET member 하나)과 카테고리 캐시(카테고리 40개) 기준으로 인코딩/디코딩 ns/op 측정,
+ * 저장 크기(byte)는 측정 시작 전에 출력함.
+ * 실행 : ./gradlew :lib:redis:jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    private static final int CATEGORY_COUNT = 40;
+
+    private RedisSerializer<Object> jsonSerializer;
+    private RedisSerializer<Object> compactProductSerializer;
+    private RedisSerializer<Object> compactCategorySerializer;
+
+    private ProductResponseDto.MainProductResponseDto mainProduct;
+    private HashMap<String, Object> categoryMap;
+
+    private byte[] jsonProductBytes;
+    private byte[] compactProductBytes;
+    private byte[] jsonCategoryBytes;
+    private byte[] compactCategoryBytes;
+
+    @Setup
+    public void setUp() {
+        TypeFactory typeFactory = TypeFactory.defaultInstance();
+
+        jsonSerializer = RedisConfig.jsonRedisSerializer();
+        compactProductSerializer = new CompactRedisSerializer<>(typeFactory.constructType(ProductResponseDto.MainProductResponseDto.class));
+        compactCategorySerializer = new CompactRedisSerializer<>(typeFactory.constructMapType(HashMap.class,
+                typeFactory.constructType(String.class), typeFactory.constructCollectionType(List.class, ProductCat.class)));
+
+        mainProduct = ProductResponseDto.MainProductResponseDto.builder()
+                .id(1024L)
+                .productNm("무선 블루투스 이어폰 노이즈캔슬링")
+                .titleImg("https://shoppingmall-bucket.s3.ap-northeast-2.amazonaws.com/product/title/1024.jpg")
+                .price(129000)
+                .disPrice(15)
+                .salePrice(109650)
+                .rateAvg(4)
+                .timestamp(1600000000000L)
+                .purchaseCnt(3210)
+                .build();
+
+        List<ProductCat> categoryList = new ArrayList<>();
+
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            boolean first = i % 8 == 0;
+
+            categoryList.add(ProductCat.builder()
+                    .id((long) i + 1)
+                    .catCd(String.format("C%02d%04d", i / 8 + 1, first ? 0 : i % 8))
+                    .catNm("카테고리" + i)
+                    .upprCatCd(first ? null : String.format("C%02d0000", i / 8 + 1))
+                    .catLv(first ? 1 : 2)
+                    .useYn('Y')
+                    .cnntUrl("/category/" + i)
+                    .build());
+        }
+
+        categoryMap = new HashMap<>();
+        categoryMap.put("mainCatList", categoryList);
+
+        jsonProductBytes = jsonSerializer.serialize(mainProduct);
+        compactProductBytes = compactProductSerializer.serialize(mainProduct);
+        jsonCategoryBytes = jsonSerializer.serialize(categoryMap);
+        compactCategoryBytes = compactCategorySerializer.serialize(categoryMap);
+
+        System.out.printf("%n[payload bytes] mainProduct json : %d, compact : %d / categoryMap json : %d, compact : %d%n",
+                jsonProductBytes.length, compactProductBytes.length, jsonCategoryBytes.length, compactCategoryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeMainProductJson() {
+        return jsonSerializer.serialize(mainProduct);
+    }
+
+    @Benchmark
+    public byte[] encodeMainProductCompact() {
+        return compactProductSerializer.serialize(mainProduct);
+    }
+
+    @Benchmark
+    public Object decodeMainProductJson() {
+        return jsonSerializer.deserialize(jsonProductBytes);
+    }
+
+    @Benchmark
+    public Object decodeMainProductCompact() {
+        return compactProductSerializer.deserialize(compactProductBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeCategoryMapJson() {
+        return jsonSerializer.serialize(categoryMap);
+    }
+
+    @Benchmark
+    public byte[] encodeCategoryMapCompact() {
+        return compactCategorySerializer.serialize(categoryMap);
+    }
+
+    @Benchmark
+    public Object decodeCategoryMapJson() {
+        return jsonSerializer.deserialize(jsonCategoryBytes);
+    }
+
+    @Benchmark
+    public Object decodeCategoryMapCompact() {
+        return compactCategorySerializer.deserialize(compactCategoryBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RedisSerializerBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+}